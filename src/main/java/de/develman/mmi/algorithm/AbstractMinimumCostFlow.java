@@ -1,7 +1,6 @@
 package de.develman.mmi.algorithm;
 
-import de.develman.mmi.model.Edge;
-import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.ResidualNetwork;
 import de.develman.mmi.model.Vertex;
 import java.util.Collection;
 
@@ -10,66 +9,27 @@ import java.util.Collection;
  */
 public abstract class AbstractMinimumCostFlow
 {
-    protected void updateResidualEdge(Graph graph, Edge edge, double capacity)
+    protected void updateResidualArcs(ResidualNetwork network, int[] arcs, double capacity)
     {
-        updateEdge(graph, edge, capacity);
-        updateReversiveEdge(graph, edge, capacity);
-    }
-
-    protected boolean checkVerticesBalanced(Collection<Vertex> vertices)
-    {
-        return vertices.stream().mapToDouble(Vertex::getBalance).sum() == 0;
-    }
-
-    protected double calculateMinimalCostFlow(Graph graph, Graph residualGraph)
-    {
-        double cost = 0.0;
-        for (Edge residualEdge : residualGraph.getEdges())
+        for (int arc : arcs)
         {
-            Vertex source = graph.getVertex(residualEdge.getSource().getKey());
-            Vertex sink = graph.getVertex(residualEdge.getSink().getKey());
-
-            if (source == null || sink == null)
-            {
-                continue;
-            }
-
-            Edge originalEdge = graph.getEdge(sink, source);
-            if (originalEdge != null)
-            {
-                cost += residualEdge.getCapacity() * originalEdge.getCost();
-            }
+            network.augment(arc, capacity);
         }
-
-        return cost;
     }
 
-    private void updateEdge(Graph graph, Edge edge, double capacity)
+    protected double findMinimalCapacity(ResidualNetwork network, int[] arcs)
     {
-        double newCapacity = edge.getCapacity() - capacity;
-        if (newCapacity <= 0)
-        {
-            graph.removeEdge(edge);
-        }
-        else
+        double minCapacity = Double.POSITIVE_INFINITY;
+        for (int arc : arcs)
         {
-            edge.setCapacity(newCapacity);
+            minCapacity = Math.min(minCapacity, network.getResidualCapacity(arc));
         }
+
+        return minCapacity;
     }
 
-    private void updateReversiveEdge(Graph graph, Edge edge, double capacity)
+    protected boolean checkVerticesBalanced(Collection<Vertex> vertices)
     {
-        Edge reversiveEdge = graph.getEdge(edge.getSink(), edge.getSource());
-        if (reversiveEdge != null)
-        {
-            double newCapacity = reversiveEdge.getCapacity() + capacity;
-            reversiveEdge.setCapacity(newCapacity);
-        }
-        else
-        {
-            double cost = edge.getCost() != 0.0 ? edge.getCost() * - 1 : 0.0;
-            reversiveEdge = new Edge(edge.getSink(), edge.getSource(), capacity, cost);
-            graph.addEdge(reversiveEdge);
-        }
+        return vertices.stream().mapToDouble(Vertex::getBalance).sum() == 0;
     }
 }
@@ -7,48 +7,79 @@ import de.develman.mmi.model.algorithm.ShortestPath;
 import java.util.*;
 
 /**
+ * Gemeinsame Basis der Kürzeste-Wege-Algorithmen. Abstände und Vorgänger liegen über die dichten Knotenindizes des
+ * Graphen in primitiven Arrays, die zwischen den Läufen wiederverwendet und nur zurückgesetzt werden.
+ *
  * @author Georg Henkel <georg@develman.de>
  */
 public abstract class AbstractShortestPath
 {
-    protected Map<Vertex, Double> distance;
-    protected Map<Vertex, Vertex> predecessor;
+    protected Graph graph;
+    protected double[] distances;
+    protected int[] predecessors;
 
     protected void init(Graph graph, Vertex startVertex)
     {
-        initDistances(graph, startVertex);
-        initPredecessors(startVertex);
+        this.graph = graph;
+
+        int n = graph.countVertices();
+        if (distances == null || distances.length < n)
+        {
+            distances = new double[n];
+            predecessors = new int[n];
+        }
+
+        Arrays.fill(distances, 0, n, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessors, 0, n, -1);
+
+        int start = indexOf(startVertex);
+        distances[start] = 0.0;
+        predecessors[start] = start;
     }
 
-    protected void updateCost(Edge e)
+    protected int indexOf(Vertex vertex)
     {
-        Vertex source = e.getSource();
-        Vertex sink = e.getSink();
-        double newDistance = distance.get(source) + e.getCost();
-        if (newDistance < distance.get(sink))
+        return graph.indexOf(vertex);
+    }
+
+    protected boolean updateCost(Edge e)
+    {
+        return updateCost(indexOf(e.getSource()), indexOf(e.getSink()), e.getCost());
+    }
+
+    protected boolean updateCost(int source, int sink, double cost)
+    {
+        double newDistance = distances[source] + cost;
+        if (newDistance < distances[sink])
         {
-            distance.put(sink, newDistance);
-            predecessor.put(sink, source);
+            distances[sink] = newDistance;
+            predecessors[sink] = source;
+
+            return true;
         }
+
+        return false;
     }
 
     protected ShortestPath loadShortestPath(Vertex startVertex, Vertex endVertex)
     {
         ShortestPath path = null;
 
-        double length = distance.get(endVertex);
+        int start = indexOf(startVertex);
+        int end = indexOf(endVertex);
+        double length = distances[end];
         if (!Double.isInfinite(length))
         {
             List<Edge> edges = new ArrayList<>();
 
-            Vertex pred;
-            Vertex current = endVertex;
+            int pred;
+            int current = end;
             do
             {
-                pred = predecessor.get(current);
-                edges.add(pred.getEdgeTo(current.getKey()));
+                pred = predecessors[current];
+                edges.add(graph.getVertexAt(pred).getEdgeTo(graph.getVertexAt(current).getKey()));
 
-                if (pred == startVertex)
+                if (pred == start)
                 {
                     break;
                 }
@@ -64,17 +95,4 @@ public abstract class AbstractShortestPath
 
         return path;
     }
-
-    private void initDistances(Graph graph, Vertex startVertex)
-    {
-        distance = new HashMap<>(graph.countVertices());
-        graph.getVertices().forEach(v -> distance.put(v, Double.POSITIVE_INFINITY));
-        distance.put(startVertex, 0.0);
-    }
-
-    private void initPredecessors(Vertex startVertex)
-    {
-        predecessor = new HashMap<>();
-        predecessor.put(startVertex, startVertex);
-    }
 }
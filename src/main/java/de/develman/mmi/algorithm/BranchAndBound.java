@@ -15,6 +15,6 @@ public class BranchAndBound extends TryAllTours
     @Override
     protected boolean nodeVisited(Vertex vertex, List<Edge> currentEdges)
     {
-        return tourCost > tspCost || vertex.isVisited();
+        return tourCost > tspCost || visitedVertices.isVisited(vertex);
     }
 }
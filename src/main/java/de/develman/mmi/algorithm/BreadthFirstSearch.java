@@ -1,42 +1,67 @@
 package de.develman.mmi.algorithm;
 
+import de.develman.mmi.model.CompactGraph;
 import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.ResidualNetwork;
 import de.develman.mmi.model.Vertex;
+import de.develman.mmi.model.VisitedVertices;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
 
 /**
- * Die Klasse BreadthFirstSearch implementiert die Breitensuche in einem Graphen
+ * Die Klasse BreadthFirstSearch implementiert die Breitensuche in einem Graphen. Für kompakte Graphen und
+ * Residualnetzwerke steht eine richtungsoptimierte Suche bereit, die Ebene für Ebene arbeitet und bei großen Fronten
+ * von der Expansion der Front (top-down) auf die Suche nach Vorgängern der unbesuchten Knoten (bottom-up) wechselt.
+ * Fronten liegen dabei als Bitsets vor, die Ebenen können parallel abgearbeitet werden.
  *
  * @author Georg Henkel <georg@develman.de>
  */
 public class BreadthFirstSearch
 {
-    private Map<Vertex, Vertex> parentVertexMap;
+    // Wechsel auf bottom-up, sobald die Front mehr als 1/ALPHA der unerforschten Bögen hat
+    private static final int ALPHA = 14;
+    // Wechsel zurück auf top-down, sobald die Front weniger als 1/BETA der Knoten enthält
+    private static final int BETA = 24;
+
+    private boolean parallel;
+
+    /**
+     * Legt fest, ob die Ebenen der richtungsoptimierten Suche parallel abgearbeitet werden
+     *
+     * @param parallel {@code true} für parallele Abarbeitung
+     */
+    public void setParallel(boolean parallel)
+    {
+        this.parallel = parallel;
+    }
 
     /**
      * Breitensuche vom Startknoten, die alle besuchten Knoten liefert
      *
+     * @param graph Graph
      * @param startVertex Startknoten
      * @return Liste der Knoten, die von dem Startknoten erreicht werden
      */
-    public List<Vertex> getAccessibleVertices(Vertex startVertex)
+    public List<Vertex> getAccessibleVertices(Graph graph, Vertex startVertex)
     {
-        return getVerticesOnPath(startVertex, null);
+        return getVerticesOnPath(graph, startVertex, null);
     }
 
     /**
      * Prüft, ob es einen Weg zwischen Start- und Endknoten gibt
      *
+     * @param graph Graph
      * @param startVertex Startknoten
      * @param endVertex Endknoten
      * @return {@code true}, wenn ein Weg gefunden wurde
      */
-    public boolean hasPath(Vertex startVertex, Vertex endVertex)
+    public boolean hasPath(Graph graph, Vertex startVertex, Vertex endVertex)
     {
         boolean pathFound = false;
 
-        List<Vertex> foundVertices = getVerticesOnPath(startVertex, endVertex);
+        List<Vertex> foundVertices = getVerticesOnPath(graph, startVertex, endVertex);
         if (foundVertices.contains(startVertex) && foundVertices.contains(endVertex))
         {
             pathFound = true;
@@ -56,10 +81,13 @@ public class BreadthFirstSearch
     public List<Edge> getPath(Graph graph, Vertex startVertex, Vertex endVertex)
     {
         List<Edge> path = null;
-        List<Vertex> foundVertices = getVerticesOnPath(startVertex, endVertex);
+        int[] parentVertices = new int[graph.countVertices()];
+        Arrays.fill(parentVertices, -1);
+
+        List<Vertex> foundVertices = search(graph, parentVertices, startVertex, endVertex);
         if (foundVertices.contains(startVertex) && foundVertices.contains(endVertex))
         {
-            path = constructPath(graph, endVertex);
+            path = constructPath(graph, parentVertices, endVertex);
         }
 
         return path;
@@ -68,18 +96,25 @@ public class BreadthFirstSearch
     /**
      * Breitensuche von Startknoten zu Endknoten
      *
+     * @param graph Graph
      * @param startVertex Startknoten
      * @param endVertex Endknoten
      * @return Liste der besuchten Knoten, von Startknoten bis Endknoten
      */
-    public List<Vertex> getVerticesOnPath(Vertex startVertex, Vertex endVertex)
+    public List<Vertex> getVerticesOnPath(Graph graph, Vertex startVertex, Vertex endVertex)
     {
-        parentVertexMap = new HashMap<>();
+        return search(graph, null, startVertex, endVertex);
+    }
 
-        startVertex.setVisited(true);
-        parentVertexMap.put(startVertex, null);
+    /**
+     * Breitensuche, die bei Angabe von {@code parentVertices} die Vorgänger über die Knotenindizes festhält
+     */
+    private List<Vertex> search(Graph graph, int[] parentVertices, Vertex startVertex, Vertex endVertex)
+    {
+        VisitedVertices visited = new VisitedVertices(graph);
+        visited.visit(startVertex);
 
-        Queue<Vertex> queue = new LinkedList<>();
+        Queue<Vertex> queue = new ArrayDeque<>();
         queue.add(startVertex);
 
         List<Vertex> visitList = new ArrayList<>();
@@ -93,34 +128,520 @@ public class BreadthFirstSearch
                 break;
             }
 
-            nextVertex.getSuccessors().stream().filter(v -> !v.isVisited()).forEach(vertex ->
+            int parent = parentVertices != null ? graph.indexOf(nextVertex) : -1;
+            for (int i = 0; i < nextVertex.countOutgoingEdges(); i++)
             {
-                parentVertexMap.put(vertex, nextVertex);
+                Vertex vertex = nextVertex.getOutgoingEdge(i).getSink();
+                if (!visited.isVisited(vertex))
+                {
+                    if (parentVertices != null)
+                    {
+                        parentVertices[graph.indexOf(vertex)] = parent;
+                    }
 
-                vertex.setVisited(true);
-                queue.add(vertex);
-            });
+                    visited.visit(vertex);
+                    queue.add(vertex);
+                }
+            }
         }
 
         return visitList;
     }
 
-    protected List<Edge> constructPath(Graph graph, Vertex vertex)
+    /**
+     * Breitensuche im kompakten Graphen vom Startknoten, die alle besuchten Knoten liefert
+     *
+     * @param graph Kompakter Graph
+     * @param startVertex Index des Startknotens
+     * @return Indizes der Knoten, die von dem Startknoten erreicht werden
+     */
+    public int[] getAccessibleVertices(CompactGraph graph, int startVertex)
+    {
+        return getVerticesOnPath(graph, startVertex, -1);
+    }
+
+    /**
+     * Prüft, ob es im kompakten Graphen einen Weg zwischen Start- und Endknoten gibt
+     *
+     * @param graph Kompakter Graph
+     * @param startVertex Index des Startknotens
+     * @param endVertex Index des Endknotens
+     * @return {@code true}, wenn ein Weg gefunden wurde
+     */
+    public boolean hasPath(CompactGraph graph, int startVertex, int endVertex)
+    {
+        int[] foundVertices = getVerticesOnPath(graph, startVertex, endVertex);
+        return foundVertices[foundVertices.length - 1] == endVertex;
+    }
+
+    /**
+     * Breitensuche im kompakten Graphen von Startknoten zu Endknoten
+     *
+     * @param graph Kompakter Graph
+     * @param startVertex Index des Startknotens
+     * @param endVertex Index des Endknotens oder -1
+     * @return Indizes der besuchten Knoten, von Startknoten bis Endknoten
+     */
+    public int[] getVerticesOnPath(CompactGraph graph, int startVertex, int endVertex)
+    {
+        int[] queue = new int[graph.countVertices()];
+        boolean[] visited = new boolean[graph.countVertices()];
+
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = startVertex;
+        visited[startVertex] = true;
+
+        while (head < tail)
+        {
+            int nextVertex = queue[head++];
+            if (nextVertex == endVertex)
+            {
+                break;
+            }
+
+            for (int arc = graph.firstArc(nextVertex); arc < graph.endArc(nextVertex); arc++)
+            {
+                int vertex = graph.getTarget(arc);
+                if (!visited[vertex])
+                {
+                    visited[vertex] = true;
+                    queue[tail++] = vertex;
+                }
+            }
+        }
+
+        return Arrays.copyOf(queue, head);
+    }
+
+    /**
+     * Richtungsoptimierte Breitensuche im kompakten Graphen, die den Breitensuchbaum über Vorgänger liefert
+     *
+     * @param graph Kompakter Graph
+     * @param startVertex Index des Startknotens
+     * @return Vorgänger je Knoten, der Startknoten ist sein eigener Vorgänger, -1 für nicht erreichte Knoten
+     */
+    public int[] getParents(CompactGraph graph, int startVertex)
+    {
+        CompactLevelSearch search = new CompactLevelSearch(graph, parallel);
+        search.run(startVertex, startVertex, -1, graph.countArcs());
+
+        int[] parents = new int[graph.countVertices()];
+        for (int v = 0; v < parents.length; v++)
+        {
+            parents[v] = search.isReached(v) ? search.parents[v] : -1;
+        }
+
+        return parents;
+    }
+
+    /**
+     * Breitensuche im Residualnetzwerk vom Startknoten über alle Bögen mit positiver Restkapazität
+     *
+     * @param network Residualnetzwerk
+     * @param startVertex Index des Startknotens
+     * @return Indizes der Knoten, die von dem Startknoten erreicht werden
+     */
+    public int[] getAccessibleVertices(ResidualNetwork network, int startVertex)
+    {
+        int[] queue = new int[network.countVertices()];
+        int[] parentArcs = new int[network.countVertices()];
+        int count = search(network, startVertex, -1, queue, parentArcs);
+
+        return Arrays.copyOf(queue, count);
+    }
+
+    /**
+     * Legt eine richtungsoptimierte Wegsuche im Residualnetzwerk an. Fronten und Vorgänger der Suche werden über alle
+     * Aufrufe von {@link ResidualPathSearch#findPath(int, int)} wiederverwendet, ein Algorithmus wie Edmonds-Karp
+     * legt daher eine Suche je Lauf an und sucht jeden augmentierenden Weg ohne neuen Speicher.
+     *
+     * @param network Residualnetzwerk, dessen Bögen sich während der Suchen nicht mehr ändern
+     * @return Wegsuche, die nur von einem Lauf verwendet wird
+     */
+    public ResidualPathSearch newPathSearch(ResidualNetwork network)
+    {
+        return new ResidualPathSearch(new ResidualLevelSearch(network, parallel));
+    }
+
+    private int search(ResidualNetwork network, int startVertex, int endVertex, int[] queue, int[] parentArcs)
+    {
+        Arrays.fill(parentArcs, 0, network.countVertices(), -1);
+
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = startVertex;
+        parentArcs[startVertex] = -2;
+
+        while (head < tail)
+        {
+            int nextVertex = queue[head++];
+            if (nextVertex == endVertex)
+            {
+                break;
+            }
+
+            for (int i = network.firstOutgoing(nextVertex); i < network.endOutgoing(nextVertex); i++)
+            {
+                int arc = network.getOutgoingArc(i);
+                int vertex = network.getTarget(arc);
+                if (parentArcs[vertex] == -1 && network.getResidualCapacity(arc) > 0.0)
+                {
+                    parentArcs[vertex] = arc;
+                    queue[tail++] = vertex;
+                }
+            }
+        }
+
+        return head;
+    }
+
+    protected List<Edge> constructPath(Graph graph, int[] parentVertices, Vertex vertex)
     {
         List<Edge> path = new ArrayList<>();
-        while (parentVertexMap.get(vertex) != null)
+        int current = graph.indexOf(vertex);
+        while (parentVertices[current] != -1)
         {
-            Vertex parent = parentVertexMap.get(vertex);
-            Edge edge = graph.getEdge(parent, vertex);
+            int parent = parentVertices[current];
+            Edge edge = graph.getEdge(graph.getVertexAt(parent), graph.getVertexAt(current));
             if (edge != null)
             {
                 path.add(edge);
             }
 
-            vertex = parent;
+            current = parent;
         }
 
         Collections.reverse(path);
         return path;
     }
+
+    /**
+     * Ebenenweise Breitensuche mit Bitset-Fronten. Ein Vorgänger ist nur für Knoten gültig, deren Bit in
+     * {@code visited} gesetzt ist, vor einer weiteren Suche werden daher nur die Bitsets geleert. Ein Knoten wird
+     * beansprucht, indem sein Bit in der nächsten Front gesetzt wird, bei paralleler Abarbeitung im top-down-Schritt
+     * atomar, im bottom-up-Schritt schreibt jede Aufgabe nur das eigene Wort. Den Vorgänger schreibt danach nur die
+     * Aufgabe, die den Knoten beansprucht hat.
+     */
+    private abstract static class LevelSearch
+    {
+        final int vertexCount;
+        final boolean parallel;
+        final long[] frontier;
+        final long[] visited;
+        final int[] parents;
+        // Nächste Front, ohne Parallelität in einem einfachen Array
+        final long[] next;
+        final AtomicLongArray sharedNext;
+
+        LevelSearch(int vertexCount, boolean parallel)
+        {
+            this.vertexCount = vertexCount;
+            this.parallel = parallel;
+            int words = (vertexCount + 63) >>> 6;
+            frontier = new long[words];
+            visited = new long[words];
+            parents = new int[vertexCount];
+            next = parallel ? null : new long[words];
+            sharedNext = parallel ? new AtomicLongArray(words) : null;
+        }
+
+        abstract int degree(int vertex);
+
+        /**
+         * Beansprucht alle unbesuchten Nachfolger eines Knotens der Front
+         *
+         * @return Anzahl der Bögen der beanspruchten Knoten
+         */
+        abstract long expand(int vertex);
+
+        /**
+         * Sucht für einen unbesuchten Knoten einen Vorgänger in der Front
+         *
+         * @return {@code true}, wenn der Knoten in die nächste Front aufgenommen wird
+         */
+        abstract boolean adopt(int vertex);
+
+        void run(int startVertex, int startParent, int endVertex, long arcCount)
+        {
+            int words = frontier.length;
+            // Die nächste Front ist nach jeder Ebene bereits leer
+            Arrays.fill(frontier, 0L);
+            Arrays.fill(visited, 0L);
+
+            parents[startVertex] = startParent;
+            frontier[startVertex >>> 6] = 1L << startVertex;
+            visited[startVertex >>> 6] = 1L << startVertex;
+
+            int frontierSize = 1;
+            long frontierArcs = degree(startVertex);
+            long unexploredArcs = arcCount - frontierArcs;
+            boolean bottomUp = false;
+
+            while (frontierSize > 0 && (endVertex < 0 || !isReached(endVertex)))
+            {
+                if (bottomUp)
+                {
+                    bottomUp = frontierSize >= vertexCount / BETA;
+                }
+                else
+                {
+                    bottomUp = frontierArcs > unexploredArcs / ALPHA;
+                }
+
+                IntStream range = IntStream.range(0, words);
+                if (parallel)
+                {
+                    range = range.parallel();
+                }
+                frontierArcs = bottomUp ? range.mapToLong(this::bottomUp).sum() : range.mapToLong(this::topDown).sum();
+                unexploredArcs -= frontierArcs;
+
+                frontierSize = 0;
+                for (int w = 0; w < words; w++)
+                {
+                    long bits = parallel ? sharedNext.getAndSet(w, 0L) : next[w];
+                    if (!parallel)
+                    {
+                        next[w] = 0L;
+                    }
+                    frontier[w] = bits;
+                    visited[w] |= bits;
+                    frontierSize += Long.bitCount(bits);
+                }
+            }
+        }
+
+        /**
+         * @return {@code true}, wenn der Knoten in einer abgeschlossenen Ebene erreicht wurde
+         */
+        boolean isReached(int vertex)
+        {
+            return (visited[vertex >>> 6] & (1L << vertex)) != 0;
+        }
+
+        long claim(int vertex, int parent)
+        {
+            int word = vertex >>> 6;
+            long bit = 1L << vertex;
+            if ((visited[word] & bit) != 0)
+            {
+                return 0;
+            }
+
+            if (!parallel)
+            {
+                if ((next[word] & bit) != 0)
+                {
+                    return 0;
+                }
+                next[word] |= bit;
+            }
+            else if ((sharedNext.get(word) & bit) != 0 || (sharedNext.getAndAccumulate(word, bit, (a, b) -> a | b)
+                    & bit) != 0)
+            {
+                return 0;
+            }
+
+            parents[vertex] = parent;
+            return degree(vertex);
+        }
+
+        boolean inFrontier(int vertex)
+        {
+            return (frontier[vertex >>> 6] & (1L << vertex)) != 0;
+        }
+
+        private long topDown(int word)
+        {
+            long arcs = 0;
+            long bits = frontier[word];
+            while (bits != 0)
+            {
+                arcs += expand((word << 6) | Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+
+            return arcs;
+        }
+
+        private long bottomUp(int word)
+        {
+            long bits = ~visited[word];
+            int remainder = vertexCount & 63;
+            if (word == frontier.length - 1 && remainder != 0)
+            {
+                bits &= (1L << remainder) - 1;
+            }
+
+            long arcs = 0;
+            long found = 0;
+            while (bits != 0)
+            {
+                int vertex = (word << 6) | Long.numberOfTrailingZeros(bits);
+                if (adopt(vertex))
+                {
+                    found |= 1L << vertex;
+                    arcs += degree(vertex);
+                }
+                bits &= bits - 1;
+            }
+
+            if (found != 0)
+            {
+                if (parallel)
+                {
+                    sharedNext.set(word, found);
+                }
+                else
+                {
+                    next[word] = found;
+                }
+            }
+
+            return arcs;
+        }
+    }
+
+    private static final class CompactLevelSearch extends LevelSearch
+    {
+        private final CompactGraph graph;
+
+        CompactLevelSearch(CompactGraph graph, boolean parallel)
+        {
+            super(graph.countVertices(), parallel);
+            this.graph = graph;
+        }
+
+        @Override
+        int degree(int vertex)
+        {
+            return graph.getOutDegree(vertex);
+        }
+
+        @Override
+        long expand(int vertex)
+        {
+            long arcs = 0;
+            for (int arc = graph.firstArc(vertex); arc < graph.endArc(vertex); arc++)
+            {
+                arcs += claim(graph.getTarget(arc), vertex);
+            }
+
+            return arcs;
+        }
+
+        @Override
+        boolean adopt(int vertex)
+        {
+            for (int i = graph.firstIncoming(vertex); i < graph.endIncoming(vertex); i++)
+            {
+                int source = graph.getIncomingSource(i);
+                if (inFrontier(source))
+                {
+                    parents[vertex] = source;
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Ebenenweise Suche über Bögen mit positiver Restkapazität. Die eingehenden Bögen eines Knotens sind die
+     * Gegenbögen seiner abgehenden Bögen.
+     */
+    private static final class ResidualLevelSearch extends LevelSearch
+    {
+        private final ResidualNetwork network;
+
+        ResidualLevelSearch(ResidualNetwork network, boolean parallel)
+        {
+            super(network.countVertices(), parallel);
+            this.network = network;
+
+            // Adjazenzen vor der parallelen Abarbeitung aufbauen
+            network.firstOutgoing(0);
+        }
+
+        @Override
+        int degree(int vertex)
+        {
+            return network.endOutgoing(vertex) - network.firstOutgoing(vertex);
+        }
+
+        @Override
+        long expand(int vertex)
+        {
+            long arcs = 0;
+            for (int i = network.firstOutgoing(vertex); i < network.endOutgoing(vertex); i++)
+            {
+                int arc = network.getOutgoingArc(i);
+                if (network.getResidualCapacity(arc) > 0.0)
+                {
+                    arcs += claim(network.getTarget(arc), arc);
+                }
+            }
+
+            return arcs;
+        }
+
+        @Override
+        boolean adopt(int vertex)
+        {
+            for (int i = network.firstOutgoing(vertex); i < network.endOutgoing(vertex); i++)
+            {
+                int arc = network.getOutgoingArc(i);
+                int reverseArc = network.getReverseArc(arc);
+                if (network.getResidualCapacity(reverseArc) > 0.0 && inFrontier(network.getTarget(arc)))
+                {
+                    parents[vertex] = reverseArc;
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Wiederverwendbare Wegsuche im Residualnetzwerk, siehe {@link #newPathSearch(ResidualNetwork)}
+     */
+    public static final class ResidualPathSearch
+    {
+        private final ResidualLevelSearch search;
+        private int startVertex = -1;
+
+        private ResidualPathSearch(ResidualLevelSearch search)
+        {
+            this.search = search;
+        }
+
+        /**
+         * Sucht einen kürzesten Weg über Bögen mit positiver Restkapazität. Der Weg kann anschließend über
+         * {@link #getParentArc(int)} vom Endknoten aus zurückverfolgt werden.
+         *
+         * @param startVertex Index des Startknotens
+         * @param endVertex Index des Endknotens
+         * @return {@code true}, wenn ein Weg gefunden wurde
+         */
+        public boolean findPath(int startVertex, int endVertex)
+        {
+            this.startVertex = startVertex;
+            search.run(startVertex, -2, endVertex, search.network.countArcs());
+
+            return search.isReached(endVertex);
+        }
+
+        /**
+         * @param vertex Index eines Knotens
+         * @return Bogen, über den der Knoten in der letzten Suche erreicht wurde, -1 für nicht erreicht und -2 für den
+         * Startknoten
+         */
+        public int getParentArc(int vertex)
+        {
+            return startVertex >= 0 && search.isReached(vertex) ? search.parents[vertex] : -1;
+        }
+    }
 }
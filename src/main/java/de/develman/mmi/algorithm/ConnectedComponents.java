@@ -0,0 +1,217 @@
+package de.develman.mmi.algorithm;
+
+import de.develman.mmi.algorithm.util.UnionFind;
+import de.develman.mmi.model.Edge;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.Vertex;
+import de.develman.mmi.model.algorithm.Components;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Die Klasse ConnectedComponents berechnet die Zusammenhangskomponenten eines Graphen in linearer Zeit. Kanten werden
+ * unabhängig von ihrer Richtung betrachtet, bei gerichteten Graphen entstehen so die schwachen
+ * Zusammenhangskomponenten. Alle Varianten liefern dieselbe Nummerierung.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class ConnectedComponents
+{
+    /**
+     * Berechnung der Zusammenhangskomponenten mit einer Breitensuche je Komponente
+     *
+     * @param graph Graph
+     * @return Komponentennummer je Knotenindex und Größe je Komponente
+     */
+    public Components findComponents(Graph graph)
+    {
+        int n = graph.countVertices();
+        int[] componentIds = new int[n];
+        int[] sizes = new int[n];
+        int[] queue = new int[n];
+        Arrays.fill(componentIds, -1);
+
+        int count = 0;
+        for (int root = 0; root < n; root++)
+        {
+            if (componentIds[root] != -1)
+            {
+                continue;
+            }
+
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = root;
+            componentIds[root] = count;
+
+            while (head < tail)
+            {
+                Vertex vertex = graph.getVertexAt(queue[head++]);
+                for (int i = 0; i < vertex.countOutgoingEdges(); i++)
+                {
+                    tail = label(graph, vertex.getOutgoingEdge(i).getSink(), count, componentIds, queue, tail);
+                }
+                for (int i = 0; i < vertex.countIncomingEdges(); i++)
+                {
+                    tail = label(graph, vertex.getIncomingEdge(i).getSource(), count, componentIds, queue, tail);
+                }
+            }
+
+            sizes[count++] = tail;
+        }
+
+        return createComponents(count, componentIds, sizes);
+    }
+
+    /**
+     * Berechnung der Zusammenhangskomponenten mit Union-Find. Die Kantenliste wird einmal durchlaufen, ohne die
+     * Adjazenzen der Knoten zu verwenden.
+     *
+     * @param graph Graph
+     * @return Komponentennummer je Knotenindex und Größe je Komponente
+     */
+    public Components findComponentsByUnionFind(Graph graph)
+    {
+        int n = graph.countVertices();
+        UnionFind unionFind = new UnionFind(n);
+
+        List<Edge> edges = graph.getEdges();
+        for (int e = 0; e < edges.size(); e++)
+        {
+            Edge edge = edges.get(e);
+            unionFind.union(graph.indexOf(edge.getSource()), graph.indexOf(edge.getSink()));
+        }
+
+        int[] roots = new int[n];
+        for (int v = 0; v < n; v++)
+        {
+            roots[v] = unionFind.find(v);
+        }
+
+        return numberComponents(roots, unionFind.count());
+    }
+
+    /**
+     * Parallele Berechnung der Zusammenhangskomponenten durch Label-Propagation. In jeder Runde übernehmen die
+     * Endknoten aller Kanten parallel die kleinere ihrer beiden Markierungen, anschließend werden die Markierungen
+     * über ihre eigenen Markierungen verkürzt. Am Ende trägt jeder Knoten den kleinsten Index seiner Komponente.
+     *
+     * @param graph Graph
+     * @return Komponentennummer je Knotenindex und Größe je Komponente
+     */
+    public Components findComponentsParallel(Graph graph)
+    {
+        int n = graph.countVertices();
+        List<Edge> edges = graph.getEdges();
+        int[] sources = new int[edges.size()];
+        int[] sinks = new int[edges.size()];
+        for (int e = 0; e < edges.size(); e++)
+        {
+            Edge edge = edges.get(e);
+            sources[e] = graph.indexOf(edge.getSource());
+            sinks[e] = graph.indexOf(edge.getSink());
+        }
+
+        AtomicIntegerArray labels = new AtomicIntegerArray(n);
+        IntStream.range(0, n).parallel().forEach(v -> labels.set(v, v));
+
+        AtomicBoolean changed = new AtomicBoolean(true);
+        while (changed.get())
+        {
+            changed.set(false);
+            IntStream.range(0, sources.length).parallel().forEach(e ->
+            {
+                int label = Math.min(labels.get(sources[e]), labels.get(sinks[e]));
+                if (lowerLabel(labels, sources[e], label) | lowerLabel(labels, sinks[e], label))
+                {
+                    changed.set(true);
+                }
+            });
+
+            IntStream.range(0, n).parallel().forEach(v -> lowerLabel(labels, v, labels.get(labels.get(v))));
+        }
+
+        int[] roots = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++)
+        {
+            roots[v] = labels.get(v);
+            if (roots[v] == v)
+            {
+                count++;
+            }
+        }
+
+        return numberComponents(roots, count);
+    }
+
+    private int label(Graph graph, Vertex vertex, int component, int[] componentIds, int[] queue, int tail)
+    {
+        int index = graph.indexOf(vertex);
+        if (componentIds[index] == -1)
+        {
+            componentIds[index] = component;
+            queue[tail++] = index;
+        }
+
+        return tail;
+    }
+
+    private boolean lowerLabel(AtomicIntegerArray labels, int vertex, int label)
+    {
+        int current = labels.get(vertex);
+        while (label < current)
+        {
+            if (labels.compareAndSet(vertex, current, label))
+            {
+                return true;
+            }
+            current = labels.get(vertex);
+        }
+
+        return false;
+    }
+
+    /**
+     * Nummeriert die Komponenten in der Reihenfolge ihres kleinsten Knotenindex
+     *
+     * @param roots Repräsentant je Knotenindex
+     * @param count Anzahl der Komponenten
+     */
+    private Components numberComponents(int[] roots, int count)
+    {
+        int n = roots.length;
+        int[] rootIds = new int[n];
+        Arrays.fill(rootIds, -1);
+
+        int[] componentIds = new int[n];
+        int[] sizes = new int[count];
+        int nextId = 0;
+        for (int v = 0; v < n; v++)
+        {
+            int root = roots[v];
+            if (rootIds[root] == -1)
+            {
+                rootIds[root] = nextId++;
+            }
+
+            componentIds[v] = rootIds[root];
+            sizes[componentIds[v]]++;
+        }
+
+        return createComponents(count, componentIds, sizes);
+    }
+
+    private Components createComponents(int count, int[] componentIds, int[] sizes)
+    {
+        Components components = new Components();
+        components.setCount(count);
+        components.setComponentIds(componentIds);
+        components.setSizes(sizes.length == count ? sizes : Arrays.copyOf(sizes, count));
+
+        return components;
+    }
+}
@@ -1,13 +1,8 @@
 package de.develman.mmi.algorithm;
 
 import de.develman.mmi.exception.MinimalCostFlowException;
-import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
-import de.develman.mmi.model.Vertex;
-import java.util.List;
-import java.util.Optional;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import de.develman.mmi.model.ResidualNetwork;
 import javax.inject.Inject;
 
 /**
@@ -23,6 +18,18 @@ public class CycleCanceling extends AbstractMinimumCostFlow
     @Inject
     MooreBellmanFord mooreBellmanFord;
 
+    private MaxFlow maxFlow;
+
+    /**
+     * Setzt den Algorithmus zur Berechnung des maximalen Flusses, ohne Angabe wird Edmonds-Karp verwendet
+     *
+     * @param maxFlow Algorithmus für den maximalen Fluss
+     */
+    public void setMaxFlow(MaxFlow maxFlow)
+    {
+        this.maxFlow = maxFlow;
+    }
+
     /**
      * Berechnung des kostenminimalen Flusses
      *
@@ -37,118 +44,61 @@ public class CycleCanceling extends AbstractMinimumCostFlow
             throw new MinimalCostFlowException("Balancen sind nicht ausgeglichen");
         }
 
-        Graph residualGraph = graph.copy();
-        Vertex superSource = addSuperSource(residualGraph);
-        Vertex superSink = addSuperSink(residualGraph);
-
-        if (!checkConvenientCapacity(residualGraph, superSource, superSink))
-        {
-            throw new MinimalCostFlowException("Kapazitäten sind nicht ausgeglichen");
-        }
+        ResidualNetwork network = ResidualNetwork.of(graph);
+        int vertexCount = network.countVertices();
+        int superSource = network.addVertex(-1, 0.0);
+        int superSink = network.addVertex(-2, 0.0);
 
-        List<Edge> cycle;
-        while ((cycle = getNegativeCycle(residualGraph)) != null)
+        double totalCapacity = 0.0;
+        for (int v = 0; v < vertexCount; v++)
         {
-            double gamma = cycle.stream().mapToDouble(Edge::getCapacity).min().getAsDouble();
-
-            cycle.forEach(e ->
+            double balance = network.getBalance(v);
+            if (balance > 0)
             {
-                updateResidualEdge(residualGraph, e, gamma);
-            });
-        }
-
-        return calculateMinimalCostFlow(graph, residualGraph);
-    }
-
-    private List<Edge> getNegativeCycle(Graph graph)
-    {
-        graph.unvisitAllVertices();
-        List<Edge> cycle = null;
-
-        do
-        {
-            Vertex vertex = findUnvisitVertex(graph);
-            if (vertex == null)
+                network.addEdge(superSource, v, balance, 0.0);
+                totalCapacity += balance;
+            }
+            else if (balance < 0)
             {
-                break;
+                network.addEdge(v, superSink, balance * -1, 0.0);
             }
-
-            cycle = mooreBellmanFord.findNegativeCycle(graph, vertex);
         }
-        while (cycle == null);
-
-        return cycle;
-    }
 
-    private Vertex findUnvisitVertex(Graph graph)
-    {
-        Optional<Vertex> possibleVertex = graph.getVertices().stream().filter(v -> !v.isVisited()).findFirst();
-
-        Vertex unvisitVertex = null;
-        if (possibleVertex.isPresent())
+        if (getMaxFlow().calculateMaxFlow(network, superSource, superSink) != totalCapacity)
         {
-            unvisitVertex = possibleVertex.get();
+            throw new MinimalCostFlowException("Kapazitäten sind nicht ausgeglichen");
         }
 
-        return unvisitVertex;
-    }
-
-    private boolean checkConvenientCapacity(Graph graph, Vertex superSource, Vertex superSink)
-    {
-        double totalCapacity = superSource.getOutgoingEdges().stream().mapToDouble(Edge::getCapacity).sum();
-        double maxFlow = edmondsKarp.calculateMaxFlowGraph(graph, superSource, superSink);
-
-        return maxFlow == totalCapacity;
-    }
-
-    private Vertex addSuperSource(Graph graph)
-    {
-        Vertex superSource = new Vertex(-1);
-        graph.addVertex(superSource);
-
-        List<Vertex> sources = balancedVertices(graph, true);
-        sources.forEach(v ->
+        int[] cycle;
+        while ((cycle = getNegativeCycle(network)) != null)
         {
-            Edge edge = new Edge(superSource, v, v.getBalance(), 0.0);
-            graph.addEdge(edge, 0);
-        });
+            double gamma = findMinimalCapacity(network, cycle);
+            updateResidualArcs(network, cycle, gamma);
+        }
 
-        return superSource;
+        return network.calculateCost();
     }
 
-    private Vertex addSuperSink(Graph graph)
+    private int[] getNegativeCycle(ResidualNetwork network)
     {
-        Vertex superSink = new Vertex(-2);
-        graph.addVertex(superSink);
-        List<Vertex> sinks = balancedVertices(graph, false);
-        sinks.forEach(v ->
+        boolean[] visited = new boolean[network.countVertices()];
+        for (int v = 0; v < network.countVertices(); v++)
         {
-            double balance = v.getBalance() * -1;
-            Edge edge = new Edge(v, superSink, balance, 0.0);
-            graph.addEdge(edge);
-        });
-
-        return superSink;
-    }
+            if (!visited[v])
+            {
+                int[] cycle = mooreBellmanFord.findNegativeCycle(network, v, visited);
+                if (cycle != null)
+                {
+                    return cycle;
+                }
+            }
+        }
 
-    private List<Vertex> balancedVertices(Graph graph, boolean greaterZero)
-    {
-        return graph.getVertices().stream().filter(balanceFilter(greaterZero)).collect(
-                Collectors.toList());
+        return null;
     }
 
-    private Predicate<Vertex> balanceFilter(boolean greaterZero)
+    private MaxFlow getMaxFlow()
     {
-        Predicate<Vertex> pred;
-        if (greaterZero)
-        {
-            pred = v -> v.getBalance() > 0;
-        }
-        else
-        {
-            pred = v -> v.getBalance() < 0;
-        }
-
-        return pred;
+        return maxFlow != null ? maxFlow : edmondsKarp;
     }
 }
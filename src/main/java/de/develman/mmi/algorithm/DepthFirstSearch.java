@@ -1,31 +1,40 @@
 package de.develman.mmi.algorithm;
 
+import de.develman.mmi.model.CompactGraph;
 import de.develman.mmi.model.Graph;
 import de.develman.mmi.model.Vertex;
+import de.develman.mmi.model.VisitedVertices;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
- * Die Klasse DepthFirstSearch implementiert die Tiefensuche in einem Graphen.
+ * Die Klasse DepthFirstSearch implementiert die Tiefensuche in einem Graphen. Die Suche arbeitet mit einem expliziten
+ * Stapel statt Rekursion, so dass auch sehr tiefe Graphen durchsucht werden können. Der Stapel wird je Thread
+ * wiederverwendet, der Besuchsstatus gehört nur dem jeweiligen Lauf.
  *
  * @author Georg Henkel <georg@develman.de>
  */
 public class DepthFirstSearch
 {
-    private boolean vertexFound = false;
+    private static final Consumer<Vertex> NO_CALLBACK = v ->
+    {
+    };
+
+    private final ThreadLocal<SearchState> searchStates = ThreadLocal.withInitial(SearchState::new);
 
     /**
      * Tiefensuche vom Startknoten, die alle besuchten Knoten liefert
      *
+     * @param graph Graph
      * @param startVertex Startknoten
      * @return Liste der Knoten, die vom Startknoten erreicht werden
      */
-    public List<Vertex> getAccessibleVertices(Vertex startVertex)
+    public List<Vertex> getAccessibleVertices(Graph graph, Vertex startVertex)
     {
-        vertexFound = false;
-
         List<Vertex> visitList = new ArrayList<>();
-        doSearchInternal(visitList, startVertex, null);
+        traverse(graph, startVertex, null, visitList::add, null);
 
         return visitList;
     }
@@ -33,34 +42,58 @@ public class DepthFirstSearch
     /**
      * Prüft, ob es einen Weg zwischen Start- und Endknoten gibt
      *
+     * @param graph Graph
      * @param startVertex Startknoten
      * @param endVertex Endknoten
      * @return {@code true}, wenn ein Weg gefunden wurde
      */
-    public boolean hasPath(Vertex startVertex, Vertex endVertex)
+    public boolean hasPath(Graph graph, Vertex startVertex, Vertex endVertex)
     {
-        vertexFound = false;
-        doSearchInternal(new ArrayList<>(), startVertex, endVertex);
-
-        return vertexFound;
+        return traverse(graph, startVertex, endVertex, null, null);
     }
 
     /**
      * Breitensuche von Startknoten zu Endknoten
      *
+     * @param graph Graph
      * @param startVertex Startknoten
      * @param endVertex Endknoten
      * @return Liste der besuchten Knoten, von Startknoten bis Endknoten
      */
-    public List<Vertex> getVerticesOnPath(Vertex startVertex, Vertex endVertex)
+    public List<Vertex> getVerticesOnPath(Graph graph, Vertex startVertex, Vertex endVertex)
     {
-        vertexFound = false;
         List<Vertex> visitList = new ArrayList<>();
-        doSearchInternal(visitList, startVertex, endVertex);
+        traverse(graph, startVertex, endVertex, visitList::add, null);
 
         return visitList;
     }
 
+    /**
+     * Tiefensuche vom Startknoten mit Rückrufen beim Betreten und Verlassen der Knoten. Die Suche endet, sobald der
+     * Endknoten betreten wurde, dieser wird noch an {@code preOrder} übergeben.
+     *
+     * @param graph Graph
+     * @param startVertex Startknoten
+     * @param endVertex Endknoten oder {@code null}, um alle erreichbaren Knoten zu besuchen
+     * @param preOrder Wird beim Betreten eines Knotens aufgerufen, kann {@code null} sein
+     * @param postOrder Wird aufgerufen, wenn alle Nachfolger eines Knotens abgearbeitet sind, kann {@code null} sein
+     * @return {@code true}, wenn der Endknoten erreicht wurde
+     */
+    public boolean traverse(Graph graph, Vertex startVertex, Vertex endVertex, Consumer<Vertex> preOrder,
+            Consumer<Vertex> postOrder)
+    {
+        SearchState state = acquireState();
+        try
+        {
+            return search(state, new VisitedVertices(graph), startVertex, endVertex, preOrder != null ? preOrder
+                    : NO_CALLBACK, postOrder != null ? postOrder : NO_CALLBACK);
+        }
+        finally
+        {
+            state.release();
+        }
+    }
+
     /**
      * Liefert die Anzahl an Zusammenhangskomponenten
      *
@@ -70,57 +103,200 @@ public class DepthFirstSearch
      */
     public int countComponents(Graph graph, Vertex startVertex)
     {
-        int countComponents = 0;
-        List<Vertex> vertices = new ArrayList<>(graph.getVertices());
+        int countComponents = 1;
+        VisitedVertices visited = new VisitedVertices(graph);
+        SearchState state = acquireState();
+        try
+        {
+            search(state, visited, startVertex, null, NO_CALLBACK, NO_CALLBACK);
+            for (Vertex vertex : graph.getVertices())
+            {
+                if (!visited.isVisited(vertex))
+                {
+                    countComponents++;
+                    search(state, visited, vertex, null, NO_CALLBACK, NO_CALLBACK);
+                }
+            }
+        }
+        finally
+        {
+            state.release();
+        }
+
+        return countComponents;
+    }
+
+    /**
+     * Tiefensuche im kompakten Graphen vom Startknoten, die alle besuchten Knoten liefert
+     *
+     * @param graph Kompakter Graph
+     * @param startVertex Index des Startknotens
+     * @return Indizes der Knoten, die vom Startknoten erreicht werden
+     */
+    public int[] getAccessibleVertices(CompactGraph graph, int startVertex)
+    {
+        return getVerticesOnPath(graph, startVertex, -1);
+    }
+
+    /**
+     * Prüft, ob es im kompakten Graphen einen Weg zwischen Start- und Endknoten gibt
+     *
+     * @param graph Kompakter Graph
+     * @param startVertex Index des Startknotens
+     * @param endVertex Index des Endknotens
+     * @return {@code true}, wenn ein Weg gefunden wurde
+     */
+    public boolean hasPath(CompactGraph graph, int startVertex, int endVertex)
+    {
+        int[] foundVertices = getVerticesOnPath(graph, startVertex, endVertex);
+        return foundVertices[foundVertices.length - 1] == endVertex;
+    }
+
+    /**
+     * Tiefensuche im kompakten Graphen von Startknoten zu Endknoten
+     *
+     * @param graph Kompakter Graph
+     * @param startVertex Index des Startknotens
+     * @param endVertex Index des Endknotens oder -1
+     * @return Indizes der besuchten Knoten, von Startknoten bis Endknoten
+     */
+    public int[] getVerticesOnPath(CompactGraph graph, int startVertex, int endVertex)
+    {
+        int[] visitList = new int[graph.countVertices()];
+        int count = 0;
 
-        boolean allFound = false;
-        do
+        visitList[count++] = startVertex;
+        if (startVertex == endVertex)
         {
-            countComponents++;
+            return Arrays.copyOf(visitList, count);
+        }
+
+        boolean[] visited = new boolean[graph.countVertices()];
+        int[] stack = new int[graph.countVertices()];
+        int[] nextArc = new int[graph.countVertices()];
+
+        int depth = 0;
+        visited[startVertex] = true;
+        stack[depth] = startVertex;
+        nextArc[depth++] = graph.firstArc(startVertex);
+
+        while (depth > 0)
+        {
+            int top = depth - 1;
+            if (nextArc[top] == graph.endArc(stack[top]))
+            {
+                depth--;
+                continue;
+            }
 
-            startVertex = findComponent(vertices, startVertex);
-            if (startVertex == null)
+            int vertex = graph.getTarget(nextArc[top]++);
+            if (visited[vertex])
             {
-                allFound = true;
+                continue;
             }
+
+            visitList[count++] = vertex;
+            if (vertex == endVertex)
+            {
+                break;
+            }
+
+            visited[vertex] = true;
+            stack[depth] = vertex;
+            nextArc[depth++] = graph.firstArc(vertex);
         }
-        while (!allFound);
 
-        return countComponents;
+        return Arrays.copyOf(visitList, count);
     }
 
-    private void doSearchInternal(List<Vertex> visitList, Vertex startVertex, Vertex endVertex)
+    private SearchState acquireState()
     {
-        if (vertexFound)
+        SearchState state = searchStates.get();
+        if (state.inUse)
         {
-            return;
+            // Eine weitere Suche aus einem Rückruf heraus erhält einen eigenen Zustand
+            state = new SearchState();
         }
 
-        visitList.add(startVertex);
+        state.inUse = true;
+
+        return state;
+    }
+
+    private boolean search(SearchState state, VisitedVertices visited, Vertex startVertex, Vertex endVertex,
+            Consumer<Vertex> preOrder, Consumer<Vertex> postOrder)
+    {
+        preOrder.accept(startVertex);
         if (startVertex.equals(endVertex))
         {
-            vertexFound = true;
-            return;
+            return true;
+        }
+
+        visited.visit(startVertex);
+        state.push(startVertex);
+
+        while (state.depth > 0)
+        {
+            int top = state.depth - 1;
+            Vertex vertex = state.stack[top];
+            if (state.nextEdge[top] == vertex.countOutgoingEdges())
+            {
+                state.pop();
+                postOrder.accept(vertex);
+                continue;
+            }
+
+            Vertex sink = vertex.getOutgoingEdge(state.nextEdge[top]++).getSink();
+            if (visited.isVisited(sink))
+            {
+                continue;
+            }
+
+            preOrder.accept(sink);
+            if (sink.equals(endVertex))
+            {
+                return true;
+            }
+
+            visited.visit(sink);
+            state.push(sink);
         }
 
-        startVertex.setVisited(true);
-        startVertex.getSuccessors().stream().filter(vertex -> !vertex.isVisited()).forEach(
-                vertex -> doSearchInternal(visitList, vertex, endVertex));
+        return false;
     }
 
-    private Vertex findComponent(List<Vertex> vertices, Vertex startVertex)
+    /**
+     * Stapel einer Suche, die Arrays wachsen bei Bedarf und werden wiederverwendet
+     */
+    private static class SearchState
     {
-        Vertex nextStartVertex = null;
+        Vertex[] stack = new Vertex[16];
+        int[] nextEdge = new int[16];
+        int depth;
+        boolean inUse;
+
+        void push(Vertex vertex)
+        {
+            if (depth == stack.length)
+            {
+                stack = Arrays.copyOf(stack, depth * 2);
+                nextEdge = Arrays.copyOf(nextEdge, depth * 2);
+            }
 
-        List<Vertex> foundVertices = new ArrayList<>();
-        doSearchInternal(foundVertices, startVertex, null);
+            stack[depth] = vertex;
+            nextEdge[depth++] = 0;
+        }
 
-        vertices.removeAll(foundVertices);
-        if (!vertices.isEmpty())
+        void pop()
         {
-            nextStartVertex = vertices.get(0);
+            stack[--depth] = null;
         }
 
-        return nextStartVertex;
+        void release()
+        {
+            Arrays.fill(stack, 0, depth, null);
+            depth = 0;
+            inUse = false;
+        }
     }
 }
@@ -1,14 +1,18 @@
 package de.develman.mmi.algorithm;
 
+import de.develman.mmi.algorithm.util.IndexedMinHeap;
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
 import de.develman.mmi.model.Vertex;
+import de.develman.mmi.model.algorithm.CompactShortestPath;
 import de.develman.mmi.model.algorithm.ShortestPath;
 import java.util.*;
-import java.util.function.Predicate;
 
 /**
  * Die Klasse Dijkstra implementiert den Algorithmus von Dijkstra zur Berechnung des Kürzester-Wege-Baumes in einem
- * Digraph mit positiven Kantengewichten
+ * Digraph mit positiven Kantengewichten. Der nächste Knoten wird über einen indizierten Heap bestimmt, die Suche endet,
+ * sobald der Zielknoten abgeschlossen ist.
  *
  * @author Georg Henkel <georg@develman.de>
  */
@@ -26,44 +30,108 @@ public class Dijkstra extends AbstractShortestPath
     {
         init(graph, startVertex);
 
-        Vertex currentVertex = startVertex;
-        do
-        {
-            currentVertex.getOutgoingEdges().stream().filter(e -> !e.getSink().isVisited()).forEach(e -> updateCost(e));
-            currentVertex.setVisited(true);
+        int n = graph.countVertices();
+        int end = indexOf(endVertex);
+        boolean[] scanned = new boolean[n];
+        IndexedMinHeap unscannedVertices = new IndexedMinHeap(n);
+        unscannedVertices.insertOrDecrease(indexOf(startVertex), 0.0);
 
-            currentVertex = getNextVertex();
-            if (currentVertex == null)
+        while (!unscannedVertices.isEmpty())
+        {
+            int current = unscannedVertices.poll();
+            scanned[current] = true;
+            if (current == end)
             {
                 break;
             }
+
+            Vertex currentVertex = graph.getVertexAt(current);
+            for (int i = 0; i < currentVertex.countOutgoingEdges(); i++)
+            {
+                Edge e = currentVertex.getOutgoingEdge(i);
+                int sink = indexOf(e.getSink());
+                if (!scanned[sink] && updateCost(current, sink, e.getCost()))
+                {
+                    unscannedVertices.insertOrDecrease(sink, distances[sink]);
+                }
+            }
         }
-        while (true);
 
         return loadShortestPath(startVertex, endVertex);
     }
 
-    private Vertex getNextVertex()
+    /**
+     * Berechnung des kürzesten Weges in einem kompakten Graphen
+     *
+     * @param graph Kompakter Digraph mit positiven Kantengewichten
+     * @param startVertex Index des Startknotens
+     * @param endVertex Index des Zielknotens
+     * @return Kürzester Weg oder {@code null}, wenn der Zielknoten nicht erreichbar ist
+     */
+    public CompactShortestPath findShortestPath(CompactGraph graph, int startVertex, int endVertex)
     {
-        Optional<Map.Entry<Vertex, Double>> unscannedEntry = distance.entrySet().stream().filter(unscannedVertex()).sorted(
-                compareWeight()).findFirst();
+        int n = graph.countVertices();
+        double[] distances = new double[n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[startVertex] = 0.0;
+
+        int[] predecessors = new int[n];
+        int[] predecessorArcs = new int[n];
+        boolean[] scanned = new boolean[n];
 
-        Vertex nextVertex = null;
-        if (unscannedEntry.isPresent())
+        IndexedMinHeap unscannedVertices = new IndexedMinHeap(n);
+        unscannedVertices.insertOrDecrease(startVertex, 0.0);
+
+        while (!unscannedVertices.isEmpty())
         {
-            nextVertex = unscannedEntry.get().getKey();
+            int currentVertex = unscannedVertices.poll();
+            scanned[currentVertex] = true;
+            if (currentVertex == endVertex)
+            {
+                break;
+            }
+
+            for (int arc = graph.firstArc(currentVertex); arc < graph.endArc(currentVertex); arc++)
+            {
+                int sink = graph.getTarget(arc);
+                double newDistance = distances[currentVertex] + graph.getCost(arc);
+                if (!scanned[sink] && newDistance < distances[sink])
+                {
+                    distances[sink] = newDistance;
+                    predecessors[sink] = currentVertex;
+                    predecessorArcs[sink] = arc;
+                    unscannedVertices.insertOrDecrease(sink, newDistance);
+                }
+            }
         }
 
-        return nextVertex;
+        return loadShortestPath(distances, predecessors, predecessorArcs, startVertex, endVertex);
     }
 
-    private Predicate<Map.Entry<Vertex, Double>> unscannedVertex()
+    private CompactShortestPath loadShortestPath(double[] distances, int[] predecessors, int[] predecessorArcs,
+            int startVertex, int endVertex)
     {
-        return entry -> !entry.getKey().isVisited();
-    }
+        if (Double.isInfinite(distances[endVertex]))
+        {
+            return null;
+        }
 
-    private Comparator<Map.Entry<Vertex, Double>> compareWeight()
-    {
-        return Comparator.comparing(entry -> entry.getValue());
+        int length = 0;
+        for (int v = endVertex; v != startVertex; v = predecessors[v])
+        {
+            length++;
+        }
+
+        int[] arcs = new int[length];
+        for (int v = endVertex; v != startVertex; v = predecessors[v])
+        {
+            arcs[--length] = predecessorArcs[v];
+        }
+
+        CompactShortestPath path = new CompactShortestPath();
+        path.setLength(distances[endVertex]);
+        path.setArcs(arcs);
+
+        return path;
     }
 }
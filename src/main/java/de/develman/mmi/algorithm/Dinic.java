@@ -0,0 +1,137 @@
+package de.develman.mmi.algorithm;
+
+import de.develman.mmi.model.ResidualNetwork;
+import java.util.Arrays;
+
+/**
+ * Die Klasse Dinic implementiert den Algorithmus von Dinic zur Berechnung des maximalen Flusses. In jeder Phase wird
+ * per Breitensuche ein Niveaugraph aufgebaut und darin ein blockierender Fluss bestimmt.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class Dinic implements MaxFlow
+{
+    @Override
+    public double calculateMaxFlow(ResidualNetwork network, int startVertex, int endVertex)
+    {
+        double maxFlow = 0.0;
+        if (startVertex == endVertex)
+        {
+            return maxFlow;
+        }
+
+        int vertexCount = network.countVertices();
+        int[] levels = new int[vertexCount];
+        int[] queue = new int[vertexCount];
+        int[] currentArcs = new int[vertexCount];
+        int[] pathArcs = new int[vertexCount];
+
+        while (buildLevelGraph(network, startVertex, endVertex, levels, queue))
+        {
+            for (int v = 0; v < vertexCount; v++)
+            {
+                currentArcs[v] = network.firstOutgoing(v);
+            }
+
+            maxFlow += calculateBlockingFlow(network, startVertex, endVertex, levels, currentArcs, pathArcs);
+        }
+
+        return maxFlow;
+    }
+
+    private boolean buildLevelGraph(ResidualNetwork network, int startVertex, int endVertex, int[] levels,
+            int[] queue)
+    {
+        Arrays.fill(levels, -1);
+
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = startVertex;
+        levels[startVertex] = 0;
+
+        while (head < tail)
+        {
+            int vertex = queue[head++];
+            for (int i = network.firstOutgoing(vertex); i < network.endOutgoing(vertex); i++)
+            {
+                int arc = network.getOutgoingArc(i);
+                int target = network.getTarget(arc);
+                if (levels[target] == -1 && network.getResidualCapacity(arc) > 0.0)
+                {
+                    levels[target] = levels[vertex] + 1;
+                    queue[tail++] = target;
+                }
+            }
+        }
+
+        return levels[endVertex] != -1;
+    }
+
+    private double calculateBlockingFlow(ResidualNetwork network, int startVertex, int endVertex, int[] levels,
+            int[] currentArcs, int[] pathArcs)
+    {
+        double blockingFlow = 0.0;
+
+        int depth = 0;
+        int vertex = startVertex;
+        while (true)
+        {
+            if (vertex == endVertex)
+            {
+                double minCapacity = Double.POSITIVE_INFINITY;
+                for (int i = 0; i < depth; i++)
+                {
+                    minCapacity = Math.min(minCapacity, network.getResidualCapacity(pathArcs[i]));
+                }
+
+                // Nach dem Augmentieren wird ab dem ersten gesättigten Bogen weitergesucht
+                int retreat = depth;
+                for (int i = 0; i < depth; i++)
+                {
+                    network.augment(pathArcs[i], minCapacity);
+                    if (retreat == depth && network.getResidualCapacity(pathArcs[i]) <= 0.0)
+                    {
+                        retreat = i;
+                    }
+                }
+
+                blockingFlow += minCapacity;
+                depth = retreat;
+                vertex = network.getSource(pathArcs[depth]);
+                continue;
+            }
+
+            int end = network.endOutgoing(vertex);
+            while (currentArcs[vertex] < end)
+            {
+                int arc = network.getOutgoingArc(currentArcs[vertex]);
+                if (network.getResidualCapacity(arc) > 0.0 && levels[network.getTarget(arc)] == levels[vertex] + 1)
+                {
+                    break;
+                }
+                currentArcs[vertex]++;
+            }
+
+            if (currentArcs[vertex] < end)
+            {
+                int arc = network.getOutgoingArc(currentArcs[vertex]);
+                pathArcs[depth++] = arc;
+                vertex = network.getTarget(arc);
+            }
+            else
+            {
+                // Sackgasse: der Knoten wird aus dem Niveaugraphen entfernt
+                levels[vertex] = -1;
+                if (depth == 0)
+                {
+                    break;
+                }
+
+                vertex = network.getSource(pathArcs[--depth]);
+                currentArcs[vertex]++;
+            }
+        }
+
+        return blockingFlow;
+    }
+}
@@ -31,7 +31,7 @@ public class DoubleTree
         Graph minSpanTree = kruskal.getMinimalSpanningTree(graph);
 
         Vertex startVertex = minSpanTree.getFirstVertex();
-        List<Vertex> orderedVertices = depthSearch.getAccessibleVertices(startVertex);
+        List<Vertex> orderedVertices = depthSearch.getAccessibleVertices(minSpanTree, startVertex);
 
         List<Edge> tour = new ArrayList<>();
         for (int i = 0; i < orderedVertices.size() - 1; i++)
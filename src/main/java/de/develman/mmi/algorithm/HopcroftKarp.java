@@ -0,0 +1,235 @@
+package de.develman.mmi.algorithm;
+
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.algorithm.BipartiteMatching;
+import java.util.Arrays;
+
+/**
+ * Die Klasse HopcroftKarp implementiert den Algorithmus von Hopcroft und Karp zur Berechnung eines maximalen Matchings
+ * in einem bipartiten Graphen in O(E·√V). Die erste Gruppe besteht aus den Knoten mit einem Schlüssel kleiner
+ * {@link CompactGraph#getGroupedVerticeCount()}, es werden nur Bögen von der ersten in die zweite Gruppe mit positiver
+ * Kapazität betrachtet.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class HopcroftKarp
+{
+    private static final int INFINITE = Integer.MAX_VALUE;
+
+    /**
+     * Berechnung eines maximalen Matchings
+     *
+     * @param graph Bipartiter Graph
+     * @return Liefert das Matching mit der Anzahl der gematchten Paare und den Partnern aller Knoten
+     */
+    public BipartiteMatching findMaximumMatching(CompactGraph graph)
+    {
+        int n = graph.countVertices();
+        int[] mates = new int[n];
+        Arrays.fill(mates, -1);
+
+        int leftCount = 0;
+        int[] leftVertices = new int[n];
+        for (int v = 0; v < n; v++)
+        {
+            if (isLeft(graph, v))
+            {
+                leftVertices[leftCount++] = v;
+            }
+        }
+
+        int size = matchGreedy(graph, leftVertices, leftCount, mates);
+
+        int[] levels = new int[n];
+        int[] queue = new int[n];
+        int[] currentArcs = new int[n];
+        int[] stack = new int[n];
+        int freeLevel;
+        while ((freeLevel = buildLevels(graph, leftVertices, leftCount, mates, levels, queue)) != INFINITE)
+        {
+            for (int i = 0; i < leftCount; i++)
+            {
+                int v = leftVertices[i];
+                currentArcs[v] = graph.firstArc(v);
+            }
+
+            for (int i = 0; i < leftCount; i++)
+            {
+                int v = leftVertices[i];
+                if (mates[v] == -1 && augment(graph, v, mates, levels, freeLevel, currentArcs, stack))
+                {
+                    size++;
+                }
+            }
+        }
+
+        BipartiteMatching matching = new BipartiteMatching();
+        matching.setSize(size);
+        matching.setMates(mates);
+
+        return matching;
+    }
+
+    private int matchGreedy(CompactGraph graph, int[] leftVertices, int leftCount, int[] mates)
+    {
+        int size = 0;
+        for (int i = 0; i < leftCount; i++)
+        {
+            int v = leftVertices[i];
+            for (int arc = graph.firstArc(v); arc < graph.endArc(v); arc++)
+            {
+                int target = graph.getTarget(arc);
+                if (isMatchingArc(graph, arc) && mates[target] == -1)
+                {
+                    mates[v] = target;
+                    mates[target] = v;
+                    size++;
+                    break;
+                }
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Breitensuche von allen freien Knoten der ersten Gruppe entlang alternierender Wege. Die Suche endet mit der
+     * Schicht, in der zum ersten Mal ein freier Knoten der zweiten Gruppe erreicht wird.
+     *
+     * @return Schicht nach der Schicht der Knoten, die einen freien Knoten der zweiten Gruppe erreichen, also die Länge
+     * der kürzesten augmentierenden Wege in Knoten der ersten Gruppe, oder {@link #INFINITE}, wenn kein augmentierender
+     * Weg existiert
+     */
+    private int buildLevels(CompactGraph graph, int[] leftVertices, int leftCount, int[] mates, int[] levels,
+            int[] queue)
+    {
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < leftCount; i++)
+        {
+            int v = leftVertices[i];
+            if (mates[v] == -1)
+            {
+                levels[v] = 0;
+                queue[tail++] = v;
+            }
+            else
+            {
+                levels[v] = INFINITE;
+            }
+        }
+
+        int freeLevel = INFINITE;
+        while (head < tail)
+        {
+            int v = queue[head++];
+            if (levels[v] >= freeLevel)
+            {
+                break;
+            }
+
+            for (int arc = graph.firstArc(v); arc < graph.endArc(v); arc++)
+            {
+                if (!isMatchingArc(graph, arc))
+                {
+                    continue;
+                }
+
+                int mate = mates[graph.getTarget(arc)];
+                if (mate == -1)
+                {
+                    freeLevel = levels[v] + 1;
+                }
+                else if (levels[mate] == INFINITE)
+                {
+                    levels[mate] = levels[v] + 1;
+                    queue[tail++] = mate;
+                }
+            }
+        }
+
+        return freeLevel;
+    }
+
+    /**
+     * Iterative Tiefensuche nach einem augmentierenden Weg entlang der Schichten. Freie Knoten der zweiten Gruppe
+     * werden nur aus der letzten Schicht vor {@code freeLevel} angenommen, so dass jede Phase nur kürzeste Wege
+     * augmentiert. Knoten ohne Weg werden für den Rest der Phase aus den Schichten entfernt.
+     *
+     * @return {@code true}, wenn das Matching vergrößert wurde
+     */
+    private boolean augment(CompactGraph graph, int start, int[] mates, int[] levels, int freeLevel,
+            int[] currentArcs, int[] stack)
+    {
+        int depth = 0;
+        stack[depth++] = start;
+
+        while (depth > 0)
+        {
+            int v = stack[depth - 1];
+            int end = graph.endArc(v);
+            int next = -1;
+
+            while (currentArcs[v] < end)
+            {
+                int arc = currentArcs[v];
+                if (isMatchingArc(graph, arc))
+                {
+                    int mate = mates[graph.getTarget(arc)];
+                    if (mate == -1)
+                    {
+                        if (levels[v] + 1 == freeLevel)
+                        {
+                            flipPath(graph, stack, depth, mates, currentArcs);
+                            return true;
+                        }
+                    }
+                    else if (levels[mate] == levels[v] + 1 && levels[mate] < freeLevel)
+                    {
+                        next = mate;
+                        break;
+                    }
+                }
+                currentArcs[v]++;
+            }
+
+            if (next != -1)
+            {
+                stack[depth++] = next;
+            }
+            else
+            {
+                levels[v] = INFINITE;
+                depth--;
+                if (depth > 0)
+                {
+                    currentArcs[stack[depth - 1]]++;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private void flipPath(CompactGraph graph, int[] stack, int depth, int[] mates, int[] currentArcs)
+    {
+        for (int i = 0; i < depth; i++)
+        {
+            int v = stack[i];
+            int target = graph.getTarget(currentArcs[v]);
+            mates[v] = target;
+            mates[target] = v;
+            currentArcs[v]++;
+        }
+    }
+
+    private boolean isLeft(CompactGraph graph, int vertex)
+    {
+        return graph.getKey(vertex) < graph.getGroupedVerticeCount();
+    }
+
+    private boolean isMatchingArc(CompactGraph graph, int arc)
+    {
+        return graph.getCapacity(arc) > 0.0 && !isLeft(graph, graph.getTarget(arc));
+    }
+}
@@ -1,20 +1,57 @@
 package de.develman.mmi.algorithm;
 
+import de.develman.mmi.algorithm.util.UnionFind;
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.CompactGraphBuilder;
 import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
 import de.develman.mmi.model.Vertex;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
 
 /**
- * Die Klasse Kruskal implementiert den Algorithmus von Kruskal zur Berechnung eines minimal spannenden Baumes
+ * Die Klasse Kruskal implementiert den Algorithmus von Kruskal zur Berechnung eines minimal spannenden Baumes. Die
+ * Kanten werden als Indizes über primitive Schlüssel nach ihrem Gewicht sortiert, gleich schwere Kanten in der
+ * Reihenfolge ihrer Indizes. Als Filter-Kruskal werden die Kanten an einem Pivot geteilt, die schwere Hälfte wird erst
+ * sortiert, nachdem die leichte abgearbeitet ist und alle Kanten innerhalb einer Komponente verworfen sind. Kanten,
+ * die nach Fertigstellung des Baums folgen, werden nie sortiert. Beide Varianten liefern denselben Baum.
  *
  * @author Georg Henkel <georg@develman.de>
  */
 public class Kruskal
 {
+    // Bis zu dieser Anzahl Kanten sortiert Filter-Kruskal direkt
+    private static final int FILTER_THRESHOLD = 1 << 10;
+    // Ab dieser Anzahl Kanten wird parallel sortiert
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private boolean parallel;
+    private boolean filter = true;
+
+    /**
+     * Legt fest, ob große Kantenmengen parallel sortiert werden
+     *
+     * @param parallel {@code true} für paralleles Sortieren
+     */
+    public void setParallel(boolean parallel)
+    {
+        this.parallel = parallel;
+    }
+
     /**
-     * Berechung des minimal spannenden Baums nach Kruskal
+     * Legt fest, ob die Kanten als Filter-Kruskal nur bei Bedarf sortiert werden
+     *
+     * @param filter {@code true} für Filter-Kruskal, {@code false} für das Sortieren aller Kanten
+     */
+    public void setFilter(boolean filter)
+    {
+        this.filter = filter;
+    }
+
+    /**
+     * Berechung des minimal spannenden Baums nach Kruskal. Bei einem nicht zusammenhängenden Graphen wird ein minimal
+     * spannender Wald geliefert.
      *
      * @param graph Graph für den der Baum berechnet werden soll
      * @return Liste der Kanten des minimal spannenden Baums
@@ -23,56 +60,85 @@ public class Kruskal
     {
         Graph minSpanTree = new Graph(graph.isDirected());
 
-        Iterator<Edge> edges = sortEdges(graph).iterator();
-        Map<Vertex, Set<Vertex>> forest = createForest(graph.getVertices());
-
-        while (minSpanTree.getEdges().size() < graph.getVertices().size() - 1)
+        List<Edge> edges = graph.getEdges();
+        int[] sources = new int[edges.size()];
+        int[] sinks = new int[edges.size()];
+        double[] weights = new double[edges.size()];
+        for (int e = 0; e < edges.size(); e++)
         {
-            Edge edge = edges.next();
-
-            Set<Vertex> visitedSource = forest.get(edge.getSource());
-            Set<Vertex> visitedSink = forest.get(edge.getSink());
-
-            if (visitedSource == visitedSink)
-            {
-                continue;
-            }
-
-            addEdgeToTree(minSpanTree, edge);
-
-            if (visitedSource.size() < visitedSink.size())
-            {
-                visitedSink.addAll(visitedSource);
-                visitedSource.forEach(v -> forest.put(v, visitedSink));
+            Edge edge = edges.get(e);
+            sources[e] = graph.indexOf(edge.getSource());
+            sinks[e] = graph.indexOf(edge.getSink());
+            weights[e] = edge.getCapacity();
+        }
 
-            }
-            else
-            {
-                visitedSource.addAll(visitedSink);
-                visitedSink.forEach(v -> forest.put(v, visitedSource));
-            }
+        for (int e : selectEdges(graph.countVertices(), sources, sinks, weights))
+        {
+            addEdgeToTree(minSpanTree, edges.get(e));
         }
 
         return minSpanTree;
     }
 
-    private Map<Vertex, Set<Vertex>> createForest(Collection<Vertex> vertices)
+    /**
+     * Berechung des minimal spannenden Baums nach Kruskal in einem kompakten Graphen. Der Baum enthält alle Knoten des
+     * Graphen, bei einem nicht zusammenhängenden Graphen wird ein minimal spannender Wald geliefert.
+     *
+     * @param graph Kompakter Graph für den der Baum berechnet werden soll
+     * @return Kompakter Graph mit den Kanten des minimal spannenden Baums
+     */
+    public CompactGraph getMinimalSpanningTree(CompactGraph graph)
     {
-        Map<Vertex, Set<Vertex>> forest = new HashMap<>();
-        vertices.forEach((vertex) ->
+        int n = graph.countVertices();
+        CompactGraphBuilder minSpanTree = new CompactGraphBuilder(graph.isDirected(), n, Math.max(n - 1, 0));
+        for (int v = 0; v < n; v++)
         {
-            Set<Vertex> vs = new HashSet<>();
-            vs.add(vertex);
+            minSpanTree.addVertex(graph.getKey(v), graph.getBalance(v));
+        }
+
+        // Die Kanten werden über ihre Kanten-ID angesprochen, die Rückwärtsbögen ungerichteter Kanten entfallen
+        int[] sources = new int[graph.countEdges()];
+        int[] sinks = new int[graph.countEdges()];
+        double[] weights = new double[graph.countEdges()];
+        for (int v = 0; v < n; v++)
+        {
+            for (int arc = graph.firstArc(v); arc < graph.endArc(v); arc++)
+            {
+                if (!graph.isReverseArc(arc))
+                {
+                    int e = graph.getEdgeId(arc);
+                    sources[e] = v;
+                    sinks[e] = graph.getTarget(arc);
+                    weights[e] = graph.getCapacity(arc);
+                }
+            }
+        }
 
-            forest.put(vertex, vs);
-        });
+        for (int e : selectEdges(n, sources, sinks, weights))
+        {
+            minSpanTree.addEdge(sources[e], sinks[e], weights[e], weights[e]);
+        }
 
-        return forest;
+        return minSpanTree.build();
     }
 
-    private List<Edge> sortEdges(Graph graph)
+    /**
+     * @return Indizes der Kanten des Baums in der Reihenfolge ihrer Aufnahme
+     */
+    private int[] selectEdges(int n, int[] sources, int[] sinks, double[] weights)
     {
-        return graph.getEdges().stream().sorted(Comparator.comparing(Edge::getCapacity)).collect(Collectors.toList());
+        Selection selection = new Selection(n, sources, sinks, weights);
+        int[] edges = IntStream.range(0, weights.length).toArray();
+        if (filter)
+        {
+            selection.filterKruskal(edges, 0, edges.length);
+        }
+        else
+        {
+            selection.kruskal(edges, 0, edges.length);
+        }
+
+        return Arrays.copyOf(selection.tree, selection.count);
     }
 
     private void addEdgeToTree(Graph minSpanTree, Edge edge)
@@ -94,4 +160,193 @@ public class Kruskal
         Edge newEdge = new Edge(source, sink, edge.getCapacity());
         minSpanTree.addEdge(newEdge);
     }
+
+    /**
+     * Zustand einer Berechnung: die Kanten als primitive Arrays, die Komponenten und die bisher aufgenommenen Kanten
+     */
+    private class Selection
+    {
+        final int[] sources;
+        final int[] sinks;
+        final double[] weights;
+        final UnionFind components;
+        final int[] tree;
+        int count;
+
+        Selection(int n, int[] sources, int[] sinks, double[] weights)
+        {
+            this.sources = sources;
+            this.sinks = sinks;
+            this.weights = weights;
+            this.components = new UnionFind(n);
+            this.tree = new int[Math.max(n - 1, 0)];
+        }
+
+        /**
+         * Sortiert die Kanten im Bereich und nimmt sie nacheinander auf, bis der Baum vollständig ist
+         */
+        void kruskal(int[] edges, int from, int to)
+        {
+            sort(edges, from, to);
+            for (int i = from; i < to && count < tree.length; i++)
+            {
+                int e = edges[i];
+                if (components.union(sources[e], sinks[e]))
+                {
+                    tree[count++] = e;
+                }
+            }
+        }
+
+        void filterKruskal(int[] edges, int from, int to)
+        {
+            if (count == tree.length)
+            {
+                return;
+            }
+            if (to - from <= FILTER_THRESHOLD)
+            {
+                kruskal(edges, from, to);
+                return;
+            }
+
+            int split = partition(edges, from, to, pivot(edges, from, to));
+            if (split == from || split == to)
+            {
+                kruskal(edges, from, to);
+                return;
+            }
+
+            filterKruskal(edges, from, split);
+            filterKruskal(edges, split, filter(edges, split, to));
+        }
+
+        /**
+         * Entfernt alle Kanten, deren Endknoten bereits verbunden sind
+         *
+         * @return Ende der verbleibenden Kanten
+         */
+        private int filter(int[] edges, int from, int to)
+        {
+            int end = from;
+            for (int i = from; i < to; i++)
+            {
+                int e = edges[i];
+                if (components.find(sources[e]) != components.find(sinks[e]))
+                {
+                    edges[end++] = e;
+                }
+            }
+
+            return end;
+        }
+
+        /**
+         * @return Median aus erster, mittlerer und letzter Kante des Bereichs
+         */
+        private int pivot(int[] edges, int from, int to)
+        {
+            int first = edges[from];
+            int middle = edges[(from + to) >>> 1];
+            int last = edges[to - 1];
+            if (less(first, middle))
+            {
+                return less(middle, last) ? middle : less(first, last) ? last : first;
+            }
+
+            return less(first, last) ? first : less(middle, last) ? last : middle;
+        }
+
+        /**
+         * Ordnet die Kanten leichter als das Pivot vor allen anderen an
+         *
+         * @return Beginn der Kanten, die nicht leichter als das Pivot sind
+         */
+        private int partition(int[] edges, int from, int to, int pivot)
+        {
+            int split = from;
+            for (int i = from; i < to; i++)
+            {
+                int e = edges[i];
+                if (less(e, pivot))
+                {
+                    edges[i] = edges[split];
+                    edges[split++] = e;
+                }
+            }
+
+            return split;
+        }
+
+        private boolean less(int first, int second)
+        {
+            int compare = Double.compare(weights[first], weights[second]);
+            return compare < 0 || compare == 0 && first < second;
+        }
+
+        /**
+         * Sortiert die Kanten im Bereich nach Gewicht und Index. Die Gewichte werden als double-Array sortiert, danach
+         * wird je Kante der Rang ihres Gewichts mit ihrem Index zu einem long-Schlüssel gepackt und sortiert.
+         */
+        private void sort(int[] edges, int from, int to)
+        {
+            int size = to - from;
+            boolean parallelSort = parallel && size >= PARALLEL_THRESHOLD;
+
+            double[] ranks = new double[size];
+            for (int i = 0; i < size; i++)
+            {
+                ranks[i] = weights[edges[from + i]];
+            }
+            sort(ranks, parallelSort);
+
+            int distinct = 0;
+            for (int i = 0; i < size; i++)
+            {
+                if (distinct == 0 || Double.compare(ranks[distinct - 1], ranks[i]) != 0)
+                {
+                    ranks[distinct++] = ranks[i];
+                }
+            }
+
+            int rankCount = distinct;
+            long[] keys = new long[size];
+            IntStream indices = IntStream.range(0, size);
+            (parallelSort ? indices.parallel() : indices).forEach(i ->
+            {
+                int e = edges[from + i];
+                keys[i] = (long) Arrays.binarySearch(ranks, 0, rankCount, weights[e]) << 32 | e;
+            });
+            sort(keys, parallelSort);
+
+            for (int i = 0; i < size; i++)
+            {
+                edges[from + i] = (int) keys[i];
+            }
+        }
+
+        private void sort(double[] values, boolean parallelSort)
+        {
+            if (parallelSort)
+            {
+                Arrays.parallelSort(values);
+            }
+            else
+            {
+                Arrays.sort(values);
+            }
+        }
+
+        private void sort(long[] values, boolean parallelSort)
+        {
+            if (parallelSort)
+            {
+                Arrays.parallelSort(values);
+            }
+            else
+            {
+                Arrays.sort(values);
+            }
+        }
+    }
 }
@@ -1,8 +1,12 @@
 package de.develman.mmi.algorithm;
 
+import de.develman.mmi.model.CompactGraph;
 import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
-import de.develman.mmi.model.Vertex;
+import de.develman.mmi.model.ResidualNetwork;
+import de.develman.mmi.model.algorithm.BipartiteMatching;
+import java.util.ArrayList;
+import java.util.List;
 import javax.inject.Inject;
 
 /**
@@ -14,7 +18,20 @@ import javax.inject.Inject;
 public class Matching
 {
     @Inject
-    EdmondsKarp edmondsKarp;
+    HopcroftKarp hopcroftKarp;
+
+    private MaxFlow maxFlow;
+
+    /**
+     * Setzt einen Algorithmus zur Berechnung des maximalen Flusses. Ohne Angabe wird das Matching direkt mit
+     * Hopcroft-Karp berechnet, sonst als Fluss über eine Superquelle und eine Supersenke.
+     *
+     * @param maxFlow Algorithmus für den maximalen Fluss oder {@code null} für Hopcroft-Karp
+     */
+    public void setMaxFlow(MaxFlow maxFlow)
+    {
+        this.maxFlow = maxFlow;
+    }
 
     /**
      * Berechnung der Anzahl an Matchings
@@ -24,38 +41,53 @@ public class Matching
      */
     public int countMatching(Graph graph)
     {
-        Graph residualGraph = graph.copy();
-        Vertex superSource = addSuperSource(residualGraph);
-        Vertex superSink = addSuperSink(residualGraph);
-
-        return (int) edmondsKarp.calculateMaxFlowGraph(residualGraph, superSource, superSink);
-    }
+        if (maxFlow == null)
+        {
+            return hopcroftKarp.findMaximumMatching(CompactGraph.of(graph)).getSize();
+        }
 
-    private Vertex addSuperSource(Graph graph)
-    {
-        Vertex superSource = new Vertex(-1);
-        graph.addVertex(superSource);
+        ResidualNetwork network = ResidualNetwork.of(graph);
+        int vertexCount = network.countVertices();
+        int superSource = network.addVertex(-1, 0.0);
+        int superSink = network.addVertex(-2, 0.0);
 
-        graph.getVertices().stream().filter(v -> v.getKey() < graph.getGroupedVerticeCount()).forEach(v ->
+        for (int v = 0; v < vertexCount; v++)
         {
-            Edge edge = new Edge(superSource, v, 1.0, 0.0);
-            graph.addEdge(edge, 0);
-        });
+            if (network.getKey(v) < graph.getGroupedVerticeCount())
+            {
+                network.addEdge(superSource, v, 1.0, 0.0);
+            }
+            else
+            {
+                network.addEdge(v, superSink, 1.0, 0.0);
+            }
+        }
 
-        return superSource;
+        return (int) maxFlow.calculateMaxFlow(network, superSource, superSink);
     }
 
-    private Vertex addSuperSink(Graph graph)
+    /**
+     * Berechnung eines maximalen Matchings mit Hopcroft-Karp
+     *
+     * @param graph Graph
+     * @return Liefert die "gematchten" Kanten, jeweils von der ersten zur zweiten Gruppe
+     */
+    public List<Edge> findMatching(Graph graph)
     {
-        Vertex superSink = new Vertex(-2);
-        graph.addVertex(superSink);
+        CompactGraph compactGraph = CompactGraph.of(graph);
+        BipartiteMatching matching = hopcroftKarp.findMaximumMatching(compactGraph);
+        int[] mates = matching.getMates();
 
-        graph.getVertices().stream().filter(v -> v.getKey() >= graph.getGroupedVerticeCount()).forEach(v ->
+        List<Edge> edges = new ArrayList<>(matching.getSize());
+        for (int v = 0; v < mates.length; v++)
         {
-            Edge edge = new Edge(v, superSink, 1.0, 0.0);
-            graph.addEdge(edge, 0);
-        });
+            int key = compactGraph.getKey(v);
+            if (mates[v] != -1 && key < graph.getGroupedVerticeCount())
+            {
+                edges.add(graph.getEdge(graph.getVertex(key), graph.getVertex(compactGraph.getKey(mates[v]))));
+            }
+        }
 
-        return superSink;
+        return edges;
     }
 }
@@ -0,0 +1,41 @@
+package de.develman.mmi.algorithm;
+
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.ResidualNetwork;
+import de.develman.mmi.model.Vertex;
+
+/**
+ * Gemeinsame Schnittstelle der Algorithmen zur Berechnung des maximalen Flusses
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public interface MaxFlow
+{
+    /**
+     * Berechnung des maximalen Flusses
+     *
+     * @param graph Gerichteter Graph
+     * @param startVertex Startknoten
+     * @param endVertex Endknoten
+     * @return Liefert den maximalen Fluss im Graphen
+     */
+    default double findMaxFlow(Graph graph, Vertex startVertex, Vertex endVertex)
+    {
+        ResidualNetwork network = ResidualNetwork.of(graph);
+        int start = network.indexOf(startVertex.getKey());
+        int end = network.indexOf(endVertex.getKey());
+
+        return calculateMaxFlow(network, start, end);
+    }
+
+    /**
+     * Berechnung des maximalen Flusses im Residualnetzwerk. Der Fluss wird in das Netzwerk geschrieben, ein bereits
+     * vorhandener Fluss wird dabei erhöht.
+     *
+     * @param network Residualnetzwerk
+     * @param startVertex Index des Startknotens
+     * @param endVertex Index des Endknotens
+     * @return Liefert den zusätzlich geschickten Fluss
+     */
+    double calculateMaxFlow(ResidualNetwork network, int startVertex, int endVertex);
+}
@@ -3,9 +3,13 @@ package de.develman.mmi.algorithm;
 import de.develman.mmi.exception.NegativeCycleException;
 import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.ResidualNetwork;
 import de.develman.mmi.model.Vertex;
+import de.develman.mmi.model.VisitedVertices;
+import de.develman.mmi.model.algorithm.CompactShortestPath;
 import de.develman.mmi.model.algorithm.ShortestPath;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -21,28 +25,27 @@ public class MooreBellmanFord extends AbstractShortestPath
      *
      * @param graph Graph
      * @param startVertex Startknoten
+     * @param visited Markiert alle Knoten, die vom Startknoten erreicht wurden
      * @return Negativer Zykel oder null, wenn keiner gefunden wurde
      */
-    public List<Edge> findNegativeCycle(Graph graph, Vertex startVertex)
+    public List<Edge> findNegativeCycle(Graph graph, Vertex startVertex, VisitedVertices visited)
     {
         init(graph, startVertex);
-        calculateDistances(graph);
+        EdgeArrays edges = new EdgeArrays(graph);
+        calculateDistances(edges);
 
-        distance.keySet().forEach(v ->
+        for (int v = 0; v < graph.countVertices(); v++)
         {
-            if (distance.get(v) < Double.POSITIVE_INFINITY)
+            if (distances[v] < Double.POSITIVE_INFINITY)
             {
-                v.setVisited(true);
+                visited.visit(graph.getVertexAt(v));
             }
-        });
+        }
 
-        for (Edge e : graph.getEdges())
+        int edge = findRelaxableEdge(edges);
+        if (edge != -1)
         {
-            if (checkForCycle(e))
-            {
-                List<Edge> cycle = loadCycle(e, graph.countVertices());
-                return cycle;
-            }
+            return loadCycle(edges.sources[edge], graph.countVertices());
         }
 
         return null;
@@ -60,66 +63,280 @@ public class MooreBellmanFord extends AbstractShortestPath
     public ShortestPath findShortestPath(Graph graph, Vertex startVertex, Vertex endVertex) throws NegativeCycleException
     {
         init(graph, startVertex);
-        calculateDistances(graph);
+        EdgeArrays edges = new EdgeArrays(graph);
+        calculateDistances(edges);
+
+        if (findRelaxableEdge(edges) != -1)
+        {
+            throw new NegativeCycleException();
+        }
+
+        return loadShortestPath(startVertex, endVertex);
+    }
+
+    /**
+     * Sucht nach einem negativen Zykel im Residualnetzwerk, es werden nur Bögen mit positiver Restkapazität betrachtet
+     *
+     * @param network Residualnetzwerk
+     * @param startVertex Index des Startknotens
+     * @param visited Markiert alle Knoten, die vom Startknoten erreicht wurden
+     * @return Bögen des negativen Zykels oder null, wenn keiner gefunden wurde
+     */
+    public int[] findNegativeCycle(ResidualNetwork network, int startVertex, boolean[] visited)
+    {
+        double[] distances = new double[network.countVertices()];
+        int[] predecessorArcs = new int[network.countVertices()];
+        int cycleVertex = calculateDistances(network, startVertex, distances, predecessorArcs);
 
-        for (Edge e : graph.getEdges())
+        for (int v = 0; v < network.countVertices(); v++)
         {
-            if (checkForCycle(e))
+            if (distances[v] < Double.POSITIVE_INFINITY)
             {
-                throw new NegativeCycleException();
+                visited[v] = true;
             }
         }
 
-        return loadShortestPath(startVertex, endVertex);
+        if (cycleVertex == -1)
+        {
+            return null;
+        }
+
+        return extractCycle(network, cycleVertex, predecessorArcs);
     }
 
-    private void calculateDistances(Graph graph)
+    /**
+     * Berechnung des kürzesten Weges im Residualnetzwerk über Bögen mit positiver Restkapazität
+     *
+     * @param network Residualnetzwerk
+     * @param startVertex Index des Startknotens
+     * @param endVertex Index des Zielknotens
+     * @throws NegativeCycleException
+     * @return Kürzester Weg oder null, wenn der Zielknoten nicht erreichbar ist
+     */
+    public CompactShortestPath findShortestPath(ResidualNetwork network, int startVertex, int endVertex) throws
+            NegativeCycleException
     {
-        int count = 0;
-        while (count < graph.countVertices() - 1)
+        double[] distances = new double[network.countVertices()];
+        int[] predecessorArcs = new int[network.countVertices()];
+        if (calculateDistances(network, startVertex, distances, predecessorArcs) != -1)
+        {
+            throw new NegativeCycleException();
+        }
+
+        if (Double.isInfinite(distances[endVertex]))
         {
-            graph.getEdges().forEach(e -> updateCost(e));
-            count++;
+            return null;
         }
+
+        int length = 0;
+        for (int v = endVertex; v != startVertex; v = network.getSource(predecessorArcs[v]))
+        {
+            length++;
+        }
+
+        int[] arcs = new int[length];
+        for (int v = endVertex; v != startVertex; v = network.getSource(predecessorArcs[v]))
+        {
+            arcs[--length] = predecessorArcs[v];
+        }
+
+        CompactShortestPath path = new CompactShortestPath();
+        path.setLength(distances[endVertex]);
+        path.setArcs(arcs);
+
+        return path;
     }
 
-    private boolean checkForCycle(Edge e)
+    /**
+     * Warteschlangenbasierte Variante (Bellman-Ford-Tarjan): nur Knoten, deren Abstand sich geändert hat, werden erneut
+     * betrachtet. Der Kürzester-Wege-Baum wird als Präordnungsliste mit Tiefen gehalten. Verbessert sich ein Knoten,
+     * wird sein Teilbaum aufgelöst, da dessen Abstände veraltet sind. Liegt der Startknoten des verbessernden Bogens im
+     * Teilbaum, ist ein negativer Zykel gefunden.
+     *
+     * @return Knoten auf einem negativen Zykel oder -1, wenn kein negativer Zykel erreichbar ist
+     */
+    private int calculateDistances(ResidualNetwork network, int startVertex, double[] distances,
+            int[] predecessorArcs)
     {
-        boolean hasCycle = false;
+        int n = network.countVertices();
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessorArcs, -1);
+        distances[startVertex] = 0.0;
 
-        Vertex source = e.getSource();
-        Vertex sink = e.getSink();
+        int[] after = new int[n];
+        int[] before = new int[n];
+        int[] depths = new int[n];
+        boolean[] inTree = new boolean[n];
+        after[startVertex] = -1;
+        before[startVertex] = -1;
+        inTree[startVertex] = true;
 
-        double newDistance = distance.get(source) + e.getCost();
-        if (newDistance < distance.get(sink))
+        int[] queue = new int[n];
+        boolean[] queued = new boolean[n];
+        int head = 0;
+        int size = 1;
+        queue[0] = startVertex;
+        queued[startVertex] = true;
+
+        while (size > 0)
         {
-            hasCycle = true;
+            int vertex = queue[head];
+            head = (head + 1) % n;
+            size--;
+            queued[vertex] = false;
+
+            if (!inTree[vertex])
+            {
+                continue;
+            }
+
+            for (int i = network.firstOutgoing(vertex); i < network.endOutgoing(vertex); i++)
+            {
+                int arc = network.getOutgoingArc(i);
+                if (network.getResidualCapacity(arc) <= 0.0)
+                {
+                    continue;
+                }
+
+                int target = network.getTarget(arc);
+                double newDistance = distances[vertex] + network.getCost(arc);
+                if (newDistance >= distances[target])
+                {
+                    continue;
+                }
+
+                distances[target] = newDistance;
+                predecessorArcs[target] = arc;
+
+                if (inTree[target])
+                {
+                    if (target == vertex || removeSubtree(target, vertex, after, before, depths, inTree))
+                    {
+                        return target;
+                    }
+                }
+
+                inTree[target] = true;
+                depths[target] = depths[vertex] + 1;
+                before[target] = vertex;
+                after[target] = after[vertex];
+                if (after[vertex] != -1)
+                {
+                    before[after[vertex]] = target;
+                }
+                after[vertex] = target;
+
+                if (!queued[target])
+                {
+                    queue[(head + size) % n] = target;
+                    size++;
+                    queued[target] = true;
+                }
+            }
         }
 
-        return hasCycle;
+        return -1;
     }
 
-    private List<Edge> loadCycle(Edge e, int countVertices)
+    /**
+     * Entfernt einen Knoten mit seinem Teilbaum aus der Präordnungsliste
+     *
+     * @return {@code true}, wenn der gesuchte Knoten im Teilbaum liegt
+     */
+    private boolean removeSubtree(int root, int searchedVertex, int[] after, int[] before, int[] depths,
+            boolean[] inTree)
     {
-        Vertex start = e.getSource();
+        int current = after[root];
+        while (current != -1 && depths[current] > depths[root])
+        {
+            if (current == searchedVertex)
+            {
+                return true;
+            }
+
+            inTree[current] = false;
+            current = after[current];
+        }
+
+        after[before[root]] = current;
+        if (current != -1)
+        {
+            before[current] = before[root];
+        }
+
+        return false;
+    }
+
+    private int[] extractCycle(ResidualNetwork network, int start, int[] predecessorArcs)
+    {
+        int length = 0;
+        int current = start;
+        do
+        {
+            current = network.getSource(predecessorArcs[current]);
+            length++;
+        }
+        while (current != start);
+
+        int[] cycle = new int[length];
+        current = start;
+        do
+        {
+            cycle[--length] = predecessorArcs[current];
+            current = network.getSource(predecessorArcs[current]);
+        }
+        while (current != start);
+
+        return cycle;
+    }
+
+    private void calculateDistances(EdgeArrays edges)
+    {
+        boolean changed = true;
+        for (int count = 0; changed && count < edges.vertexCount - 1; count++)
+        {
+            changed = false;
+            for (int e = 0; e < edges.count; e++)
+            {
+                changed |= updateCost(edges.sources[e], edges.sinks[e], edges.costs[e]);
+            }
+        }
+    }
+
+    private int findRelaxableEdge(EdgeArrays edges)
+    {
+        for (int e = 0; e < edges.count; e++)
+        {
+            if (distances[edges.sources[e]] + edges.costs[e] < distances[edges.sinks[e]])
+            {
+                return e;
+            }
+        }
+
+        return -1;
+    }
+
+    private List<Edge> loadCycle(int vertex, int countVertices)
+    {
+        int start = vertex;
         for (int i = 0; i < countVertices; i++)
         {
-            start = predecessor.get(start);
+            start = predecessors[start];
         }
 
         return extractCycle(start);
     }
 
-    private List<Edge> extractCycle(Vertex start)
+    private List<Edge> extractCycle(int start)
     {
         List<Edge> cycle = new ArrayList<>();
 
-        Vertex pred;
-        Vertex current = start;
+        int pred;
+        int current = start;
         do
         {
-            pred = predecessor.get(current);
-            cycle.add(pred.getEdgeTo(current.getKey()));
+            pred = predecessors[current];
+            cycle.add(graph.getVertexAt(pred).getEdgeTo(graph.getVertexAt(current).getKey()));
 
             if (pred == start)
             {
@@ -132,4 +349,34 @@ public class MooreBellmanFord extends AbstractShortestPath
 
         return cycle;
     }
+
+    /**
+     * Kanten des Graphen als Knotenindizes und Kosten, damit die Durchläufe ohne Map-Zugriffe auskommen
+     */
+    private class EdgeArrays
+    {
+        final int vertexCount;
+        final int count;
+        final int[] sources;
+        final int[] sinks;
+        final double[] costs;
+
+        EdgeArrays(Graph graph)
+        {
+            vertexCount = graph.countVertices();
+            count = graph.countEdges();
+            sources = new int[count];
+            sinks = new int[count];
+            costs = new double[count];
+
+            List<Edge> edges = graph.getEdges();
+            for (int e = 0; e < count; e++)
+            {
+                Edge edge = edges.get(e);
+                sources[e] = indexOf(edge.getSource());
+                sinks[e] = indexOf(edge.getSink());
+                costs[e] = edge.getCost();
+            }
+        }
+    }
 }
@@ -3,10 +3,9 @@ package de.develman.mmi.algorithm;
 import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
 import de.develman.mmi.model.Vertex;
+import de.develman.mmi.model.VisitedVertices;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Die Klasse NearestNeighbour implementiert den Nearest-Neighbour Algorithmus zur Berechnung der TSP-Tour in einem
@@ -26,13 +25,16 @@ public class NearestNeighbour
     public List<Edge> findTour(Graph graph, Vertex startVertex)
     {
         List<Edge> tour = new ArrayList<>();
+        VisitedVertices visited = new VisitedVertices(graph);
 
+        int visitedCount = 0;
         Vertex vertex = startVertex;
         do
         {
-            vertex.setVisited(true);
+            visited.visit(vertex);
+            visitedCount++;
 
-            Edge bestEdge = getBestEdge(vertex);
+            Edge bestEdge = getBestEdge(vertex, visited);
             if (bestEdge == null)
             {
                 tour.add(vertex.getEdgeTo(startVertex.getKey()));
@@ -42,25 +44,21 @@ public class NearestNeighbour
             vertex = bestEdge.getSink();
             tour.add(bestEdge);
         }
-        while (!allVerticesVisited(graph));
+        while (visitedCount < graph.countVertices());
 
         return tour;
     }
 
-    private boolean allVerticesVisited(Graph graph)
+    private Edge getBestEdge(Vertex vertex, VisitedVertices visited)
     {
-        return graph.getVertices().stream().filter(v -> !v.isVisited()).count() == 0;
-    }
-
-    private Edge getBestEdge(Vertex vertex)
-    {
-        Optional<Edge> foundEdge = vertex.getOutgoingEdges().stream().filter(e -> !e.getSink().isVisited()).sorted(
-                Comparator.comparing(Edge::getCapacity)).findFirst();
-
         Edge bestEdge = null;
-        if (foundEdge.isPresent())
+        for (int i = 0; i < vertex.countOutgoingEdges(); i++)
         {
-            bestEdge = foundEdge.get();
+            Edge e = vertex.getOutgoingEdge(i);
+            if (!visited.isVisited(e.getSink()) && (bestEdge == null || e.getCapacity() < bestEdge.getCapacity()))
+            {
+                bestEdge = e;
+            }
         }
 
         return bestEdge;
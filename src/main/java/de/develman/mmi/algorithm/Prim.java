@@ -1,24 +1,38 @@
 package de.develman.mmi.algorithm;
 
+import de.develman.mmi.algorithm.util.IndexedMinHeap;
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.CompactGraphBuilder;
 import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
 import de.develman.mmi.model.Vertex;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
- * Die Klasse Prim implementiert den Algorithmus von Prim zur Berechnung eines minimal spannenden Baumes
+ * Die Klasse Prim implementiert den Algorithmus von Prim zur Berechnung eines minimal spannenden Baumes. Je Knoten
+ * außerhalb des Baums wird nur die günstigste Kante in den Baum vorgehalten. Bei dünn besetzten Graphen liegen diese
+ * Knoten in einem {@link IndexedMinHeap} mit O(E log V), bei dichten Graphen wie vollständigen Graphen wird der
+ * nächste Knoten durch Durchsuchen eines Arrays in O(V²) bestimmt. Der gesamte Zustand ist lokal zum Aufruf.
  *
  * @author Georg Henkel <georg@develman.de>
  */
 public class Prim
 {
-    private static List<Edge> availableEdges = new ArrayList<>();
+    private Boolean dense;
 
     /**
-     * Berechung des minimal spannenden Baums nach Prim
+     * Legt fest, ob der nächste Knoten im Array gesucht oder einem Heap entnommen wird
+     *
+     * @param dense {@code true} für dichte, {@code false} für dünn besetzte Graphen, {@code null} wählt anhand der
+     * Anzahl der Kanten
+     */
+    public void setDense(Boolean dense)
+    {
+        this.dense = dense;
+    }
+
+    /**
+     * Berechung des minimal spannenden Baums nach Prim. Vom Startknoten aus nicht erreichbare Knoten sind nicht im
+     * Baum enthalten.
      *
      * @param graph Graph für den der Baum berechnet werden soll
      * @param startVertex Startknoten
@@ -26,32 +40,94 @@ public class Prim
      */
     public Graph getMinimalSpanningTree(Graph graph, Vertex startVertex)
     {
-        Vertex vertex = startVertex;
-
+        int n = graph.countVertices();
         Graph minSpanTree = new Graph(graph.isDirected());
-        while (minSpanTree.getEdges().size() < graph.getVertices().size() - 1)
-        {
-            vertex.setVisited(true);
-            updateAvailableEdgeList(vertex);
+        long arcCount = graph.isDirected() ? graph.countEdges() : 2L * graph.countEdges();
+        Frontier frontier = new Frontier(n, isDense(n, arcCount));
+        Edge[] bestEdges = new Edge[n];
 
-            Edge edge = availableEdges.remove(0);
-            addEdgeToTree(minSpanTree, edge);
+        int vertex = graph.indexOf(startVertex);
+        frontier.add(vertex);
+        while (vertex != -1)
+        {
+            Vertex current = graph.getVertexAt(vertex);
+            for (int i = 0; i < current.countOutgoingEdges(); i++)
+            {
+                Edge edge = current.getOutgoingEdge(i);
+                int sink = graph.indexOf(edge.getSink());
+                if (frontier.offer(sink, edge.getCapacity()))
+                {
+                    bestEdges[sink] = edge;
+                }
+            }
 
-            vertex = edge.getSink();
+            vertex = frontier.poll();
+            if (vertex != -1)
+            {
+                addEdgeToTree(minSpanTree, bestEdges[vertex]);
+            }
         }
 
         return minSpanTree;
     }
 
-    private void updateAvailableEdgeList(Vertex vertex)
+    /**
+     * Berechung des minimal spannenden Baums nach Prim in einem kompakten Graphen. Der Baum enthält alle Knoten des
+     * Graphen, vom Startknoten aus nicht erreichbare Knoten bleiben isoliert.
+     *
+     * @param graph Kompakter Graph für den der Baum berechnet werden soll
+     * @param startVertex Index des Startknotens
+     * @return Kompakter Graph mit den Kanten des minimal spannenden Baums
+     */
+    public CompactGraph getMinimalSpanningTree(CompactGraph graph, int startVertex)
+    {
+        int n = graph.countVertices();
+        CompactGraphBuilder minSpanTree = new CompactGraphBuilder(graph.isDirected(), n, Math.max(n - 1, 0));
+        for (int v = 0; v < n; v++)
+        {
+            minSpanTree.addVertex(graph.getKey(v), graph.getBalance(v));
+        }
+
+        Frontier frontier = new Frontier(n, isDense(n, graph.countArcs()));
+        int[] bestSource = new int[n];
+
+        int vertex = startVertex;
+        frontier.add(vertex);
+        while (vertex != -1)
+        {
+            for (int arc = graph.firstArc(vertex); arc < graph.endArc(vertex); arc++)
+            {
+                int sink = graph.getTarget(arc);
+                if (frontier.offer(sink, graph.getCapacity(arc)))
+                {
+                    bestSource[sink] = vertex;
+                }
+            }
+
+            vertex = frontier.poll();
+            if (vertex != -1)
+            {
+                double capacity = frontier.getCapacity(vertex);
+                minSpanTree.addEdge(bestSource[vertex], vertex, capacity, capacity);
+            }
+        }
+
+        return minSpanTree.build();
+    }
+
+    /**
+     * Ein Graph gilt als dicht, wenn das Durchsuchen aller Knoten je Schritt günstiger ist als ein Heap-Zugriff je
+     * Bogen, also bei E log V ≥ V²
+     */
+    private boolean isDense(int n, long arcCount)
     {
-        vertex.getOutgoingEdges().stream().filter(e -> !e.getSink().isVisited()).forEach(e ->
+        if (dense != null)
         {
-            availableEdges.add(e);
-        });
+            return dense;
+        }
 
-        availableEdges = availableEdges.stream().filter(e -> !e.getSink().isVisited()).sorted(Comparator.comparing(
-                Edge::getCapacity)).collect(Collectors.toList());
+        int log = 32 - Integer.numberOfLeadingZeros(Math.max(n, 1));
+        return arcCount * log >= (long) n * n;
     }
 
     private void addEdgeToTree(Graph minSpanTree, Edge edge)
@@ -73,4 +149,86 @@ public class Prim
         Edge newEdge = new Edge(source, sink, edge.getCapacity());
         minSpanTree.addEdge(newEdge);
     }
+
+    /**
+     * Knoten außerhalb des Baums mit der Kapazität ihrer günstigsten Kante in den Baum
+     */
+    private static class Frontier
+    {
+        private final boolean[] inTree;
+        private final boolean[] reached;
+        private final double[] bestCapacity;
+        // Bei dichten Graphen null, der nächste Knoten wird dann im Array gesucht
+        private final IndexedMinHeap heap;
+
+        Frontier(int n, boolean dense)
+        {
+            inTree = new boolean[n];
+            reached = new boolean[n];
+            bestCapacity = new double[n];
+            heap = dense ? null : new IndexedMinHeap(n);
+        }
+
+        void add(int vertex)
+        {
+            inTree[vertex] = true;
+        }
+
+        double getCapacity(int vertex)
+        {
+            return bestCapacity[vertex];
+        }
+
+        /**
+         * @return {@code true}, wenn der Knoten außerhalb des Baums liegt und über die Kapazität günstiger als bisher
+         * erreicht wird
+         */
+        boolean offer(int vertex, double capacity)
+        {
+            if (inTree[vertex] || reached[vertex] && !(capacity < bestCapacity[vertex]))
+            {
+                return false;
+            }
+
+            reached[vertex] = true;
+            bestCapacity[vertex] = capacity;
+            if (heap != null)
+            {
+                heap.insertOrDecrease(vertex, capacity);
+            }
+
+            return true;
+        }
+
+        /**
+         * Nimmt den günstigsten erreichten Knoten in den Baum auf
+         *
+         * @return Index des Knotens oder -1, wenn kein Knoten mehr erreicht wird
+         */
+        int poll()
+        {
+            int vertex = -1;
+            if (heap != null)
+            {
+                vertex = heap.isEmpty() ? -1 : heap.poll();
+            }
+            else
+            {
+                for (int v = 0; v < inTree.length; v++)
+                {
+                    if (!inTree[v] && reached[v] && (vertex == -1 || bestCapacity[v] < bestCapacity[vertex]))
+                    {
+                        vertex = v;
+                    }
+                }
+            }
+
+            if (vertex != -1)
+            {
+                inTree[vertex] = true;
+            }
+
+            return vertex;
+        }
+    }
 }
@@ -0,0 +1,274 @@
+package de.develman.mmi.algorithm;
+
+import de.develman.mmi.model.ResidualNetwork;
+import java.util.Arrays;
+
+/**
+ * Die Klasse PushRelabel implementiert den Push-Relabel Algorithmus von Goldberg und Tarjan zur Berechnung des
+ * maximalen Flusses. Aktive Knoten werden nach höchster Markierung abgearbeitet, zusätzlich werden die Gap- und die
+ * globale Relabel-Heuristik verwendet. Überschüsse, die die Senke nicht erreichen, fließen zur Quelle zurück, so dass
+ * das Netzwerk am Ende einen gültigen Fluss enthält.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class PushRelabel implements MaxFlow
+{
+    private ResidualNetwork network;
+    private int vertexCount;
+    private int startVertex;
+    private int endVertex;
+
+    private int[] heights;
+    private double[] excesses;
+    private int[] currentArcs;
+    private int[] heightCounts;
+    private int[] activeBuckets;
+    private int[] nextActive;
+    private int highestActive;
+    private int[] queue;
+
+    @Override
+    public double calculateMaxFlow(ResidualNetwork network, int startVertex, int endVertex)
+    {
+        if (startVertex == endVertex)
+        {
+            return 0.0;
+        }
+
+        init(network, startVertex, endVertex);
+
+        int relabelCount = 0;
+        int vertex;
+        while ((vertex = pollActiveVertex()) != -1)
+        {
+            if (discharge(vertex))
+            {
+                relabelCount++;
+            }
+
+            if (relabelCount >= vertexCount)
+            {
+                globalRelabel();
+                relabelCount = 0;
+            }
+        }
+
+        double maxFlow = excesses[endVertex];
+        this.network = null;
+
+        return maxFlow;
+    }
+
+    private void init(ResidualNetwork network, int startVertex, int endVertex)
+    {
+        this.network = network;
+        this.vertexCount = network.countVertices();
+        this.startVertex = startVertex;
+        this.endVertex = endVertex;
+
+        heights = new int[vertexCount];
+        excesses = new double[vertexCount];
+        currentArcs = new int[vertexCount];
+        heightCounts = new int[2 * vertexCount + 1];
+        activeBuckets = new int[2 * vertexCount + 1];
+        nextActive = new int[vertexCount];
+        queue = new int[vertexCount];
+
+        for (int i = network.firstOutgoing(startVertex); i < network.endOutgoing(startVertex); i++)
+        {
+            int arc = network.getOutgoingArc(i);
+            double capacity = network.getResidualCapacity(arc);
+            if (capacity > 0.0)
+            {
+                network.augment(arc, capacity);
+                excesses[startVertex] -= capacity;
+                excesses[network.getTarget(arc)] += capacity;
+            }
+        }
+
+        globalRelabel();
+    }
+
+    /**
+     * Berechnet alle Markierungen als Abstand zur Senke im Residualgraphen neu. Knoten, die die Senke nicht mehr
+     * erreichen, erhalten den Abstand zur Quelle plus Anzahl der Knoten.
+     */
+    private void globalRelabel()
+    {
+        Arrays.fill(heights, 2 * vertexCount);
+        Arrays.fill(heightCounts, 0);
+        Arrays.fill(activeBuckets, -1);
+        highestActive = 0;
+
+        heights[endVertex] = 0;
+        reverseBreadthSearch(endVertex);
+        heights[startVertex] = vertexCount;
+        reverseBreadthSearch(startVertex);
+
+        for (int v = 0; v < vertexCount; v++)
+        {
+            currentArcs[v] = network.firstOutgoing(v);
+            if (heights[v] < 2 * vertexCount)
+            {
+                heightCounts[heights[v]]++;
+            }
+            if (isActive(v))
+            {
+                addActiveVertex(v);
+            }
+        }
+    }
+
+    private void reverseBreadthSearch(int root)
+    {
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = root;
+
+        while (head < tail)
+        {
+            int vertex = queue[head++];
+            for (int i = network.firstOutgoing(vertex); i < network.endOutgoing(vertex); i++)
+            {
+                int arc = network.getOutgoingArc(i);
+                int neighbour = network.getTarget(arc);
+                if (heights[neighbour] == 2 * vertexCount && network.getResidualCapacity(network.getReverseArc(arc))
+                        > 0.0)
+                {
+                    heights[neighbour] = heights[vertex] + 1;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+
+    /**
+     * Schiebt den Überschuss eines Knotens zu seinen Nachbarn und markiert ihn bei Bedarf neu
+     *
+     * @return {@code true}, wenn der Knoten neu markiert wurde
+     */
+    private boolean discharge(int vertex)
+    {
+        int end = network.endOutgoing(vertex);
+        while (currentArcs[vertex] < end)
+        {
+            int arc = network.getOutgoingArc(currentArcs[vertex]);
+            int target = network.getTarget(arc);
+            double residual = network.getResidualCapacity(arc);
+            if (residual > 0.0 && heights[vertex] == heights[target] + 1)
+            {
+                double delta = Math.min(excesses[vertex], residual);
+                boolean wasActive = isActive(target);
+
+                network.augment(arc, delta);
+                excesses[vertex] -= delta;
+                excesses[target] += delta;
+
+                if (!wasActive && isActive(target))
+                {
+                    addActiveVertex(target);
+                }
+                if (excesses[vertex] <= 0.0)
+                {
+                    return false;
+                }
+            }
+
+            currentArcs[vertex]++;
+        }
+
+        relabel(vertex);
+        return true;
+    }
+
+    private void relabel(int vertex)
+    {
+        int oldHeight = heights[vertex];
+
+        int minHeight = 2 * vertexCount - 1;
+        for (int i = network.firstOutgoing(vertex); i < network.endOutgoing(vertex); i++)
+        {
+            int arc = network.getOutgoingArc(i);
+            if (network.getResidualCapacity(arc) > 0.0)
+            {
+                minHeight = Math.min(minHeight, heights[network.getTarget(arc)]);
+            }
+        }
+
+        heights[vertex] = minHeight + 1;
+        currentArcs[vertex] = network.firstOutgoing(vertex);
+
+        heightCounts[oldHeight]--;
+        heightCounts[heights[vertex]]++;
+
+        if (isActive(vertex))
+        {
+            addActiveVertex(vertex);
+        }
+
+        if (oldHeight < vertexCount && heightCounts[oldHeight] == 0)
+        {
+            closeGap(oldHeight);
+        }
+    }
+
+    /**
+     * Knoten oberhalb einer leeren Markierung können die Senke nicht mehr erreichen und werden direkt über die
+     * Quelle gehoben
+     */
+    private void closeGap(int gap)
+    {
+        for (int height = gap + 1; height < vertexCount; height++)
+        {
+            activeBuckets[height] = -1;
+        }
+
+        for (int v = 0; v < vertexCount; v++)
+        {
+            if (heights[v] > gap && heights[v] < vertexCount)
+            {
+                heightCounts[heights[v]]--;
+                heights[v] = vertexCount + 1;
+                heightCounts[heights[v]]++;
+                currentArcs[v] = network.firstOutgoing(v);
+
+                if (isActive(v))
+                {
+                    addActiveVertex(v);
+                }
+            }
+        }
+    }
+
+    private boolean isActive(int vertex)
+    {
+        return vertex != startVertex && vertex != endVertex && excesses[vertex] > 0.0 && heights[vertex] < 2
+                * vertexCount;
+    }
+
+    private void addActiveVertex(int vertex)
+    {
+        int height = heights[vertex];
+        nextActive[vertex] = activeBuckets[height];
+        activeBuckets[height] = vertex;
+        highestActive = Math.max(highestActive, height);
+    }
+
+    private int pollActiveVertex()
+    {
+        while (highestActive >= 0)
+        {
+            int vertex = activeBuckets[highestActive];
+            if (vertex == -1)
+            {
+                highestActive--;
+                continue;
+            }
+
+            activeBuckets[highestActive] = nextActive[vertex];
+            return vertex;
+        }
+
+        return -1;
+    }
+}
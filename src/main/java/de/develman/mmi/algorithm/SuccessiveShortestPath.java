@@ -2,11 +2,9 @@ package de.develman.mmi.algorithm;
 
 import de.develman.mmi.exception.MinimalCostFlowException;
 import de.develman.mmi.exception.NegativeCycleException;
-import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
-import de.develman.mmi.model.Vertex;
-import de.develman.mmi.model.algorithm.ShortestPath;
-import java.util.*;
+import de.develman.mmi.model.ResidualNetwork;
+import de.develman.mmi.model.algorithm.CompactShortestPath;
 import javax.inject.Inject;
 
 /**
@@ -22,7 +20,7 @@ public class SuccessiveShortestPath extends AbstractMinimumCostFlow
     @Inject
     BreadthFirstSearch breadthFirstSearch;
 
-    private Map<Vertex, Double> relevantBalances;
+    private double[] relevantBalances;
 
     /**
      * Berechnung des kostenminimalen Flusses
@@ -39,103 +37,84 @@ public class SuccessiveShortestPath extends AbstractMinimumCostFlow
             throw new MinimalCostFlowException("Balancen sind nicht ausgeglichen");
         }
 
-        Graph residualGraph = graph.copy();
-        initRelevantBalances(residualGraph);
-        updateCapacities(residualGraph);
+        ResidualNetwork network = ResidualNetwork.of(graph);
+        relevantBalances = new double[network.countVertices()];
+        updateCapacities(network);
 
         while (true)
         {
-            residualGraph.unvisitAllVertices();
-
-            Vertex source = findSource(residualGraph);
-            if (source == null)
+            int source = findSource(network);
+            if (source == -1)
             {
                 break;
             }
 
-            Vertex sink = findSink(source);
-            if (sink == null)
+            int sink = findSink(network, source);
+            if (sink == -1)
             {
                 throw new MinimalCostFlowException("Das Netzwerk ist zu klein");
             }
 
-            ShortestPath path = mooreBellmanFord.findShortestPath(residualGraph, source, sink);
-            double minCapacity = path.getEdges().stream().mapToDouble(Edge::getCapacity).min().getAsDouble();
-            double minSourceBalance = source.getBalance() - relevantBalances.get(source);
-            double minSinkBalance = relevantBalances.get(sink) - sink.getBalance();
+            CompactShortestPath path = mooreBellmanFord.findShortestPath(network, source, sink);
+            double minCapacity = findMinimalCapacity(network, path.getArcs());
+            double minSourceBalance = network.getBalance(source) - relevantBalances[source];
+            double minSinkBalance = relevantBalances[sink] - network.getBalance(sink);
 
             double gamma = calculateGamma(minCapacity, minSourceBalance, minSinkBalance);
 
-            addBalance(source, gamma);
-            addBalance(sink, gamma * -1);
+            relevantBalances[source] += gamma;
+            relevantBalances[sink] -= gamma;
 
-            path.getEdges().forEach(e -> updateResidualEdge(residualGraph, e, gamma));
+            updateResidualArcs(network, path.getArcs(), gamma);
         }
 
-        return calculateMinimalCostFlow(graph, residualGraph);
+        return network.calculateCost();
     }
 
-    private Vertex findSource(Graph graph)
+    private int findSource(ResidualNetwork network)
     {
-        for (Vertex v : graph.getVertices())
+        for (int v = 0; v < network.countVertices(); v++)
         {
-            if (v.getBalance() - relevantBalances.get(v) > 0.0)
+            if (network.getBalance(v) - relevantBalances[v] > 0.0)
             {
                 return v;
             }
         }
 
-        return null;
+        return -1;
     }
 
-    private Vertex findSink(Vertex source)
+    private int findSink(ResidualNetwork network, int source)
     {
-        List<Vertex> vertices = breadthFirstSearch.getAccessibleVertices(source);
-        for (Vertex v : vertices)
+        int[] vertices = breadthFirstSearch.getAccessibleVertices(network, source);
+        for (int v : vertices)
         {
             if (v == source)
             {
                 continue;
             }
 
-            if (v.getBalance() - relevantBalances.get(v) < 0.0)
+            if (network.getBalance(v) - relevantBalances[v] < 0.0)
             {
                 return v;
             }
         }
 
-        return null;
+        return -1;
     }
 
-    private void updateCapacities(Graph graph)
+    private void updateCapacities(ResidualNetwork network)
     {
-        List<Edge> edges = new ArrayList<>(graph.getEdges());
-        edges.forEach(e ->
+        for (int arc = 0; arc < network.countArcs(); arc += 2)
         {
-            if (e.getCost() < 0.0)
+            double capacity = network.getResidualCapacity(arc);
+            if (network.getCost(arc) < 0.0)
             {
-                updateResidualEdge(graph, e, e.getCapacity());
-                updateBalances(e, e.getCapacity());
+                network.augment(arc, capacity);
+                relevantBalances[network.getSource(arc)] += capacity;
+                relevantBalances[network.getTarget(arc)] -= capacity;
             }
-        });
-    }
-
-    private void updateBalances(Edge edge, double capacity)
-    {
-        addBalance(edge.getSource(), capacity);
-        addBalance(edge.getSink(), capacity * -1);
-    }
-
-    private void addBalance(Vertex vertex, double balance)
-    {
-        double oldBalance = relevantBalances.get(vertex);
-        relevantBalances.put(vertex, oldBalance + balance);
-    }
-
-    private void initRelevantBalances(Graph graph)
-    {
-        relevantBalances = new HashMap<>();
-        graph.getVertices().forEach(v -> relevantBalances.put(v, 0.0));
+        }
     }
 
     private double calculateGamma(double a, double b, double c)
@@ -3,6 +3,7 @@ package de.develman.mmi.algorithm;
 import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
 import de.develman.mmi.model.Vertex;
+import de.develman.mmi.model.VisitedVertices;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,6 +17,7 @@ public class TryAllTours
 {
     private int vertexCount;
     private Vertex startVertex;
+    protected VisitedVertices visitedVertices;
 
     protected double tourCost;
     protected Double tspCost;
@@ -33,6 +35,7 @@ public class TryAllTours
         this.vertexCount = graph.countVertices();
         this.startVertex = startVertex;
         this.tspCost = Double.POSITIVE_INFINITY;
+        this.visitedVertices = new VisitedVertices(graph);
 
         findOptimalTour(startVertex, new ArrayList<>());
         return tspTour;
@@ -40,14 +43,15 @@ public class TryAllTours
 
     protected boolean nodeVisited(Vertex vertex, List<Edge> currentEdges)
     {
-        return vertex.isVisited();
+        return visitedVertices.isVisited(vertex);
     }
 
     private void findOptimalTour(Vertex vertex, List<Edge> currentEdges)
     {
-        vertex.setVisited(true);
-        vertex.getOutgoingEdges().forEach(e ->
+        visitedVertices.visit(vertex);
+        for (int i = 0; i < vertex.countOutgoingEdges(); i++)
         {
+            Edge e = vertex.getOutgoingEdge(i);
             Vertex sink = e.getSink();
 
             currentEdges.add(e);
@@ -64,9 +68,9 @@ public class TryAllTours
             }
 
             removeLastEdge(currentEdges);
-        });
+        }
 
-        vertex.setVisited(false);
+        visitedVertices.unvisit(vertex);
     }
 
     private void removeLastEdge(List<Edge> edges)
@@ -0,0 +1,193 @@
+package de.develman.mmi.algorithm.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Die Klasse IndexedMinHeap implementiert einen binären Min-Heap über dichten Indizes 0..n-1 mit
+ * {@code double}-Schlüsseln. Jeder Index ist höchstens einmal enthalten, sein Schlüssel kann in O(log n) verringert
+ * werden (decrease-key).
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class IndexedMinHeap
+{
+    private final int[] heap;
+    private final int[] position;
+    private final double[] keys;
+    private int size;
+
+    /**
+     * Erstellt einen leeren Heap
+     *
+     * @param capacity Anzahl der möglichen Indizes
+     */
+    public IndexedMinHeap(int capacity)
+    {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new double[capacity];
+
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * @return {@code true}, wenn der Heap leer ist, sonst {@code false}
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * @return Anzahl der enthaltenen Indizes
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Prüft, ob ein Index im Heap enthalten ist
+     *
+     * @param index Index
+     * @return {@code true}, wenn der Index enthalten ist, sonst {@code false}
+     */
+    public boolean contains(int index)
+    {
+        return position[index] != -1;
+    }
+
+    /**
+     * Liefert den Schlüssel eines enthaltenen Index
+     *
+     * @param index Index
+     * @return Schlüssel des Index
+     */
+    public double getKey(int index)
+    {
+        return keys[index];
+    }
+
+    /**
+     * Fügt einen Index ein oder verringert seinen Schlüssel, wenn er bereits enthalten ist. Ein größerer Schlüssel für
+     * einen enthaltenen Index wird ignoriert.
+     *
+     * @param index Index
+     * @param key Schlüssel
+     */
+    public void insertOrDecrease(int index, double key)
+    {
+        if (contains(index))
+        {
+            if (key < keys[index])
+            {
+                keys[index] = key;
+                siftUp(position[index]);
+            }
+        }
+        else
+        {
+            keys[index] = key;
+            heap[size] = index;
+            position[index] = size;
+            siftUp(size++);
+        }
+    }
+
+    /**
+     * @return Index mit dem kleinsten Schlüssel, ohne ihn zu entfernen
+     */
+    public int peek()
+    {
+        if (size == 0)
+        {
+            throw new NoSuchElementException();
+        }
+
+        return heap[0];
+    }
+
+    /**
+     * Entfernt den Index mit dem kleinsten Schlüssel
+     *
+     * @return Index mit dem kleinsten Schlüssel
+     */
+    public int poll()
+    {
+        int min = peek();
+
+        size--;
+        position[min] = -1;
+        if (size > 0)
+        {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+
+        return min;
+    }
+
+    /**
+     * Leert den Heap in O(Anzahl enthaltener Indizes)
+     */
+    public void clear()
+    {
+        for (int i = 0; i < size; i++)
+        {
+            position[heap[i]] = -1;
+        }
+
+        size = 0;
+    }
+
+    private void siftUp(int pos)
+    {
+        int index = heap[pos];
+        double key = keys[index];
+
+        while (pos > 0)
+        {
+            int parent = (pos - 1) >>> 1;
+            if (keys[heap[parent]] <= key)
+            {
+                break;
+            }
+
+            heap[pos] = heap[parent];
+            position[heap[pos]] = pos;
+            pos = parent;
+        }
+
+        heap[pos] = index;
+        position[index] = pos;
+    }
+
+    private void siftDown(int pos)
+    {
+        int index = heap[pos];
+        double key = keys[index];
+
+        int child;
+        while ((child = 2 * pos + 1) < size)
+        {
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]])
+            {
+                child++;
+            }
+
+            if (key <= keys[heap[child]])
+            {
+                break;
+            }
+
+            heap[pos] = heap[child];
+            position[heap[pos]] = pos;
+            pos = child;
+        }
+
+        heap[pos] = index;
+        position[index] = pos;
+    }
+}
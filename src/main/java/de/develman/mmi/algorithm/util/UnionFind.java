@@ -0,0 +1,91 @@
+package de.develman.mmi.algorithm.util;
+
+/**
+ * Die Klasse UnionFind implementiert eine Partition der dichten Indizes 0..n-1 in disjunkte Mengen. Mit Pfadhalbierung
+ * und Vereinigung nach Rang benötigen {@link #find(int)} und {@link #union(int, int)} amortisiert nahezu konstante
+ * Zeit.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class UnionFind
+{
+    private final int[] parent;
+    private final byte[] rank;
+    private int count;
+
+    /**
+     * Erstellt eine Partition, in der jeder Index eine eigene Menge bildet
+     *
+     * @param size Anzahl der Indizes
+     */
+    public UnionFind(int size)
+    {
+        parent = new int[size];
+        rank = new byte[size];
+        count = size;
+
+        for (int i = 0; i < size; i++)
+        {
+            parent[i] = i;
+        }
+    }
+
+    /**
+     * @return Anzahl der disjunkten Mengen
+     */
+    public int count()
+    {
+        return count;
+    }
+
+    /**
+     * Liefert den Repräsentanten der Menge eines Index
+     *
+     * @param index Index
+     * @return Repräsentant der Menge
+     */
+    public int find(int index)
+    {
+        while (parent[index] != index)
+        {
+            parent[index] = parent[parent[index]];
+            index = parent[index];
+        }
+
+        return index;
+    }
+
+    /**
+     * Vereinigt die Mengen zweier Indizes
+     *
+     * @param first Erster Index
+     * @param second Zweiter Index
+     * @return {@code true}, wenn die Indizes vorher in verschiedenen Mengen lagen, sonst {@code false}
+     */
+    public boolean union(int first, int second)
+    {
+        int firstRoot = find(first);
+        int secondRoot = find(second);
+        if (firstRoot == secondRoot)
+        {
+            return false;
+        }
+
+        if (rank[firstRoot] < rank[secondRoot])
+        {
+            parent[firstRoot] = secondRoot;
+        }
+        else if (rank[firstRoot] > rank[secondRoot])
+        {
+            parent[secondRoot] = firstRoot;
+        }
+        else
+        {
+            parent[secondRoot] = firstRoot;
+            rank[firstRoot]++;
+        }
+
+        count--;
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package de.develman.mmi.export;
+
+import de.develman.mmi.model.Graph;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public abstract class AbstractExporter implements Exporter
+{
+    private final Graph graph;
+
+    public AbstractExporter(Graph graph)
+    {
+        this.graph = graph;
+    }
+
+    protected Graph getGraph()
+    {
+        return graph;
+    }
+
+    @Override
+    public void export(Writer writer) throws IOException
+    {
+        export(new AsciiOutput(writer));
+    }
+
+    @Override
+    public void export(WritableByteChannel channel) throws IOException
+    {
+        export(new AsciiOutput(channel));
+    }
+
+    private void export(AsciiOutput output) throws IOException
+    {
+        write(output);
+        output.flush();
+    }
+
+    abstract void write(AsciiOutput output) throws IOException;
+}
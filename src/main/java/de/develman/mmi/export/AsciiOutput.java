@@ -0,0 +1,215 @@
+package de.develman.mmi.export;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Die Klasse AsciiOutput sammelt die Ausgabe der Exporter in einem wiederverwendeten Puffer und schreibt ihn blockweise
+ * in einen Kanal oder Writer. Zahlen werden direkt in den Puffer kodiert, ohne je Wert einen String anzulegen.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+final class AsciiOutput implements Flushable
+{
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Längste Kodierung einer Zahl, "-9223372036854775808" bzw. eine Dezimalzahl mit 15 Stellen
+    private static final int MAX_NUMBER_LENGTH = 24;
+    // Anzahl Nachkommastellen, bis zu der Dezimalzahlen ohne Double.toString kodiert werden
+    private static final int MAX_FRACTION_DIGITS = 8;
+    private static final long[] POWERS_OF_TEN =
+    {
+        1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L
+    };
+
+    private final WritableByteChannel channel;
+    private final Writer writer;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+    private char[] chars;
+    private int length;
+
+    AsciiOutput(WritableByteChannel channel)
+    {
+        this.channel = channel;
+        this.writer = null;
+    }
+
+    AsciiOutput(Writer writer)
+    {
+        this.channel = null;
+        this.writer = writer;
+        this.chars = new char[BUFFER_SIZE];
+    }
+
+    AsciiOutput append(char c) throws IOException
+    {
+        if (length == BUFFER_SIZE)
+        {
+            flushBuffer();
+        }
+
+        buffer[length++] = (byte) c;
+        return this;
+    }
+
+    /**
+     * @param text Text, der nur aus ASCII-Zeichen besteht
+     */
+    AsciiOutput append(String text) throws IOException
+    {
+        for (int i = 0; i < text.length(); i++)
+        {
+            append(text.charAt(i));
+        }
+
+        return this;
+    }
+
+    AsciiOutput append(int value) throws IOException
+    {
+        return append((long) value);
+    }
+
+    AsciiOutput append(long value) throws IOException
+    {
+        if (value == Long.MIN_VALUE)
+        {
+            return append(Long.toString(value));
+        }
+
+        ensureCapacity(MAX_NUMBER_LENGTH);
+        if (value < 0)
+        {
+            buffer[length++] = '-';
+            value = -value;
+        }
+
+        appendDigits(value, 1);
+        return this;
+    }
+
+    /**
+     * Kodiert eine Zahl genau wie {@link Double#toString(double)}. Ganze Zahlen und Dezimalzahlen mit höchstens acht
+     * Nachkommastellen im Bereich, den Double.toString ohne Exponent schreibt, werden direkt kodiert, alle anderen über
+     * Double.toString.
+     */
+    AsciiOutput append(double value) throws IOException
+    {
+        double abs = Math.abs(value);
+        if (abs == 0.0)
+        {
+            return append(Double.doubleToRawLongBits(value) < 0 ? "-0.0" : "0.0");
+        }
+        if (abs >= 1e-3 && abs < 1e7)
+        {
+            for (int digits = 0; digits <= MAX_FRACTION_DIGITS; digits++)
+            {
+                double scaled = Math.rint(abs * POWERS_OF_TEN[digits]);
+                if (scaled / POWERS_OF_TEN[digits] == abs)
+                {
+                    appendDecimal(value < 0, (long) scaled, digits);
+                    return this;
+                }
+            }
+        }
+
+        return append(Double.toString(value));
+    }
+
+    /**
+     * Kodiert ganze Zahlen ohne Nachkommastellen, wie es ganzzahlige Formate wie DIMACS und METIS erwarten, alle
+     * anderen Zahlen wie {@link #append(double)}
+     */
+    AsciiOutput appendCompact(double value) throws IOException
+    {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15)
+        {
+            return append((long) value);
+        }
+
+        return append(value);
+    }
+
+    @Override
+    public void flush() throws IOException
+    {
+        flushBuffer();
+        if (writer != null)
+        {
+            writer.flush();
+        }
+    }
+
+    private void appendDecimal(boolean negative, long scaled, int digits) throws IOException
+    {
+        ensureCapacity(MAX_NUMBER_LENGTH);
+        if (negative)
+        {
+            buffer[length++] = '-';
+        }
+
+        appendDigits(scaled / POWERS_OF_TEN[digits], 1);
+        buffer[length++] = '.';
+        if (digits == 0)
+        {
+            buffer[length++] = '0';
+        }
+        else
+        {
+            appendDigits(scaled % POWERS_OF_TEN[digits], digits);
+        }
+    }
+
+    /**
+     * Schreibt eine nicht negative Zahl mit mindestens {@code minDigits} Stellen, links mit Nullen aufgefüllt
+     */
+    private void appendDigits(long value, int minDigits)
+    {
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10)
+        {
+            digits++;
+        }
+        digits = Math.max(digits, minDigits);
+
+        for (int i = length + digits - 1; i >= length; i--)
+        {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException
+    {
+        if (BUFFER_SIZE - length < bytes)
+        {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException
+    {
+        if (channel != null)
+        {
+            byteBuffer.clear().limit(length);
+            while (byteBuffer.hasRemaining())
+            {
+                channel.write(byteBuffer);
+            }
+        }
+        else
+        {
+            for (int i = 0; i < length; i++)
+            {
+                chars[i] = (char) buffer[i];
+            }
+            writer.write(chars, 0, length);
+        }
+
+        length = 0;
+    }
+}
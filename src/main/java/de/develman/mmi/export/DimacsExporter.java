@@ -0,0 +1,99 @@
+package de.develman.mmi.export;
+
+import de.develman.mmi.model.Edge;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.Vertex;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Der DimacsExporter schreibt einen Graphen im DIMACS-Format für Flussprobleme. Ohne Quelle und Senke entsteht ein
+ * Min-Cost-Flow-Problem ({@code p min}) mit den Balancen ungleich Null als Knotenzeilen und Kanten
+ * {@code a u v 0 Kapazität Kosten}, mit Quelle und Senke ein Max-Flow-Problem ({@code p max}) mit Kanten
+ * {@code a u v Kapazität}. Knoten werden über ihren Index ab 1 geschrieben, ganzzahlige Werte ohne Nachkommastellen.
+ * Fehlende Kosten werden als 0 geschrieben, für Kanten ohne Kapazität wird eine {@link IllegalArgumentException}
+ * geworfen, da DIMACS keine fehlenden Werte kennt.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class DimacsExporter extends AbstractExporter
+{
+    private final Vertex source;
+    private final Vertex sink;
+
+    /**
+     * Exporter für ein Min-Cost-Flow-Problem
+     *
+     * @param graph Graph
+     */
+    public DimacsExporter(Graph graph)
+    {
+        this(graph, null, null);
+    }
+
+    /**
+     * Exporter für ein Max-Flow-Problem
+     *
+     * @param graph Graph
+     * @param source Quelle
+     * @param sink Senke
+     */
+    public DimacsExporter(Graph graph, Vertex source, Vertex sink)
+    {
+        super(graph);
+        this.source = source;
+        this.sink = sink;
+    }
+
+    @Override
+    void write(AsciiOutput output) throws IOException
+    {
+        Graph graph = getGraph();
+        boolean maxFlow = source != null;
+
+        output.append(maxFlow ? "p max " : "p min ").append(graph.countVertices()).append(' ').append(graph.
+                countEdges()).append('\n');
+        if (maxFlow)
+        {
+            output.append("n ").append(graph.indexOf(source) + 1).append(" s\n");
+            output.append("n ").append(graph.indexOf(sink) + 1).append(" t\n");
+        }
+        else
+        {
+            for (int v = 0; v < graph.countVertices(); v++)
+            {
+                double balance = graph.getVertexAt(v).getBalance();
+                if (balance != 0.0 && !Double.isNaN(balance))
+                {
+                    output.append("n ").append(v + 1).append(' ').appendCompact(balance).append('\n');
+                }
+            }
+        }
+
+        List<Edge> edges = graph.getEdges();
+        for (int i = 0; i < edges.size(); i++)
+        {
+            if (Double.isNaN(edges.get(i).getCapacity()))
+            {
+                throw new IllegalArgumentException("Kante " + edges.get(i) + " hat keine Kapazität");
+            }
+        }
+
+        for (int i = 0; i < edges.size(); i++)
+        {
+            Edge edge = edges.get(i);
+            output.append("a ").append(graph.indexOf(edge.getSource()) + 1).append(' ').append(graph.indexOf(edge.
+                    getSink()) + 1);
+            if (maxFlow)
+            {
+                output.append(' ').appendCompact(edge.getCapacity());
+            }
+            else
+            {
+                double cost = Double.isNaN(edge.getCost()) ? 0.0 : edge.getCost();
+                output.append(" 0 ").appendCompact(edge.getCapacity()).append(' ').appendCompact(cost);
+            }
+            output.append('\n');
+        }
+    }
+}
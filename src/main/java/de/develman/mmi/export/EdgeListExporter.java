@@ -0,0 +1,76 @@
+package de.develman.mmi.export;
+
+import de.develman.mmi.model.Edge;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.Vertex;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Der EdgeListExporter schreibt einen Graphen als Kantenliste, wie sie der
+ * {@link de.develman.mmi.parser.impl.EdgeListLoader} liest. Knoten werden über ihren Index geschrieben. Die
+ * Gruppengröße wird geschrieben, wenn sie gesetzt ist, die Balancen, wenn mindestens ein Knoten eine Balance hat. Beim
+ * Lesen sind die entsprechenden Modi anzugeben.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class EdgeListExporter extends AbstractExporter
+{
+    public EdgeListExporter(Graph graph)
+    {
+        super(graph);
+    }
+
+    @Override
+    void write(AsciiOutput output) throws IOException
+    {
+        Graph graph = getGraph();
+        int n = graph.countVertices();
+
+        output.append(n).append('\n');
+        if (graph.getGroupedVerticeCount() > 0)
+        {
+            output.append(graph.getGroupedVerticeCount()).append('\n');
+        }
+        if (hasBalances(graph))
+        {
+            for (int v = 0; v < n; v++)
+            {
+                output.append(graph.getVertexAt(v).getBalance()).append('\n');
+            }
+        }
+
+        List<Edge> edges = graph.getEdges();
+        for (int i = 0; i < edges.size(); i++)
+        {
+            Edge edge = edges.get(i);
+            output.append(graph.indexOf(edge.getSource())).append('\t').append(graph.indexOf(edge.getSink()));
+
+            // Ohne Kapazität übernimmt der Loader die Kosten als Kapazität
+            double cost = edge.getCost();
+            double capacity = edge.getCapacity();
+            if (Double.compare(cost, capacity) != 0)
+            {
+                output.append('\t').append(cost).append('\t').append(capacity);
+            }
+            else if (!Double.isNaN(cost))
+            {
+                output.append('\t').append(cost);
+            }
+            output.append('\n');
+        }
+    }
+
+    private boolean hasBalances(Graph graph)
+    {
+        for (Vertex vertex : graph.getVertices())
+        {
+            if (!vertex.getBalance().isNaN())
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
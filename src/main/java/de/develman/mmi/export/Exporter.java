@@ -0,0 +1,30 @@
+package de.develman.mmi.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Ein Exporter schreibt einen Graphen fortlaufend in einem Textformat, ohne die Ausgabe vollständig im Speicher
+ * aufzubauen
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public interface Exporter
+{
+    /**
+     * Schreibt den Graphen in einen Writer, der Writer wird nicht geschlossen
+     *
+     * @param writer Writer
+     * @throws IOException
+     */
+    void export(Writer writer) throws IOException;
+
+    /**
+     * Schreibt den Graphen als UTF-8 in einen Kanal, der Kanal wird nicht geschlossen
+     *
+     * @param channel Kanal
+     * @throws IOException
+     */
+    void export(WritableByteChannel channel) throws IOException;
+}
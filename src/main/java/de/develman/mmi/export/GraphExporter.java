@@ -1,75 +1,98 @@
 package de.develman.mmi.export;
 
+import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.Vertex;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 /**
+ * Der GraphExporter schreibt einen Graphen als JSON für vis.js. Knoten und Kanten werden nacheinander über einen
+ * wiederverwendeten Puffer in einen Writer oder Kanal geschrieben, so dass auch große Graphen nie vollständig als Text
+ * im Speicher liegen.
+ *
  * @author Georg Henkel <georg@develman.de>
  */
-public class GraphExporter
+public class GraphExporter extends AbstractExporter
 {
-    private final Graph graph;
-
     public GraphExporter(Graph graph)
     {
-        this.graph = graph;
+        super(graph);
     }
 
     public String export()
     {
-        StringBuilder builder = new StringBuilder();
+        StringWriter writer = new StringWriter();
+        try
+        {
+            export(writer);
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+
+        return writer.toString();
+    }
+
+    @Override
+    void write(AsciiOutput output) throws IOException
+    {
+        Graph graph = getGraph();
 
-        builder.append("{\"vertices\":[");
-        graph.getVertices().forEach(v ->
+        output.append("{\"vertices\":[");
+        boolean first = true;
+        for (Vertex v : graph.getVertices())
         {
-            builder.append("{\"id\":\"");
-            builder.append(v);
-            builder.append("\",\"label\":\"");
-            builder.append(v);
+            if (!first)
+            {
+                output.append(',');
+            }
+            first = false;
+
+            output.append("{\"id\":\"").append(v.getKey()).append("\",\"label\":\"").append(v.getKey());
             if (!v.getBalance().isNaN())
             {
-                builder.append(",(");
-                builder.append(v.getBalance());
-                builder.append(")");
+                output.append(",(").append(v.getBalance()).append(')');
             }
-            builder.append("\"},");
-        });
-        builder.deleteCharAt(builder.length() - 1);
+            output.append("\"}");
+        }
 
-        builder.append("],\"edges\":[");
-        graph.getEdges().forEach(e ->
+        output.append("],\"edges\":[");
+        List<Edge> edges = graph.getEdges();
+        for (int i = 0; i < edges.size(); i++)
         {
-            builder.append("{\"from\":\"");
-            builder.append(e.getSource());
-            builder.append("\",\"to\":\"");
-            builder.append(e.getSink());
+            Edge e = edges.get(i);
+            if (i > 0)
+            {
+                output.append(',');
+            }
+
+            output.append("{\"from\":\"").append(e.getSource().getKey()).append("\",\"to\":\"").append(e.getSink().
+                    getKey());
 
             if (!Double.isNaN(e.getCapacity()))
             {
+                output.append("\",\"label\":\"");
                 if (!Double.isNaN(e.getCost()))
                 {
-                    builder.append("\",\"label\":\"");
-                    builder.append("(");
-                    builder.append(e.getCapacity());
-                    builder.append("),");
-                    builder.append(e.getCost());
+                    output.append('(').append(e.getCapacity()).append("),").append(e.getCost());
                 }
                 else
                 {
-                    builder.append("\",\"label\":\"");
-                    builder.append(e.getCapacity());
+                    output.append(e.getCapacity());
                 }
             }
 
             if (graph.isDirected())
             {
-                builder.append("\",\"style\":\"arrow");
+                output.append("\",\"style\":\"arrow");
             }
 
-            builder.append("\"},");
-        });
-        builder.deleteCharAt(builder.length() - 1);
-        builder.append("]}");
-
-        return builder.toString();
+            output.append("\"}");
+        }
+        output.append("]}");
     }
 }
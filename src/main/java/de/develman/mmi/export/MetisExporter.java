@@ -0,0 +1,167 @@
+package de.develman.mmi.export;
+
+import de.develman.mmi.model.Edge;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.Vertex;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Der MetisExporter schreibt einen Graphen im Format von METIS. Nach der Kopfzeile mit Knoten- und Kantenanzahl folgt
+ * je Knoten eine Zeile mit den Indizes ab 1 aller Nachbarn. METIS beschreibt einfache ungerichtete Graphen, bei
+ * gerichteten Graphen werden daher abgehende und eingehende Kanten als Nachbarn geschrieben. Mehrfachkanten zwischen
+ * zwei Knoten werden zu einem Nachbarn zusammengefasst, Schleifen entfallen. Haben alle Kanten Kosten, werden die je
+ * Nachbar summierten Kosten als Kantengewichte geschrieben ({@code fmt} 001). Da METIS nur positive ganzzahlige
+ * Gewichte erlaubt, wird für andere Gewichte eine {@link IllegalArgumentException} geworfen.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class MetisExporter extends AbstractExporter
+{
+    public MetisExporter(Graph graph)
+    {
+        super(graph);
+    }
+
+    @Override
+    void write(AsciiOutput output) throws IOException
+    {
+        Graph graph = getGraph();
+        boolean weighted = hasCosts(graph);
+        Neighbors neighbors = new Neighbors(graph);
+
+        // Jede Kante erscheint bei beiden Endknoten, die Kantenanzahl ist die Hälfte aller Nachbarn
+        long neighborCount = 0;
+        for (int v = 0; v < graph.countVertices(); v++)
+        {
+            neighbors.collect(v);
+            if (weighted)
+            {
+                neighbors.checkWeights(v);
+            }
+            neighborCount += neighbors.count;
+        }
+
+        output.append(graph.countVertices()).append(' ').append(neighborCount / 2);
+        if (weighted)
+        {
+            output.append(" 001");
+        }
+        output.append('\n');
+
+        for (int v = 0; v < graph.countVertices(); v++)
+        {
+            neighbors.collect(v);
+            for (int i = 0; i < neighbors.count; i++)
+            {
+                if (i > 0)
+                {
+                    output.append(' ');
+                }
+
+                output.append(neighbors.vertices[i] + 1);
+                if (weighted)
+                {
+                    output.append(' ').appendCompact(neighbors.weights[i]);
+                }
+            }
+            output.append('\n');
+        }
+    }
+
+    private boolean hasCosts(Graph graph)
+    {
+        List<Edge> edges = graph.getEdges();
+        for (int i = 0; i < edges.size(); i++)
+        {
+            if (Double.isNaN(edges.get(i).getCost()))
+            {
+                return false;
+            }
+        }
+
+        return !edges.isEmpty();
+    }
+
+    /**
+     * Nachbarn eines Knotens ohne Schleifen und Mehrfachkanten, in der Reihenfolge ihres ersten Auftretens
+     */
+    private static class Neighbors
+    {
+        final Graph graph;
+        // Position eines Knotens in der Nachbarliste, gültig nur bei Markierung mit der aktuellen Epoche
+        final int[] positions;
+        final int[] marks;
+        int epoch;
+        int[] vertices = new int[16];
+        double[] weights = new double[16];
+        int count;
+
+        Neighbors(Graph graph)
+        {
+            this.graph = graph;
+            positions = new int[graph.countVertices()];
+            marks = new int[graph.countVertices()];
+        }
+
+        void collect(int vertex)
+        {
+            count = 0;
+            epoch++;
+            Vertex current = graph.getVertexAt(vertex);
+            for (int i = 0; i < current.countOutgoingEdges(); i++)
+            {
+                Edge edge = current.getOutgoingEdge(i);
+                add(vertex, graph.indexOf(edge.getSink()), edge.getCost());
+            }
+            if (graph.isDirected())
+            {
+                for (int i = 0; i < current.countIncomingEdges(); i++)
+                {
+                    Edge edge = current.getIncomingEdge(i);
+                    add(vertex, graph.indexOf(edge.getSource()), edge.getCost());
+                }
+            }
+        }
+
+        void checkWeights(int vertex)
+        {
+            for (int i = 0; i < count; i++)
+            {
+                double weight = weights[i];
+                if (!(weight > 0.0) || weight != Math.rint(weight))
+                {
+                    throw new IllegalArgumentException("METIS erlaubt nur positive ganzzahlige Kantengewichte: "
+                            + weight + " zwischen " + graph.getVertexAt(vertex) + " und " + graph.getVertexAt(
+                                    vertices[i]));
+                }
+            }
+        }
+
+        private void add(int vertex, int neighbor, double weight)
+        {
+            if (neighbor == vertex)
+            {
+                return;
+            }
+
+            if (marks[neighbor] == epoch)
+            {
+                weights[positions[neighbor]] += weight;
+                return;
+            }
+
+            if (count == vertices.length)
+            {
+                vertices = Arrays.copyOf(vertices, count * 2);
+                weights = Arrays.copyOf(weights, count * 2);
+            }
+
+            marks[neighbor] = epoch;
+            positions[neighbor] = count;
+            vertices[count] = neighbor;
+            weights[count++] = weight;
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package de.develman.mmi.model;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Die Klasse CompactGraph repräsentiert einen unveränderlichen Graphen in CSR-Darstellung (Compressed Sparse Row).
+ * Knoten werden über dichte Indizes 0..n-1 angesprochen, alle Kanten liegen in primitiven Arrays. Bei ungerichteten
+ * Graphen wird jede Kante als zwei gegenläufige Bögen abgelegt.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public final class CompactGraph
+{
+    private final boolean directed;
+    private final int groupedVerticeCount;
+    private final int[] keys;
+    private final Map<Integer, Integer> keyIndex;
+    private final double[] balances;
+    private final int edgeCount;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] costs;
+    private final double[] capacities;
+    private final int[] edgeIds;
+
+    // Eingehende Bögen werden erst bei Bedarf aufgebaut und als Ganzes veröffentlicht, so dass auch parallel lesende
+    // Threads nur vollständig aufgebaute Arrays sehen. Bei ungerichteten Graphen entsprechen sie den abgehenden.
+    private volatile IncomingArcs incomingArcs;
+
+    CompactGraph(boolean directed, int groupedVerticeCount, int[] keys, Map<Integer, Integer> keyIndex,
+            double[] balances, int edgeCount, int[] offsets, int[] targets, double[] costs, double[] capacities,
+            int[] edgeIds)
+    {
+        this.directed = directed;
+        this.groupedVerticeCount = groupedVerticeCount;
+        this.keys = keys;
+        this.keyIndex = keyIndex;
+        this.balances = balances;
+        this.edgeCount = edgeCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.costs = costs;
+        this.capacities = capacities;
+        this.edgeIds = edgeIds;
+    }
+
+    /**
+     * Erstellt eine kompakte Kopie eines Graphen. Die Reihenfolge der Bögen eines Knotens entspricht der Reihenfolge
+     * der Kanten in {@link Graph#getEdges()}.
+     *
+     * @param graph Graph
+     * @return Kompakter Graph
+     */
+    public static CompactGraph of(Graph graph)
+    {
+        CompactGraphBuilder builder = new CompactGraphBuilder(graph.isDirected(), graph.countVertices(),
+                graph.countEdges());
+        builder.setGroupedVerticeCount(graph.getGroupedVerticeCount());
+
+        graph.getVertices().forEach(v -> builder.addVertex(v.getKey(), v.getBalance()));
+        graph.getEdges().forEach(e -> builder.addEdge(builder.indexOf(e.getSource().getKey()), builder.indexOf(e.
+                getSink().getKey()), e.getCapacity(), e.getCost()));
+
+        return builder.build();
+    }
+
+    /**
+     * @return {@code true}, wenn der Graph gerichtet ist, sonst {@code false}
+     */
+    public boolean isDirected()
+    {
+        return directed;
+    }
+
+    /**
+     * @return Anzahl der Knoten in einer Gruppe
+     */
+    public int getGroupedVerticeCount()
+    {
+        return groupedVerticeCount;
+    }
+
+    /**
+     * @return Anzahl der Knoten
+     */
+    public int countVertices()
+    {
+        return keys.length;
+    }
+
+    /**
+     * @return Anzahl der Kanten
+     */
+    public int countEdges()
+    {
+        return edgeCount;
+    }
+
+    /**
+     * @return Anzahl der Bögen (bei ungerichteten Graphen doppelt so viele wie Kanten)
+     */
+    public int countArcs()
+    {
+        return targets.length;
+    }
+
+    /**
+     * Liefert den Schlüssel eines Knotens
+     *
+     * @param vertex Index des Knotens
+     * @return Schlüssel des Knotens
+     */
+    public int getKey(int vertex)
+    {
+        return keys[vertex];
+    }
+
+    /**
+     * Liefert den Index eines Knotens anhand seines Schlüssels
+     *
+     * @param key Schlüssel des Knotens
+     * @return Index des Knotens oder -1, wenn der Knoten nicht vorhanden ist
+     */
+    public int indexOf(int key)
+    {
+        if (keyIndex == null)
+        {
+            return key >= 0 && key < keys.length ? key : -1;
+        }
+
+        Integer index = keyIndex.get(key);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Liefert die Balance eines Knotens
+     *
+     * @param vertex Index des Knotens
+     * @return Balance des Knotens
+     */
+    public double getBalance(int vertex)
+    {
+        return balances[vertex];
+    }
+
+    /**
+     * Liefert den ersten abgehenden Bogen eines Knotens
+     *
+     * @param vertex Index des Knotens
+     * @return Index des ersten Bogens
+     */
+    public int firstArc(int vertex)
+    {
+        return offsets[vertex];
+    }
+
+    /**
+     * Liefert die Grenze hinter dem letzten abgehenden Bogen eines Knotens
+     *
+     * @param vertex Index des Knotens
+     * @return Index hinter dem letzten Bogen
+     */
+    public int endArc(int vertex)
+    {
+        return offsets[vertex + 1];
+    }
+
+    /**
+     * Liefert die Anzahl der abgehenden Bögen eines Knotens
+     *
+     * @param vertex Index des Knotens
+     * @return Anzahl der abgehenden Bögen
+     */
+    public int getOutDegree(int vertex)
+    {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /**
+     * Liefert die Position des ersten eingehenden Bogens eines Knotens, dessen Startknoten über
+     * {@link #getIncomingSource(int)} gelesen wird
+     *
+     * @param vertex Index des Knotens
+     * @return Position des ersten eingehenden Bogens
+     */
+    public int firstIncoming(int vertex)
+    {
+        return getIncomingArcs().offsets[vertex];
+    }
+
+    /**
+     * Liefert die Position hinter dem letzten eingehenden Bogen eines Knotens
+     *
+     * @param vertex Index des Knotens
+     * @return Position hinter dem letzten eingehenden Bogen
+     */
+    public int endIncoming(int vertex)
+    {
+        return getIncomingArcs().offsets[vertex + 1];
+    }
+
+    /**
+     * Liefert den Startknoten des eingehenden Bogens an einer Position zwischen {@link #firstIncoming(int)} und
+     * {@link #endIncoming(int)}
+     *
+     * @param position Position
+     * @return Index des Startknotens
+     */
+    public int getIncomingSource(int position)
+    {
+        return getIncomingArcs().sources[position];
+    }
+
+    /**
+     * Liefert den Endknoten eines Bogens
+     *
+     * @param arc Index des Bogens
+     * @return Index des Endknotens
+     */
+    public int getTarget(int arc)
+    {
+        return targets[arc];
+    }
+
+    /**
+     * Liefert die Kosten eines Bogens
+     *
+     * @param arc Index des Bogens
+     * @return Kosten des Bogens
+     */
+    public double getCost(int arc)
+    {
+        return costs[arc];
+    }
+
+    /**
+     * Liefert die Kapazität eines Bogens
+     *
+     * @param arc Index des Bogens
+     * @return Kapazität des Bogens
+     */
+    public double getCapacity(int arc)
+    {
+        return capacities[arc];
+    }
+
+    /**
+     * Liefert die Nummer der Kante, zu der ein Bogen gehört. Die Nummer entspricht der Einfügereihenfolge der Kanten.
+     *
+     * @param arc Index des Bogens
+     * @return Nummer der Kante
+     */
+    public int getEdgeId(int arc)
+    {
+        int id = edgeIds[arc];
+        return id >= 0 ? id : ~id;
+    }
+
+    /**
+     * Prüft, ob ein Bogen die Rückrichtung einer ungerichteten Kante darstellt
+     *
+     * @param arc Index des Bogens
+     * @return {@code true}, wenn der Bogen eine Rückrichtung ist, sonst {@code false}
+     */
+    public boolean isReverseArc(int arc)
+    {
+        return edgeIds[arc] < 0;
+    }
+
+    /**
+     * @return Liefert den Graphen in der Darstellung mit Knoten- und Kantenobjekten
+     */
+    public Graph toGraph()
+    {
+        Graph graph = new Graph(directed);
+        graph.setGroupedVerticeCount(groupedVerticeCount);
+
+        Vertex[] vertices = new Vertex[keys.length];
+        for (int v = 0; v < keys.length; v++)
+        {
+            vertices[v] = new Vertex(keys[v], balances[v]);
+            graph.addVertex(vertices[v]);
+        }
+
+        Edge[] edges = new Edge[edgeCount];
+        for (int v = 0; v < keys.length; v++)
+        {
+            for (int arc = offsets[v]; arc < offsets[v + 1]; arc++)
+            {
+                if (edgeIds[arc] >= 0)
+                {
+                    edges[edgeIds[arc]] = new Edge(vertices[v], vertices[targets[arc]], capacities[arc], costs[arc]);
+                }
+            }
+        }
+
+        for (Edge edge : edges)
+        {
+            graph.addEdge(edge);
+        }
+
+        return graph;
+    }
+
+    private IncomingArcs getIncomingArcs()
+    {
+        IncomingArcs incoming = incomingArcs;
+        if (incoming == null)
+        {
+            // Bauen mehrere Threads gleichzeitig auf, gewinnt der letzte, alle Ergebnisse sind gleich
+            incoming = buildIncoming();
+            incomingArcs = incoming;
+        }
+
+        return incoming;
+    }
+
+    private IncomingArcs buildIncoming()
+    {
+        if (!directed)
+        {
+            return new IncomingArcs(offsets, targets);
+        }
+
+        int vertexCount = keys.length;
+        int[] counts = new int[vertexCount + 1];
+        for (int arc = 0; arc < targets.length; arc++)
+        {
+            counts[targets[arc] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++)
+        {
+            counts[v + 1] += counts[v];
+        }
+
+        int[] sources = new int[targets.length];
+        int[] position = Arrays.copyOf(counts, vertexCount);
+        for (int v = 0; v < vertexCount; v++)
+        {
+            for (int arc = offsets[v]; arc < offsets[v + 1]; arc++)
+            {
+                sources[position[targets[arc]]++] = v;
+            }
+        }
+
+        return new IncomingArcs(counts, sources);
+    }
+
+    /**
+     * Eingehende Bögen in CSR-Darstellung, die Startknoten je Endknoten zusammenhängend
+     */
+    private static final class IncomingArcs
+    {
+        final int[] offsets;
+        final int[] sources;
+
+        IncomingArcs(int[] offsets, int[] sources)
+        {
+            this.offsets = offsets;
+            this.sources = sources;
+        }
+    }
+}
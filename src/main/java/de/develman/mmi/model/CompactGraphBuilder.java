@@ -0,0 +1,319 @@
+package de.develman.mmi.model;
+
+import de.develman.mmi.exception.DuplicateVertexException;
+import de.develman.mmi.exception.MissingVertexException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Die Klasse CompactGraphBuilder sammelt Knoten und Kanten in primitiven Arrays und erzeugt daraus einen
+ * {@link CompactGraph} oder einen {@link Graph}. Die Knoten erhalten ihren Index in der Reihenfolge des Einfügens.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class CompactGraphBuilder
+{
+    private final boolean directed;
+    private int groupedVerticeCount;
+
+    private int vertexCount;
+    private int[] keys;
+    private double[] balances;
+    private Map<Integer, Integer> keyIndex;
+
+    private int edgeCount;
+    private int[] sources;
+    private int[] sinks;
+    private double[] capacities;
+    private double[] costs;
+
+    /**
+     * Erstellt einen neuen Builder
+     *
+     * @param directed Gibt an, ob der Graph gerichtet ist oder nicht
+     */
+    public CompactGraphBuilder(boolean directed)
+    {
+        this(directed, 16, 16);
+    }
+
+    /**
+     * Erstellt einen neuen Builder mit vorgegebener Anfangsgröße
+     *
+     * @param directed Gibt an, ob der Graph gerichtet ist oder nicht
+     * @param expectedVertices Erwartete Anzahl Knoten
+     * @param expectedEdges Erwartete Anzahl Kanten
+     */
+    public CompactGraphBuilder(boolean directed, int expectedVertices, int expectedEdges)
+    {
+        this.directed = directed;
+
+        keys = new int[Math.max(expectedVertices, 1)];
+        balances = new double[keys.length];
+
+        int edgeCapacity = Math.max(expectedEdges, 1);
+        sources = new int[edgeCapacity];
+        sinks = new int[edgeCapacity];
+        capacities = new double[edgeCapacity];
+        costs = new double[edgeCapacity];
+    }
+
+    /**
+     * @return {@code true}, wenn der Graph gerichtet ist, sonst {@code false}
+     */
+    public boolean isDirected()
+    {
+        return directed;
+    }
+
+    /**
+     * Setzt die Anzahl Knoten einer Gruppe
+     *
+     * @param groupedVerticeCount Anzahl Knoten in einer Gruppe
+     */
+    public void setGroupedVerticeCount(int groupedVerticeCount)
+    {
+        this.groupedVerticeCount = groupedVerticeCount;
+    }
+
+    /**
+     * @return Anzahl der bisher hinzugefügten Knoten
+     */
+    public int countVertices()
+    {
+        return vertexCount;
+    }
+
+    /**
+     * @return Anzahl der bisher hinzugefügten Kanten
+     */
+    public int countEdges()
+    {
+        return edgeCount;
+    }
+
+    /**
+     * Hinzufügen eines Knotens
+     *
+     * @param key Schlüssel des Knotens
+     * @param balance Balance des Knotens
+     * @return Index des Knotens
+     * @throws DuplicateVertexException
+     */
+    public int addVertex(int key, double balance) throws DuplicateVertexException
+    {
+        if (keyIndex == null && key != vertexCount)
+        {
+            keyIndex = new HashMap<>();
+            for (int i = 0; i < vertexCount; i++)
+            {
+                keyIndex.put(keys[i], i);
+            }
+        }
+
+        if (keyIndex != null && keyIndex.putIfAbsent(key, vertexCount) != null)
+        {
+            throw new DuplicateVertexException(key);
+        }
+
+        if (vertexCount == keys.length)
+        {
+            keys = Arrays.copyOf(keys, vertexCount * 2);
+            balances = Arrays.copyOf(balances, vertexCount * 2);
+        }
+
+        keys[vertexCount] = key;
+        balances[vertexCount] = balance;
+
+        return vertexCount++;
+    }
+
+    /**
+     * Liefert den Index eines Knotens anhand seines Schlüssels
+     *
+     * @param key Schlüssel des Knotens
+     * @return Index des Knotens oder -1, wenn der Knoten nicht vorhanden ist
+     */
+    public int indexOf(int key)
+    {
+        if (keyIndex == null)
+        {
+            return key >= 0 && key < vertexCount ? key : -1;
+        }
+
+        Integer index = keyIndex.get(key);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Hinzufügen einer Kante
+     *
+     * @param source Index des Startknotens
+     * @param sink Index des Endknotens
+     * @param capacity Kapazität
+     * @param cost Kosten
+     * @throws MissingVertexException
+     */
+    public void addEdge(int source, int sink, double capacity, double cost) throws MissingVertexException
+    {
+        checkVertex(source);
+        checkVertex(sink);
+
+        if (edgeCount == sources.length)
+        {
+            resizeEdges(edgeCount + (edgeCount >> 1) + 1);
+        }
+
+        sources[edgeCount] = source;
+        sinks[edgeCount] = sink;
+        capacities[edgeCount] = capacity;
+        costs[edgeCount] = cost;
+        edgeCount++;
+    }
+
+    /**
+     * Reserviert einen zusammenhängenden Bereich für die angegebene Anzahl Kanten, die anschließend über
+     * {@link #setEdge} gesetzt werden. Da sich die Arrays dabei nicht mehr ändern, können verschiedene Teile des
+     * Bereichs ohne Synchronisation parallel gesetzt werden.
+     *
+     * @param count Anzahl der Kanten
+     * @return Index der ersten reservierten Kante
+     */
+    public int reserveEdges(int count)
+    {
+        ensureEdgeCapacity(edgeCount + count);
+
+        int first = edgeCount;
+        edgeCount += count;
+        return first;
+    }
+
+    /**
+     * Setzt eine zuvor über {@link #reserveEdges(int)} reservierte Kante
+     *
+     * @param edge Index der Kante
+     * @param source Index des Startknotens
+     * @param sink Index des Endknotens
+     * @param capacity Kapazität
+     * @param cost Kosten
+     * @throws MissingVertexException
+     */
+    public void setEdge(int edge, int source, int sink, double capacity, double cost) throws MissingVertexException
+    {
+        if (edge < 0 || edge >= edgeCount)
+        {
+            throw new IndexOutOfBoundsException("Kante " + edge + " ist nicht reserviert");
+        }
+        checkVertex(source);
+        checkVertex(sink);
+
+        sources[edge] = source;
+        sinks[edge] = sink;
+        capacities[edge] = capacity;
+        costs[edge] = cost;
+    }
+
+    /**
+     * Vergrößert die Arrays der Kanten einmalig, so dass insgesamt mindestens die angegebene Anzahl Kanten Platz findet
+     *
+     * @param expectedEdges Erwartete Anzahl Kanten
+     */
+    public void ensureEdgeCapacity(int expectedEdges)
+    {
+        if (expectedEdges > sources.length)
+        {
+            resizeEdges(expectedEdges);
+        }
+    }
+
+    /**
+     * @return Liefert den kompakten Graphen in CSR-Darstellung
+     */
+    public CompactGraph build()
+    {
+        int arcCount = directed ? edgeCount : edgeCount * 2;
+
+        int[] offsets = new int[vertexCount + 1];
+        for (int e = 0; e < edgeCount; e++)
+        {
+            offsets[sources[e] + 1]++;
+            if (!directed)
+            {
+                offsets[sinks[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < vertexCount; v++)
+        {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] targets = new int[arcCount];
+        double[] arcCosts = new double[arcCount];
+        double[] arcCapacities = new double[arcCount];
+        int[] edgeIds = new int[arcCount];
+
+        int[] position = Arrays.copyOf(offsets, vertexCount);
+        for (int e = 0; e < edgeCount; e++)
+        {
+            int arc = position[sources[e]]++;
+            targets[arc] = sinks[e];
+            arcCosts[arc] = costs[e];
+            arcCapacities[arc] = capacities[e];
+            edgeIds[arc] = e;
+
+            if (!directed)
+            {
+                arc = position[sinks[e]]++;
+                targets[arc] = sources[e];
+                arcCosts[arc] = costs[e];
+                arcCapacities[arc] = capacities[e];
+                edgeIds[arc] = ~e;
+            }
+        }
+
+        Map<Integer, Integer> index = keyIndex != null ? new HashMap<>(keyIndex) : null;
+        return new CompactGraph(directed, groupedVerticeCount, Arrays.copyOf(keys, vertexCount), index, Arrays.
+                copyOf(balances, vertexCount), edgeCount, offsets, targets, arcCosts, arcCapacities, edgeIds);
+    }
+
+    /**
+     * @return Liefert den Graphen in der Darstellung mit Knoten- und Kantenobjekten, die Kanten behalten ihre
+     * Einfügereihenfolge
+     */
+    public Graph buildGraph()
+    {
+        Graph graph = new Graph(directed);
+        graph.setGroupedVerticeCount(groupedVerticeCount);
+
+        Vertex[] vertices = new Vertex[vertexCount];
+        for (int v = 0; v < vertexCount; v++)
+        {
+            vertices[v] = new Vertex(keys[v], balances[v]);
+            graph.addVertex(vertices[v]);
+        }
+
+        for (int e = 0; e < edgeCount; e++)
+        {
+            graph.addEdge(new Edge(vertices[sources[e]], vertices[sinks[e]], capacities[e], costs[e]));
+        }
+
+        return graph;
+    }
+
+    private void checkVertex(int vertex)
+    {
+        if (vertex < 0 || vertex >= vertexCount)
+        {
+            throw new MissingVertexException(vertex);
+        }
+    }
+
+    private void resizeEdges(int newLength)
+    {
+        sources = Arrays.copyOf(sources, newLength);
+        sinks = Arrays.copyOf(sinks, newLength);
+        capacities = Arrays.copyOf(capacities, newLength);
+        costs = Arrays.copyOf(costs, newLength);
+    }
+}
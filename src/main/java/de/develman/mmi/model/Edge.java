@@ -12,6 +12,13 @@ public class Edge
     private final Vertex source;
     private final Vertex sink;
 
+    // Slots in der Kantenliste des Graphen und in den Listen von Start- und Endknoten
+    int slot = -1;
+    int outgoingSlot = -1;
+    int incomingSlot = -1;
+    // Nächste abgehende Kante des Startknotens zum selben Endknoten, nur bei Knoten mit Hash-Index gepflegt
+    Edge nextParallel;
+
     /**
      * Erstellt eine neue Kante mit Start- und Endknoten
      *
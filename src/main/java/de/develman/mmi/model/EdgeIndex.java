@@ -0,0 +1,125 @@
+package de.develman.mmi.model;
+
+/**
+ * Die Klasse EdgeIndex implementiert eine Hash-Tabelle mit offener Adressierung (lineares Sondieren), die einem
+ * primitiven Knotenschlüssel eine Kante zuordnet
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+class EdgeIndex
+{
+    private int[] keys;
+    private Edge[] edges;
+    private int size;
+
+    EdgeIndex(int expectedSize)
+    {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;
+        keys = new int[capacity];
+        edges = new Edge[capacity];
+    }
+
+    Edge get(int key)
+    {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; edges[slot] != null; slot = (slot + 1) & mask)
+        {
+            if (keys[slot] == key)
+            {
+                return edges[slot];
+            }
+        }
+
+        return null;
+    }
+
+    void putIfAbsent(int key, Edge edge)
+    {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        for (; edges[slot] != null; slot = (slot + 1) & mask)
+        {
+            if (keys[slot] == key)
+            {
+                return;
+            }
+        }
+
+        keys[slot] = key;
+        edges[slot] = edge;
+        if (++size * 2 > keys.length)
+        {
+            resize();
+        }
+    }
+
+    void put(int key, Edge edge)
+    {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; edges[slot] != null; slot = (slot + 1) & mask)
+        {
+            if (keys[slot] == key)
+            {
+                edges[slot] = edge;
+                return;
+            }
+        }
+
+        putIfAbsent(key, edge);
+    }
+
+    void remove(int key)
+    {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (edges[slot] != null && keys[slot] != key)
+        {
+            slot = (slot + 1) & mask;
+        }
+
+        if (edges[slot] == null)
+        {
+            return;
+        }
+
+        // Nachfolgende Einträge der Sondierungskette nachrücken lassen, damit keine Lücke entsteht
+        int gap = slot;
+        for (int next = (gap + 1) & mask; edges[next] != null; next = (next + 1) & mask)
+        {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask))
+            {
+                keys[gap] = keys[next];
+                edges[gap] = edges[next];
+                gap = next;
+            }
+        }
+
+        edges[gap] = null;
+        size--;
+    }
+
+    private void resize()
+    {
+        int[] oldKeys = keys;
+        Edge[] oldEdges = edges;
+
+        keys = new int[oldKeys.length * 2];
+        edges = new Edge[oldEdges.length * 2];
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++)
+        {
+            if (oldEdges[i] != null)
+            {
+                putIfAbsent(oldKeys[i], oldEdges[i]);
+            }
+        }
+    }
+
+    private static int hash(int key)
+    {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,294 @@
+package de.develman.mmi.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Die Klasse EdgeSlots hält Kanten in ihrer Reihenfolge in einem Array von Slots. Gelöschte Kanten hinterlassen eine
+ * Lücke, so dass beim Löschen keine Kante verschoben wird. Sobald mehr als die Hälfte der Slots leer ist, wird
+ * kompaktiert. Ein Fenwick-Baum über die belegten Slots liefert den Slot zu einer Position, ohne Lücken ist die
+ * Position der Slot. Da eine Kante zugleich in der Kantenliste des Graphen und in den Listen ihrer beiden Knoten
+ * steht, legen die Unterklassen fest, in welchem Feld der Kante ihr Slot vermerkt wird.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+abstract class EdgeSlots
+{
+    private static final Edge[] NO_EDGES = new Edge[0];
+
+    private Edge[] edges = NO_EDGES;
+    private int[] occupiedSlots = new int[1];
+    private int usedSlots;
+    private int count;
+
+    /**
+     * @return Vermerkter Slot der Kante in dieser Liste
+     */
+    abstract int getSlot(Edge edge);
+
+    abstract void setSlot(Edge edge, int slot);
+
+    /**
+     * @return Anzahl der Kanten
+     */
+    int size()
+    {
+        return count;
+    }
+
+    /**
+     * @param index Position der Kante, 0 bis {@link #size()} - 1
+     * @return Kante an der Position
+     */
+    Edge get(int index)
+    {
+        if (index < 0 || index >= count)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+
+        return edges[findSlotAt(index)];
+    }
+
+    /**
+     * Hängt eine Kante an
+     *
+     * @param edge Kante
+     */
+    void add(Edge edge)
+    {
+        if (usedSlots == edges.length)
+        {
+            if (count < usedSlots)
+            {
+                compact();
+            }
+            else
+            {
+                edges = Arrays.copyOf(edges, Math.max(edges.length * 2, 4));
+                buildOccupied();
+            }
+        }
+
+        setSlot(edge, usedSlots);
+        edges[usedSlots] = edge;
+        updateOccupied(usedSlots++, 1);
+        count++;
+    }
+
+    /**
+     * Fügt eine Kante an einer Position ein, die folgenden Kanten rücken dabei nach
+     *
+     * @param edge Kante
+     * @param index Position, 0 bis {@link #size()}
+     */
+    void insert(Edge edge, int index)
+    {
+        compact();
+        if (index < 0 || index > count)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+
+        if (usedSlots == edges.length)
+        {
+            edges = Arrays.copyOf(edges, Math.max(edges.length * 2, 4));
+        }
+
+        System.arraycopy(edges, index, edges, index + 1, usedSlots - index);
+        edges[index] = edge;
+        usedSlots++;
+        count++;
+
+        for (int slot = index; slot < usedSlots; slot++)
+        {
+            setSlot(edges[slot], slot);
+        }
+        buildOccupied();
+    }
+
+    /**
+     * Löscht eine Kante, ohne die übrigen Kanten zu verschieben. Über den vermerkten Slot erfolgt das in
+     * logarithmischer Zeit, nur eine Kante, deren Slot für eine andere Liste vermerkt ist, wird linear gesucht.
+     *
+     * @param edge Kante
+     * @return {@code true}, wenn die Kante enthalten war
+     */
+    boolean remove(Edge edge)
+    {
+        int slot = findSlot(edge);
+        if (slot == -1)
+        {
+            return false;
+        }
+
+        edges[slot] = null;
+        setSlot(edge, -1);
+        updateOccupied(slot, -1);
+        count--;
+
+        if ((usedSlots - count) * 2 > usedSlots)
+        {
+            compact();
+        }
+
+        return true;
+    }
+
+    /**
+     * @return Slot hinter dem letzten belegten Slot
+     */
+    int endSlot()
+    {
+        return usedSlots;
+    }
+
+    /**
+     * @return Erster belegter Slot ab {@code slot} oder {@link #endSlot()}
+     */
+    int nextSlot(int slot)
+    {
+        while (slot < usedSlots && edges[slot] == null)
+        {
+            slot++;
+        }
+
+        return slot;
+    }
+
+    /**
+     * @return Kante in einem belegten Slot
+     */
+    Edge getAtSlot(int slot)
+    {
+        return edges[slot];
+    }
+
+    /**
+     * Übergibt alle Kanten in ihrer Reihenfolge
+     *
+     * @param action Aktion je Kante
+     */
+    void forEach(Consumer<Edge> action)
+    {
+        for (int slot = nextSlot(0); slot < usedSlots; slot = nextSlot(slot + 1))
+        {
+            action.accept(edges[slot]);
+        }
+    }
+
+    /**
+     * @return Kopie der Kanten in ihrer Reihenfolge
+     */
+    List<Edge> toList()
+    {
+        List<Edge> list = new ArrayList<>(count);
+        forEach(list::add);
+
+        return list;
+    }
+
+    private int findSlot(Edge edge)
+    {
+        int slot = getSlot(edge);
+        if (slot >= 0 && slot < usedSlots && edges[slot] == edge)
+        {
+            return slot;
+        }
+
+        // Der Slot der Kante ist für eine andere Liste vermerkt
+        for (slot = 0; slot < usedSlots; slot++)
+        {
+            if (edges[slot] == edge)
+            {
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    private void compact()
+    {
+        if (count == usedSlots)
+        {
+            return;
+        }
+
+        int target = 0;
+        for (int slot = 0; slot < usedSlots; slot++)
+        {
+            Edge edge = edges[slot];
+            if (edge != null)
+            {
+                setSlot(edge, target);
+                edges[target++] = edge;
+            }
+        }
+
+        Arrays.fill(edges, target, usedSlots, null);
+        usedSlots = target;
+        buildOccupied();
+    }
+
+    /**
+     * Baut den Fenwick-Baum über die belegten Slots in linearer Zeit neu auf
+     */
+    private void buildOccupied()
+    {
+        int size = edges.length;
+        if (occupiedSlots.length != size + 1)
+        {
+            occupiedSlots = new int[size + 1];
+        }
+        else
+        {
+            Arrays.fill(occupiedSlots, 0);
+        }
+
+        for (int i = 1; i <= size; i++)
+        {
+            occupiedSlots[i] += edges[i - 1] != null ? 1 : 0;
+            int parent = i + (i & -i);
+            if (parent <= size)
+            {
+                occupiedSlots[parent] += occupiedSlots[i];
+            }
+        }
+    }
+
+    private void updateOccupied(int slot, int delta)
+    {
+        for (int i = slot + 1; i < occupiedSlots.length; i += i & -i)
+        {
+            occupiedSlots[i] += delta;
+        }
+    }
+
+    /**
+     * @return Slot der Kante an einer Position
+     */
+    private int findSlotAt(int index)
+    {
+        if (count == usedSlots)
+        {
+            return index;
+        }
+
+        int slot = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(occupiedSlots.length - 1); step > 0; step >>= 1)
+        {
+            int next = slot + step;
+            if (next < occupiedSlots.length && occupiedSlots[next] < remaining)
+            {
+                slot = next;
+                remaining -= occupiedSlots[next];
+            }
+        }
+
+        return slot;
+    }
+}
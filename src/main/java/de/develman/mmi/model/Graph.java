@@ -14,7 +14,16 @@ public class Graph
     private final boolean directed;
     private int groupedVerticeCount;
     private final Map<Integer, Vertex> vertices = new HashMap<>();
-    private final List<Edge> edges = new ArrayList<>();
+
+    // Dichte Knotenindizes 0..n-1 unabhängig vom Schlüssel, beim Löschen rückt der letzte Knoten in die Lücke
+    private Vertex[] indexedVertices = new Vertex[16];
+    private final EdgeList edgeList = new EdgeList();
+
+    // Slot der Rückrichtungen ungerichteter Kanten, die nicht in der Kantenliste stehen
+    private static final int REVERSE_SLOT = -2;
+
+    // Gelöschte Kanten hinterlassen eine Lücke, die übrigen Kanten behalten ihre Reihenfolge
+    private final EdgeSlots edges = new GraphSlots();
 
     /**
      * Erstellt ein neues Graph-Objekt
@@ -57,7 +66,7 @@ public class Graph
      */
     public int countVertices()
     {
-        return vertices.keySet().size();
+        return vertices.size();
     }
 
     /**
@@ -68,14 +77,6 @@ public class Graph
         return edges.size();
     }
 
-    /**
-     * Markiert alle Knoten als nicht besucht
-     */
-    public void unvisitAllVertices()
-    {
-        vertices.values().forEach(vertex -> vertex.setVisited(false));
-    }
-
     /**
      * @return Unmodifizierbare Collection aller Knoten
      */
@@ -93,6 +94,59 @@ public class Graph
         return vertexList.get(0);
     }
 
+    /**
+     * Liefert den dichten Index eines Knotens. Die Indizes laufen von 0 bis {@link #countVertices()} - 1 und bleiben
+     * stabil, bis ein Knoten gelöscht wird, dann erhält der Knoten mit dem höchsten Index den Index des gelöschten.
+     *
+     * @param vertex Knoten
+     * @return Index des Knotens oder -1, wenn der Knoten nicht vorhanden ist
+     */
+    public int indexOf(Vertex vertex)
+    {
+        if (isIndexed(vertex))
+        {
+            return vertex.index;
+        }
+
+        // Der Knoten gehört zu einem anderen Graphen, maßgeblich ist dann der Knoten mit gleichem Schlüssel
+        Vertex ownVertex = vertices.get(vertex.getKey());
+        if (ownVertex == null)
+        {
+            return -1;
+        }
+        if (isIndexed(ownVertex))
+        {
+            return ownVertex.index;
+        }
+
+        // Der Knoten wurde zusätzlich in einen anderen Graphen eingefügt und hat dort einen neuen Index erhalten
+        for (int index = 0; index < vertices.size(); index++)
+        {
+            if (indexedVertices[index] == ownVertex)
+            {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Liefert den Knoten mit einem dichten Index
+     *
+     * @param index Index des Knotens, 0 bis {@link #countVertices()} - 1
+     * @return Knoten
+     */
+    public Vertex getVertexAt(int index)
+    {
+        if (index < 0 || index >= vertices.size())
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + vertices.size());
+        }
+
+        return indexedVertices[index];
+    }
+
     /**
      * Prüft ob der Knoten im Graph vorhanden ist
      *
@@ -129,6 +183,14 @@ public class Graph
             throw new DuplicateVertexException(key);
         }
 
+        int index = vertices.size();
+        if (index == indexedVertices.length)
+        {
+            indexedVertices = Arrays.copyOf(indexedVertices, index * 2);
+        }
+
+        vertex.index = index;
+        indexedVertices[index] = vertex;
         vertices.put(key, vertex);
     }
 
@@ -145,6 +207,19 @@ public class Graph
             vertex.getIncomingEdges().forEach(e -> removeEdge(e));
             vertex.getOutgoingEdges().forEach(edge -> removeEdge(edge));
 
+            int index = indexOf(vertex);
+            boolean indexed = isIndexed(vertex);
+            int last = vertices.size() - 1;
+            Vertex lastVertex = indexedVertices[last];
+            lastVertex.index = index;
+            indexedVertices[index] = lastVertex;
+            indexedVertices[last] = null;
+            if (indexed)
+            {
+                // Der Index eines zusätzlich in einen anderen Graphen eingefügten Knotens bleibt erhalten
+                vertex.index = -1;
+            }
+
             vertices.remove(key);
         }
     }
@@ -165,7 +240,7 @@ public class Graph
      */
     public List<Edge> getEdges()
     {
-        return Collections.unmodifiableList(edges);
+        return edgeList;
     }
 
     /**
@@ -215,16 +290,18 @@ public class Graph
 
         if (index != -1)
         {
-            edges.add(index, edge);
+            edges.insert(edge, index);
         }
         else
         {
             edges.add(edge);
         }
+        edgeList.changed();
 
         if (!isDirected())
         {
             Edge reverseEdge = edge.revert();
+            reverseEdge.slot = REVERSE_SLOT;
             source.addIncomingEdge(reverseEdge);
             sink.addOutgoingEdge(reverseEdge);
         }
@@ -243,7 +320,11 @@ public class Graph
         Vertex sink = edge.getSink();
         sink.removeIncomingEdge(edge);
 
-        edges.remove(edge);
+        // Rückrichtungen ungerichteter Kanten stehen nicht in der Kantenliste
+        if (edge.slot != REVERSE_SLOT && edges.remove(edge))
+        {
+            edgeList.changed();
+        }
     }
 
     /**
@@ -254,7 +335,11 @@ public class Graph
         Graph clonedGraph = new Graph(directed);
         clonedGraph.setGroupedVerticeCount(groupedVerticeCount);
 
-        getVertices().forEach(v -> clonedGraph.addVertex(new Vertex(v.getKey(), v.getBalance())));
+        for (int index = 0; index < countVertices(); index++)
+        {
+            Vertex v = indexedVertices[index];
+            clonedGraph.addVertex(new Vertex(v.getKey(), v.getBalance()));
+        }
         getEdges().forEach(e ->
         {
             Vertex source = clonedGraph.getVertex(e.getSource().getKey());
@@ -266,4 +351,78 @@ public class Graph
 
         return clonedGraph;
     }
+
+    private boolean isIndexed(Vertex vertex)
+    {
+        int index = vertex.index;
+        return index >= 0 && index < vertices.size() && indexedVertices[index] == vertex;
+    }
+
+    private class EdgeList extends AbstractList<Edge> implements RandomAccess
+    {
+        @Override
+        public Edge get(int index)
+        {
+            return edges.get(index);
+        }
+
+        @Override
+        public int size()
+        {
+            return edges.size();
+        }
+
+        @Override
+        public Iterator<Edge> iterator()
+        {
+            return new Iterator<Edge>()
+            {
+                private final int expectedModCount = modCount;
+                private int slot = edges.nextSlot(0);
+
+                @Override
+                public boolean hasNext()
+                {
+                    return slot < edges.endSlot();
+                }
+
+                @Override
+                public Edge next()
+                {
+                    if (modCount != expectedModCount)
+                    {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (slot >= edges.endSlot())
+                    {
+                        throw new NoSuchElementException();
+                    }
+
+                    Edge edge = edges.getAtSlot(slot);
+                    slot = edges.nextSlot(slot + 1);
+                    return edge;
+                }
+            };
+        }
+
+        void changed()
+        {
+            modCount++;
+        }
+    }
+
+    private static final class GraphSlots extends EdgeSlots
+    {
+        @Override
+        int getSlot(Edge edge)
+        {
+            return edge.slot;
+        }
+
+        @Override
+        void setSlot(Edge edge, int slot)
+        {
+            edge.slot = slot;
+        }
+    }
 }
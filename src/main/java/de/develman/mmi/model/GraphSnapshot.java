@@ -0,0 +1,260 @@
+package de.develman.mmi.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Die Klasse GraphSnapshot schreibt einen {@link CompactGraph} in ein versioniertes Binärformat und liest ihn über
+ * Memory Mapping wieder ein. Nach einem Kopf mit Kennung, Version, Richtung, Gruppengröße, Anzahlen und der Prüfsumme
+ * der Quelldatei folgen die CSR-Arrays unverändert in Little Endian, zuerst alle double-Arrays, dann alle int-Arrays.
+ * Ein gelesener Graph stimmt damit bis auf das Bit mit dem geschriebenen überein.
+ *
+ * <pre>
+ * int    Kennung "MMIG", Version, Flags (Bit 0: gerichtet), Gruppengröße, Knoten, Kanten, Bögen, reserviert
+ * long   Prüfsumme der Quelldatei
+ * double balances[Knoten], costs[Bögen], capacities[Bögen]
+ * int    keys[Knoten], offsets[Knoten + 1], targets[Bögen], edgeIds[Bögen]
+ * </pre>
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public final class GraphSnapshot
+{
+    private static final int MAGIC = 0x47494d4d;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final int FLAG_DIRECTED = 1;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    // Fenstergröße beim Abbilden der Arrays, ein Vielfaches der Elementgrößen
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private GraphSnapshot()
+    {
+    }
+
+    /**
+     * Schreibt einen Graphen als Snapshot
+     *
+     * @param graph Graph
+     * @param checksum Prüfsumme der Quelldatei, über die der Snapshot als Cache erkannt wird
+     * @param channel Kanal, in den geschrieben wird
+     * @throws IOException
+     */
+    public static void write(Graph graph, long checksum, WritableByteChannel channel) throws IOException
+    {
+        write(CompactGraph.of(graph), checksum, channel);
+    }
+
+    /**
+     * Schreibt einen kompakten Graphen als Snapshot
+     *
+     * @param graph Kompakter Graph
+     * @param checksum Prüfsumme der Quelldatei, über die der Snapshot als Cache erkannt wird
+     * @param channel Kanal, in den geschrieben wird
+     * @throws IOException
+     */
+    public static void write(CompactGraph graph, long checksum, WritableByteChannel channel) throws IOException
+    {
+        int n = graph.countVertices();
+        int arcs = graph.countArcs();
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(graph.isDirected() ? FLAG_DIRECTED : 0);
+        buffer.putInt(graph.getGroupedVerticeCount()).putInt(n).putInt(graph.countEdges()).putInt(arcs).putInt(0);
+        buffer.putLong(checksum);
+
+        for (int v = 0; v < n; v++)
+        {
+            flushIfFull(buffer, channel, Double.BYTES).putDouble(graph.getBalance(v));
+        }
+        for (int arc = 0; arc < arcs; arc++)
+        {
+            flushIfFull(buffer, channel, Double.BYTES).putDouble(graph.getCost(arc));
+        }
+        for (int arc = 0; arc < arcs; arc++)
+        {
+            flushIfFull(buffer, channel, Double.BYTES).putDouble(graph.getCapacity(arc));
+        }
+
+        for (int v = 0; v < n; v++)
+        {
+            flushIfFull(buffer, channel, Integer.BYTES).putInt(graph.getKey(v));
+        }
+        for (int v = 0; v <= n; v++)
+        {
+            flushIfFull(buffer, channel, Integer.BYTES).putInt(v < n ? graph.firstArc(v) : arcs);
+        }
+        for (int arc = 0; arc < arcs; arc++)
+        {
+            flushIfFull(buffer, channel, Integer.BYTES).putInt(graph.getTarget(arc));
+        }
+        for (int arc = 0; arc < arcs; arc++)
+        {
+            int edgeId = graph.getEdgeId(arc);
+            flushIfFull(buffer, channel, Integer.BYTES).putInt(graph.isReverseArc(arc) ? ~edgeId : edgeId);
+        }
+
+        flush(buffer, channel);
+    }
+
+    /**
+     * Liest die Prüfsumme der Quelldatei aus dem Kopf eines Snapshots
+     *
+     * @param channel Kanal des Snapshots
+     * @return Prüfsumme der Quelldatei
+     * @throws IOException
+     * @throws IllegalArgumentException Wenn der Kanal keinen Snapshot in einer unterstützten Version enthält
+     */
+    public static long readChecksum(FileChannel channel) throws IOException
+    {
+        return readHeader(channel).getLong(32);
+    }
+
+    /**
+     * Liest einen Snapshot über Memory Mapping
+     *
+     * @param channel Kanal des Snapshots
+     * @return Kompakter Graph
+     * @throws IOException
+     * @throws IllegalArgumentException Wenn der Kanal keinen Snapshot in einer unterstützten Version enthält
+     */
+    public static CompactGraph read(FileChannel channel) throws IOException
+    {
+        ByteBuffer header = readHeader(channel);
+        boolean directed = (header.getInt(8) & FLAG_DIRECTED) != 0;
+        int groupedVerticeCount = header.getInt(12);
+        int n = header.getInt(16);
+        int edgeCount = header.getInt(20);
+        int arcs = header.getInt(24);
+
+        long expectedSize = HEADER_SIZE + (long) Double.BYTES * (n + 2L * arcs) + (long) Integer.BYTES * (2L * n + 1
+                + 2L * arcs);
+        if (channel.size() < expectedSize)
+        {
+            throw new IllegalArgumentException("Snapshot ist unvollständig");
+        }
+
+        long position = HEADER_SIZE;
+        double[] balances = readDoubles(channel, position, n);
+        position += (long) Double.BYTES * n;
+        double[] costs = readDoubles(channel, position, arcs);
+        position += (long) Double.BYTES * arcs;
+        double[] capacities = readDoubles(channel, position, arcs);
+        position += (long) Double.BYTES * arcs;
+
+        int[] keys = readInts(channel, position, n);
+        position += (long) Integer.BYTES * n;
+        int[] offsets = readInts(channel, position, n + 1);
+        position += (long) Integer.BYTES * (n + 1);
+        int[] targets = readInts(channel, position, arcs);
+        position += (long) Integer.BYTES * arcs;
+        int[] edgeIds = readInts(channel, position, arcs);
+
+        return new CompactGraph(directed, groupedVerticeCount, keys, createKeyIndex(keys), balances, edgeCount,
+                offsets, targets, costs, capacities, edgeIds);
+    }
+
+    private static ByteBuffer readHeader(FileChannel channel) throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0)
+        {
+            // Kopf vollständig lesen
+        }
+
+        if (header.hasRemaining() || header.getInt(0) != MAGIC)
+        {
+            throw new IllegalArgumentException("Kein Graph-Snapshot");
+        }
+        if (header.getInt(4) != VERSION)
+        {
+            throw new IllegalArgumentException("Nicht unterstützte Snapshot-Version " + header.getInt(4));
+        }
+
+        return header;
+    }
+
+    /**
+     * Die Schlüsselzuordnung wird nur benötigt, wenn die Schlüssel nicht den Indizes entsprechen
+     */
+    private static Map<Integer, Integer> createKeyIndex(int[] keys)
+    {
+        for (int v = 0; v < keys.length; v++)
+        {
+            if (keys[v] != v)
+            {
+                Map<Integer, Integer> keyIndex = new HashMap<>();
+                for (int i = 0; i < keys.length; i++)
+                {
+                    keyIndex.put(keys[i], i);
+                }
+
+                return keyIndex;
+            }
+        }
+
+        return null;
+    }
+
+    private static double[] readDoubles(FileChannel channel, long position, int count) throws IOException
+    {
+        double[] values = new double[count];
+        int done = 0;
+        while (done < count)
+        {
+            int length = (int) Math.min(count - done, WINDOW_SIZE / Double.BYTES);
+            map(channel, position + (long) Double.BYTES * done, (long) Double.BYTES * length).asDoubleBuffer().get(
+                    values, done, length);
+            done += length;
+        }
+
+        return values;
+    }
+
+    private static int[] readInts(FileChannel channel, long position, int count) throws IOException
+    {
+        int[] values = new int[count];
+        int done = 0;
+        while (done < count)
+        {
+            int length = (int) Math.min(count - done, WINDOW_SIZE / Integer.BYTES);
+            map(channel, position + (long) Integer.BYTES * done, (long) Integer.BYTES * length).asIntBuffer().get(
+                    values, done, length);
+            done += length;
+        }
+
+        return values;
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException
+    {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static ByteBuffer flushIfFull(ByteBuffer buffer, WritableByteChannel channel, int bytes) throws
+            IOException
+    {
+        if (buffer.remaining() < bytes)
+        {
+            flush(buffer, channel);
+        }
+
+        return buffer;
+    }
+
+    private static void flush(ByteBuffer buffer, WritableByteChannel channel) throws IOException
+    {
+        buffer.flip();
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
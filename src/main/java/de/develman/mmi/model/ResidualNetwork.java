@@ -0,0 +1,407 @@
+package de.develman.mmi.model;
+
+import de.develman.mmi.exception.DuplicateVertexException;
+import de.develman.mmi.exception.MissingVertexException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Die Klasse ResidualNetwork repräsentiert ein Flussnetzwerk mit seinem Residualgraphen in primitiven Arrays. Jede
+ * Kante wird als Paar aus Vorwärtsbogen (gerader Index) und Rückwärtsbogen (ungerader Index) abgelegt, der
+ * Gegenbogen eines Bogens {@code arc} ist immer {@code arc ^ 1}. Flussänderungen verschieben nur Restkapazität
+ * zwischen den beiden Bögen eines Paares und erzeugen keine Objekte.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public final class ResidualNetwork
+{
+    private int vertexCount;
+    private int[] keys;
+    private double[] balances;
+    private final Map<Integer, Integer> keyIndex;
+
+    private int arcCount;
+    private int[] targets;
+    private double[] capacities;
+    private double[] residuals;
+    private double[] costs;
+
+    private int[] offsets;
+    private int[] outgoingArcs;
+
+    /**
+     * Erstellt ein leeres Netzwerk mit vorgegebener Anfangsgröße
+     *
+     * @param expectedVertices Erwartete Anzahl Knoten
+     * @param expectedEdges Erwartete Anzahl Kanten
+     */
+    public ResidualNetwork(int expectedVertices, int expectedEdges)
+    {
+        keys = new int[Math.max(expectedVertices, 1)];
+        balances = new double[keys.length];
+        keyIndex = new HashMap<>(keys.length * 2);
+
+        int arcCapacity = Math.max(expectedEdges, 1) * 2;
+        targets = new int[arcCapacity];
+        capacities = new double[arcCapacity];
+        residuals = new double[arcCapacity];
+        costs = new double[arcCapacity];
+    }
+
+    /**
+     * Erstellt das Residualnetzwerk eines Graphen ohne Fluss. Die Knoten erhalten ihren Index in der Reihenfolge von
+     * {@link Graph#getVertices()}. In gerichteten Graphen erhält die Kante mit Position i in {@link Graph#getEdges()}
+     * den Vorwärtsbogen 2i. Bei ungerichteten Graphen wird jede Kante zusätzlich in Gegenrichtung eingefügt, die Kante
+     * mit Position i erhält dann die Vorwärtsbögen 4i und 4i + 2 in Gegenrichtung.
+     *
+     * @param graph Graph
+     * @return Residualnetzwerk
+     */
+    public static ResidualNetwork of(Graph graph)
+    {
+        int edgeCount = graph.isDirected() ? graph.countEdges() : graph.countEdges() * 2;
+        ResidualNetwork network = new ResidualNetwork(graph.countVertices() + 2, edgeCount + graph.countVertices());
+
+        graph.getVertices().forEach(v -> network.addVertex(v.getKey(), v.getBalance()));
+        graph.getEdges().forEach(e ->
+        {
+            int source = network.indexOf(e.getSource().getKey());
+            int sink = network.indexOf(e.getSink().getKey());
+
+            network.addEdge(source, sink, e.getCapacity(), e.getCost());
+            if (!graph.isDirected())
+            {
+                network.addEdge(sink, source, e.getCapacity(), e.getCost());
+            }
+        });
+
+        return network;
+    }
+
+    /**
+     * @return Anzahl der Knoten
+     */
+    public int countVertices()
+    {
+        return vertexCount;
+    }
+
+    /**
+     * @return Anzahl der Kanten (Bogenpaare)
+     */
+    public int countEdges()
+    {
+        return arcCount / 2;
+    }
+
+    /**
+     * @return Anzahl der Bögen, Vorwärts- und Rückwärtsbögen zusammen
+     */
+    public int countArcs()
+    {
+        return arcCount;
+    }
+
+    /**
+     * Hinzufügen eines Knotens
+     *
+     * @param key Schlüssel des Knotens
+     * @param balance Balance des Knotens
+     * @return Index des Knotens
+     * @throws DuplicateVertexException
+     */
+    public int addVertex(int key, double balance) throws DuplicateVertexException
+    {
+        if (keyIndex.putIfAbsent(key, vertexCount) != null)
+        {
+            throw new DuplicateVertexException(key);
+        }
+
+        if (vertexCount == keys.length)
+        {
+            keys = Arrays.copyOf(keys, vertexCount * 2);
+            balances = Arrays.copyOf(balances, vertexCount * 2);
+        }
+
+        keys[vertexCount] = key;
+        balances[vertexCount] = balance;
+        offsets = null;
+
+        return vertexCount++;
+    }
+
+    /**
+     * Hinzufügen einer Kante, die als Vorwärtsbogen mit voller Restkapazität und leerer Rückwärtsbogen angelegt wird
+     *
+     * @param source Index des Startknotens
+     * @param sink Index des Endknotens
+     * @param capacity Kapazität
+     * @param cost Kosten
+     * @return Index des Vorwärtsbogens
+     * @throws MissingVertexException
+     */
+    public int addEdge(int source, int sink, double capacity, double cost) throws MissingVertexException
+    {
+        checkVertex(source);
+        checkVertex(sink);
+
+        if (arcCount == targets.length)
+        {
+            int newLength = arcCount * 2;
+            targets = Arrays.copyOf(targets, newLength);
+            capacities = Arrays.copyOf(capacities, newLength);
+            residuals = Arrays.copyOf(residuals, newLength);
+            costs = Arrays.copyOf(costs, newLength);
+        }
+
+        int arc = arcCount;
+        targets[arc] = sink;
+        capacities[arc] = capacity;
+        residuals[arc] = capacity;
+        costs[arc] = cost;
+
+        targets[arc + 1] = source;
+        capacities[arc + 1] = 0.0;
+        residuals[arc + 1] = 0.0;
+        costs[arc + 1] = cost != 0.0 ? -cost : 0.0;
+
+        arcCount += 2;
+        offsets = null;
+
+        return arc;
+    }
+
+    /**
+     * Liefert den Schlüssel eines Knotens
+     *
+     * @param vertex Index des Knotens
+     * @return Schlüssel des Knotens
+     */
+    public int getKey(int vertex)
+    {
+        return keys[vertex];
+    }
+
+    /**
+     * Liefert den Index eines Knotens anhand seines Schlüssels
+     *
+     * @param key Schlüssel des Knotens
+     * @return Index des Knotens oder -1, wenn der Knoten nicht vorhanden ist
+     */
+    public int indexOf(int key)
+    {
+        Integer index = keyIndex.get(key);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Liefert die Balance eines Knotens
+     *
+     * @param vertex Index des Knotens
+     * @return Balance des Knotens
+     */
+    public double getBalance(int vertex)
+    {
+        return balances[vertex];
+    }
+
+    /**
+     * Liefert die Position des ersten abgehenden Bogens eines Knotens, der Bogen selbst wird über
+     * {@link #getOutgoingArc(int)} gelesen
+     *
+     * @param vertex Index des Knotens
+     * @return Position des ersten abgehenden Bogens
+     */
+    public int firstOutgoing(int vertex)
+    {
+        buildAdjacency();
+        return offsets[vertex];
+    }
+
+    /**
+     * Liefert die Position hinter dem letzten abgehenden Bogen eines Knotens
+     *
+     * @param vertex Index des Knotens
+     * @return Position hinter dem letzten abgehenden Bogen
+     */
+    public int endOutgoing(int vertex)
+    {
+        buildAdjacency();
+        return offsets[vertex + 1];
+    }
+
+    /**
+     * Liefert den abgehenden Bogen an einer Position zwischen {@link #firstOutgoing(int)} und
+     * {@link #endOutgoing(int)}
+     *
+     * @param position Position
+     * @return Index des Bogens
+     */
+    public int getOutgoingArc(int position)
+    {
+        return outgoingArcs[position];
+    }
+
+    /**
+     * Liefert den Startknoten eines Bogens
+     *
+     * @param arc Index des Bogens
+     * @return Index des Startknotens
+     */
+    public int getSource(int arc)
+    {
+        return targets[arc ^ 1];
+    }
+
+    /**
+     * Liefert den Endknoten eines Bogens
+     *
+     * @param arc Index des Bogens
+     * @return Index des Endknotens
+     */
+    public int getTarget(int arc)
+    {
+        return targets[arc];
+    }
+
+    /**
+     * Liefert den Gegenbogen eines Bogens
+     *
+     * @param arc Index des Bogens
+     * @return Index des Gegenbogens
+     */
+    public int getReverseArc(int arc)
+    {
+        return arc ^ 1;
+    }
+
+    /**
+     * Prüft, ob ein Bogen ein Vorwärtsbogen, also eine Kante des Netzwerks, ist
+     *
+     * @param arc Index des Bogens
+     * @return {@code true}, wenn der Bogen ein Vorwärtsbogen ist, sonst {@code false}
+     */
+    public boolean isForwardArc(int arc)
+    {
+        return (arc & 1) == 0;
+    }
+
+    /**
+     * Liefert die Kosten eines Bogens, Rückwärtsbögen haben die negativen Kosten ihrer Kante
+     *
+     * @param arc Index des Bogens
+     * @return Kosten des Bogens
+     */
+    public double getCost(int arc)
+    {
+        return costs[arc];
+    }
+
+    /**
+     * Liefert die ursprüngliche Kapazität eines Bogens, bei Rückwärtsbögen 0
+     *
+     * @param arc Index des Bogens
+     * @return Kapazität des Bogens
+     */
+    public double getCapacity(int arc)
+    {
+        return capacities[arc];
+    }
+
+    /**
+     * Liefert die Restkapazität eines Bogens
+     *
+     * @param arc Index des Bogens
+     * @return Restkapazität des Bogens
+     */
+    public double getResidualCapacity(int arc)
+    {
+        return residuals[arc];
+    }
+
+    /**
+     * Liefert den Fluss über einen Bogen, bei Rückwärtsbögen ist er negativ
+     *
+     * @param arc Index des Bogens
+     * @return Fluss über den Bogen
+     */
+    public double getFlow(int arc)
+    {
+        return capacities[arc] - residuals[arc];
+    }
+
+    /**
+     * Schickt Fluss über einen Bogen und gibt die gleiche Menge als Restkapazität an den Gegenbogen
+     *
+     * @param arc Index des Bogens
+     * @param amount Flussmenge
+     */
+    public void augment(int arc, double amount)
+    {
+        residuals[arc] -= amount;
+        residuals[arc ^ 1] += amount;
+    }
+
+    /**
+     * Entfernt den gesamten Fluss aus dem Netzwerk
+     */
+    public void resetFlow()
+    {
+        System.arraycopy(capacities, 0, residuals, 0, arcCount);
+    }
+
+    /**
+     * @return Summe über Fluss mal Kosten aller Kanten
+     */
+    public double calculateCost()
+    {
+        double cost = 0.0;
+        for (int arc = 0; arc < arcCount; arc += 2)
+        {
+            double flow = capacities[arc] - residuals[arc];
+            if (flow != 0.0)
+            {
+                cost += flow * costs[arc];
+            }
+        }
+
+        return cost;
+    }
+
+    private void buildAdjacency()
+    {
+        if (offsets != null)
+        {
+            return;
+        }
+
+        int[] counts = new int[vertexCount + 1];
+        for (int arc = 0; arc < arcCount; arc++)
+        {
+            counts[targets[arc ^ 1] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++)
+        {
+            counts[v + 1] += counts[v];
+        }
+
+        int[] arcs = new int[arcCount];
+        int[] position = Arrays.copyOf(counts, vertexCount);
+        for (int arc = 0; arc < arcCount; arc++)
+        {
+            arcs[position[targets[arc ^ 1]]++] = arc;
+        }
+
+        outgoingArcs = arcs;
+        offsets = counts;
+    }
+
+    private void checkVertex(int vertex)
+    {
+        if (vertex < 0 || vertex >= vertexCount)
+        {
+            throw new MissingVertexException(vertex);
+        }
+    }
+}
@@ -4,18 +4,25 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Die Klasse Vertex repräsentiert einen Knoten im Graphen
+ * Die Klasse Vertex repräsentiert einen Knoten im Graphen. Ankommende und abgehende Kanten liegen in
+ * {@link EdgeSlots}, so dass das Löschen einer Kante ihre Reihenfolge für Breiten- und Tiefensuche erhält und keine
+ * Kanten verschiebt.
  *
  * @author Georg Henkel <georg@develman.de>
  */
 public class Vertex
 {
+    // Ab dieser Anzahl abgehender Kanten wird für getEdgeTo ein Hash-Index gepflegt
+    static final int EDGE_INDEX_THRESHOLD = 8;
+
     private final Integer key;
     private Double balance;
-    private final List<Edge> incomingEdges = new ArrayList<>();
-    private final List<Edge> outgoingEdges = new ArrayList<>();
+    private final EdgeSlots incomingEdges = new IncomingSlots();
+    private final EdgeSlots outgoingEdges = new OutgoingSlots();
+    // Erste abgehende Kante je Endknoten, weitere Kanten zum selben Endknoten folgen über Edge.nextParallel
+    private EdgeIndex outgoingEdgeIndex;
 
-    private boolean visited = false;
+    int index = -1;
 
     /**
      * Erstellt einen neuen Knoten
@@ -67,29 +74,30 @@ public class Vertex
     }
 
     /**
-     * @return {@code true}, wenn der Knoten besucht wurde, sonst {@code false}
+     * @return Kopie der Liste der ankommenden Kanten
      */
-    public boolean isVisited()
+    public List<Edge> getIncomingEdges()
     {
-        return visited;
+        return incomingEdges.toList();
     }
 
     /**
-     * Setzt den Status, ob der Knoten besucht wurde oder nicht
-     *
-     * @param visited Aktueller Besuchsstatus des Knoten
+     * @return Anzahl der ankommenden Kanten
      */
-    public void setVisited(boolean visited)
+    public int countIncomingEdges()
     {
-        this.visited = visited;
+        return incomingEdges.size();
     }
 
     /**
-     * @return Liste der ankommenden Kanten
+     * Liefert eine ankommende Kante ohne die Kantenliste zu kopieren
+     *
+     * @param index Position der Kante, 0 bis {@link #countIncomingEdges()} - 1
+     * @return Ankommende Kante
      */
-    public List<Edge> getIncomingEdges()
+    public Edge getIncomingEdge(int index)
     {
-        return new ArrayList<>(incomingEdges);
+        return incomingEdges.get(index);
     }
 
     /**
@@ -113,11 +121,30 @@ public class Vertex
     }
 
     /**
-     * @return Liste der abgehenden Kanten
+     * @return Kopie der Liste der abgehenden Kanten
      */
     public List<Edge> getOutgoingEdges()
     {
-        return new ArrayList<>(outgoingEdges);
+        return outgoingEdges.toList();
+    }
+
+    /**
+     * @return Anzahl der abgehenden Kanten
+     */
+    public int countOutgoingEdges()
+    {
+        return outgoingEdges.size();
+    }
+
+    /**
+     * Liefert eine abgehende Kante ohne die Kantenliste zu kopieren
+     *
+     * @param index Position der Kante, 0 bis {@link #countOutgoingEdges()} - 1
+     * @return Abgehende Kante
+     */
+    public Edge getOutgoingEdge(int index)
+    {
+        return outgoingEdges.get(index);
     }
 
     /**
@@ -128,6 +155,15 @@ public class Vertex
     public void addOutgoingEdge(Edge edge)
     {
         outgoingEdges.add(edge);
+
+        if (outgoingEdgeIndex != null)
+        {
+            indexEdge(outgoingEdgeIndex, edge);
+        }
+        else if (outgoingEdges.size() > EDGE_INDEX_THRESHOLD)
+        {
+            buildOutgoingEdgeIndex();
+        }
     }
 
     /**
@@ -137,7 +173,10 @@ public class Vertex
      */
     public void removeOutgoingEdge(Edge edge)
     {
-        outgoingEdges.remove(edge);
+        if (outgoingEdges.remove(edge) && outgoingEdgeIndex != null)
+        {
+            unindexEdge(edge);
+        }
     }
 
     /**
@@ -163,22 +202,21 @@ public class Vertex
     }
 
     /**
-     * Sucht von einem Startknoten die Kante zu einem Endknoten
+     * Sucht von einem Startknoten die Kante zu einem Endknoten. Bei Knoten mit vielen abgehenden Kanten wird dafür ein
+     * Hash-Index beim Hinzufügen und Löschen der Kanten gepflegt, so dass die Suche in konstanter Zeit erfolgt. Die
+     * Suche verändert den Knoten nicht und kann daher aus mehreren Threads gleichzeitig erfolgen.
      *
      * @param sinkKey Schlüssel des Endknoten
      * @return Kante zwischen Start- und Endknoten
      */
-    public Edge getEdgeTo(Integer sinkKey)
+    public Edge getEdgeTo(int sinkKey)
     {
-        for (Edge edge : outgoingEdges)
+        if (outgoingEdgeIndex == null)
         {
-            if (edge.getSink().getKey().equals(sinkKey))
-            {
-                return edge;
-            }
+            return findEdgeTo(sinkKey);
         }
 
-        return null;
+        return outgoingEdgeIndex.get(sinkKey);
     }
 
     /**
@@ -189,8 +227,10 @@ public class Vertex
      */
     public Edge getEdgeFrom(Integer sourceKey)
     {
-        for (Edge edge : outgoingEdges)
+        EdgeSlots edges = outgoingEdges;
+        for (int slot = edges.nextSlot(0); slot < edges.endSlot(); slot = edges.nextSlot(slot + 1))
         {
+            Edge edge = edges.getAtSlot(slot);
             if (edge.getSource().getKey().equals(sourceKey))
             {
                 return edge;
@@ -200,9 +240,120 @@ public class Vertex
         return null;
     }
 
+    private Edge findEdgeTo(int sinkKey)
+    {
+        EdgeSlots edges = outgoingEdges;
+        for (int slot = edges.nextSlot(0); slot < edges.endSlot(); slot = edges.nextSlot(slot + 1))
+        {
+            Edge edge = edges.getAtSlot(slot);
+            if (edge.getSink().getKey() == sinkKey)
+            {
+                return edge;
+            }
+        }
+
+        return null;
+    }
+
+    private void buildOutgoingEdgeIndex()
+    {
+        EdgeIndex index = new EdgeIndex(outgoingEdges.size());
+        outgoingEdges.forEach(edge -> indexEdge(index, edge));
+        outgoingEdgeIndex = index;
+    }
+
+    /**
+     * Hängt eine Kante an die Kette der Kanten zu ihrem Endknoten an. Die Kette ist nur bei parallelen Kanten länger
+     * als eins.
+     */
+    private static void indexEdge(EdgeIndex index, Edge edge)
+    {
+        int sinkKey = edge.getSink().getKey();
+        Edge last = index.get(sinkKey);
+        if (last == null)
+        {
+            edge.nextParallel = null;
+            index.putIfAbsent(sinkKey, edge);
+            return;
+        }
+
+        while (last != edge && last.nextParallel != null)
+        {
+            last = last.nextParallel;
+        }
+        if (last != edge)
+        {
+            edge.nextParallel = null;
+            last.nextParallel = edge;
+        }
+    }
+
+    /**
+     * Entfernt eine Kante aus der Kette zu ihrem Endknoten, ohne parallele Kanten in konstanter Zeit
+     */
+    private void unindexEdge(Edge edge)
+    {
+        int sinkKey = edge.getSink().getKey();
+        Edge first = outgoingEdgeIndex.get(sinkKey);
+        if (first == edge)
+        {
+            if (edge.nextParallel != null)
+            {
+                outgoingEdgeIndex.put(sinkKey, edge.nextParallel);
+            }
+            else
+            {
+                outgoingEdgeIndex.remove(sinkKey);
+            }
+        }
+        else
+        {
+            for (Edge previous = first; previous != null; previous = previous.nextParallel)
+            {
+                if (previous.nextParallel == edge)
+                {
+                    previous.nextParallel = edge.nextParallel;
+                    break;
+                }
+            }
+        }
+
+        edge.nextParallel = null;
+    }
+
     @Override
     public String toString()
     {
         return key.toString();
     }
+
+    private static final class IncomingSlots extends EdgeSlots
+    {
+        @Override
+        int getSlot(Edge edge)
+        {
+            return edge.incomingSlot;
+        }
+
+        @Override
+        void setSlot(Edge edge, int slot)
+        {
+            edge.incomingSlot = slot;
+        }
+    }
+
+    private static final class OutgoingSlots extends EdgeSlots
+    {
+        @Override
+        int getSlot(Edge edge)
+        {
+            return edge.outgoingSlot;
+        }
+
+        @Override
+        void setSlot(Edge edge, int slot)
+        {
+            edge.outgoingSlot = slot;
+        }
+    }
 }
@@ -0,0 +1,68 @@
+package de.develman.mmi.model;
+
+import de.develman.mmi.exception.MissingVertexException;
+
+/**
+ * Die Klasse VisitedVertices hält den Besuchsstatus der Knoten eines Graphen für einen Lauf eines Algorithmus, ohne
+ * die Knoten selbst zu verändern. Die Knoten werden über {@link Graph#indexOf(Vertex)} markiert, eine Instanz wird je
+ * Lauf mit der Knotenanzahl des Graphen angelegt und hält nach dem Lauf keine Knoten fest.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public final class VisitedVertices
+{
+    private final Graph graph;
+    private final boolean[] visited;
+
+    /**
+     * Erstellt den Besuchsstatus für einen Lauf, anfangs ist kein Knoten besucht
+     *
+     * @param graph Graph, dessen Knoten markiert werden
+     */
+    public VisitedVertices(Graph graph)
+    {
+        this.graph = graph;
+        this.visited = new boolean[graph.countVertices()];
+    }
+
+    /**
+     * @param vertex Knoten
+     * @return {@code true}, wenn der Knoten besucht wurde, sonst {@code false}
+     */
+    public boolean isVisited(Vertex vertex)
+    {
+        int index = graph.indexOf(vertex);
+        return index >= 0 && visited[index];
+    }
+
+    /**
+     * Markiert einen Knoten als besucht
+     *
+     * @param vertex Knoten
+     * @throws MissingVertexException
+     */
+    public void visit(Vertex vertex) throws MissingVertexException
+    {
+        int index = graph.indexOf(vertex);
+        if (index < 0)
+        {
+            throw new MissingVertexException(vertex.getKey());
+        }
+
+        visited[index] = true;
+    }
+
+    /**
+     * Hebt die Markierung eines Knotens auf
+     *
+     * @param vertex Knoten
+     */
+    public void unvisit(Vertex vertex)
+    {
+        int index = graph.indexOf(vertex);
+        if (index >= 0)
+        {
+            visited[index] = false;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package de.develman.mmi.model.algorithm;
+
+/**
+ * Matching in einem bipartiten {@link de.develman.mmi.model.CompactGraph}. Für jeden Knotenindex enthält
+ * {@code mates} den Index des zugeordneten Knotens oder -1, wenn der Knoten ungematcht ist.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class BipartiteMatching
+{
+    private int size;
+    private int[] mates;
+
+    public int getSize()
+    {
+        return size;
+    }
+
+    public void setSize(int size)
+    {
+        this.size = size;
+    }
+
+    public int[] getMates()
+    {
+        return mates;
+    }
+
+    public void setMates(int[] mates)
+    {
+        this.mates = mates;
+    }
+}
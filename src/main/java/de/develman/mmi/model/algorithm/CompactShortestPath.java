@@ -0,0 +1,33 @@
+package de.develman.mmi.model.algorithm;
+
+/**
+ * Kürzester Weg in einem {@link de.develman.mmi.model.CompactGraph} oder {@link de.develman.mmi.model.ResidualNetwork},
+ * die Bögen liegen in Wegreihenfolge vor
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class CompactShortestPath
+{
+    private double length;
+    private int[] arcs;
+
+    public double getLength()
+    {
+        return length;
+    }
+
+    public void setLength(double length)
+    {
+        this.length = length;
+    }
+
+    public int[] getArcs()
+    {
+        return arcs;
+    }
+
+    public void setArcs(int[] arcs)
+    {
+        this.arcs = arcs;
+    }
+}
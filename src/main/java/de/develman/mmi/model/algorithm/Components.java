@@ -0,0 +1,45 @@
+package de.develman.mmi.model.algorithm;
+
+/**
+ * Zusammenhangskomponenten eines {@link de.develman.mmi.model.Graph}. {@code componentIds} enthält für jeden
+ * Knotenindex die Nummer seiner Komponente, die Komponenten sind in der Reihenfolge ihres kleinsten Knotenindex
+ * nummeriert. {@code sizes} enthält die Anzahl der Knoten je Komponente.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class Components
+{
+    private int count;
+    private int[] componentIds;
+    private int[] sizes;
+
+    public int getCount()
+    {
+        return count;
+    }
+
+    public void setCount(int count)
+    {
+        this.count = count;
+    }
+
+    public int[] getComponentIds()
+    {
+        return componentIds;
+    }
+
+    public void setComponentIds(int[] componentIds)
+    {
+        this.componentIds = componentIds;
+    }
+
+    public int[] getSizes()
+    {
+        return sizes;
+    }
+
+    public void setSizes(int[] sizes)
+    {
+        this.sizes = sizes;
+    }
+}
@@ -1,71 +1,52 @@
 package de.develman.mmi.parser;
 
+import de.develman.mmi.model.CompactGraph;
 import de.develman.mmi.model.Graph;
-import de.develman.mmi.parser.impl.AdjacentMatrixLoader;
-import de.develman.mmi.parser.impl.EdgeListLoader;
-import java.io.BufferedReader;
+import de.develman.mmi.parser.impl.StreamingLoader;
 import java.io.File;
-import java.io.FileReader;
-import java.io.IOException;
-import java.util.StringTokenizer;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 
 /**
  * @author Georg Henkel <georg@develman.de>
  */
 public class FileParser
 {
-    private static final Logger LOG = LoggerFactory.getLogger(FileParser.class);
-
-    private final File file;
+    private final StreamingLoader loader;
 
     public FileParser(File file)
     {
-        this.file = file;
+        this.loader = new StreamingLoader(file);
     }
 
-    public Graph loadGraph(boolean directed, boolean balanced, boolean grouped)
+    public FileParser(InputStream input)
     {
-        GraphLoader loader;
-        if (isAdjacent())
-        {
-            LOG.debug("Using AdjacentMatrixLoader for loading graph");
-            loader = new AdjacentMatrixLoader(file);
-        }
-        else
-        {
-            LOG.debug("Using EdgeListLoader for loading graph");
-            loader = new EdgeListLoader(file);
-        }
-
-        return loader.loadGraph(directed, balanced, grouped);
+        this(Channels.newChannel(input));
     }
 
-    private boolean isAdjacent()
+    public FileParser(ReadableByteChannel channel)
     {
-        boolean adjacent = false;
-        try (BufferedReader lineReader = new BufferedReader(new FileReader(file)))
-        {
-            String firstLine = lineReader.readLine().trim();
-            int countVertices = Integer.parseInt(firstLine);
+        this.loader = new StreamingLoader(channel);
+    }
 
-            LOG.debug("Count of vertices is: " + countVertices);
+    /**
+     * Legt fest, ob die Einträge einer Adjazenzmatrix als Gewichte gelesen werden
+     *
+     * @param weighted {@code true} für gewichtete Einträge
+     */
+    public void setWeighted(boolean weighted)
+    {
+        loader.setWeighted(weighted);
+    }
 
-            String secondLine = lineReader.readLine();
-            StringTokenizer st = new StringTokenizer(secondLine);
-            if (st.countTokens() == countVertices)
-            {
-                LOG.debug("File content is adjacent");
-                adjacent = true;
-            }
-        }
-        catch (IOException ex)
-        {
-            LOG.error("Could not open file", ex);
-            throw new RuntimeException("Error loading file", ex);
-        }
+    public Graph loadGraph(boolean directed, boolean balanced, boolean grouped)
+    {
+        return loader.loadGraph(directed, balanced, grouped);
+    }
 
-        return adjacent;
+    public CompactGraph loadCompactGraph(boolean directed, boolean balanced, boolean grouped)
+    {
+        return loader.loadCompactGraph(directed, balanced, grouped);
     }
 }
@@ -1,5 +1,6 @@
 package de.develman.mmi.parser;
 
+import de.develman.mmi.model.CompactGraph;
 import de.develman.mmi.model.Graph;
 
 /**
@@ -8,4 +9,6 @@ import de.develman.mmi.model.Graph;
 public interface GraphLoader
 {
     Graph loadGraph(boolean directed, boolean balanced, boolean grouped);
+
+    CompactGraph loadCompactGraph(boolean directed, boolean balanced, boolean grouped);
 }
@@ -1,7 +1,8 @@
 package de.develman.mmi.parser.impl;
 
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.CompactGraphBuilder;
 import de.develman.mmi.model.Graph;
-import de.develman.mmi.model.Vertex;
 import de.develman.mmi.parser.GraphLoader;
 import java.io.BufferedReader;
 import java.io.File;
@@ -27,11 +28,22 @@ public abstract class AbstractLoader implements GraphLoader
     @Override
     public Graph loadGraph(boolean directed, boolean balanced, boolean grouped)
     {
-        Graph graph = new Graph(directed);
+        return parse(directed, balanced, grouped).buildGraph();
+    }
+
+    @Override
+    public CompactGraph loadCompactGraph(boolean directed, boolean balanced, boolean grouped)
+    {
+        return parse(directed, balanced, grouped).build();
+    }
+
+    private CompactGraphBuilder parse(boolean directed, boolean balanced, boolean grouped)
+    {
+        CompactGraphBuilder builder = new CompactGraphBuilder(directed);
         try (BufferedReader lineReader = new BufferedReader(new FileReader(file)))
         {
-            addVertices(graph, lineReader, balanced, grouped);
-            loadEdges(graph, lineReader, grouped);
+            addVertices(builder, lineReader, balanced, grouped);
+            loadEdges(builder, lineReader, grouped);
         }
         catch (IOException ex)
         {
@@ -39,10 +51,11 @@ public abstract class AbstractLoader implements GraphLoader
             throw new RuntimeException("Error loading file", ex);
         }
 
-        return graph;
+        return builder;
     }
 
-    protected void addVertices(Graph graph, BufferedReader lineReader, boolean balanced, boolean grouped) throws IOException
+    protected void addVertices(CompactGraphBuilder builder, BufferedReader lineReader, boolean balanced,
+            boolean grouped) throws IOException
     {
         String firstLine = lineReader.readLine().trim();
         int countVertices = Integer.parseInt(firstLine);
@@ -51,27 +64,22 @@ public abstract class AbstractLoader implements GraphLoader
         {
             String line = lineReader.readLine().trim();
             int groupedVerticeCount = Integer.parseInt(line);
-            graph.setGroupedVerticeCount(groupedVerticeCount);
+            builder.setGroupedVerticeCount(groupedVerticeCount);
         }
 
         for (int i = 0; i < countVertices; i++)
         {
-
-            Double balance = Double.NaN;
+            double balance = Double.NaN;
             if (balanced)
             {
                 String line = lineReader.readLine().trim();
                 balance = Double.parseDouble(line);
             }
 
-            Vertex vertex = graph.getVertex(i);
-            if (vertex == null)
-            {
-                vertex = new Vertex(i, balance);
-                graph.addVertex(vertex);
-            }
+            builder.addVertex(i, balance);
         }
     }
 
-    protected abstract void loadEdges(Graph graph, BufferedReader lineReader, boolean grouped) throws IOException;
+    protected abstract void loadEdges(CompactGraphBuilder builder, BufferedReader lineReader, boolean grouped) throws
+            IOException;
 }
@@ -1,49 +1,132 @@
 package de.develman.mmi.parser.impl;
 
-import de.develman.mmi.model.Edge;
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.CompactGraphBuilder;
 import de.develman.mmi.model.Graph;
-import de.develman.mmi.model.Vertex;
-import java.io.BufferedReader;
+import de.develman.mmi.parser.GraphLoader;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
+ * Der AdjacentMatrixLoader liest Adjazenzmatrizen. Die Datei wird in den Speicher abgebildet und Zeile für Zeile mit
+ * dem {@link ByteTokenizer} gelesen. Nullen werden auf Byte-Ebene übersprungen, nur die übrigen Einträge werden als
+ * Zahl gelesen und direkt an den {@link CompactGraphBuilder} übergeben. Dünn besetzte Matrizen kosten damit kaum mehr
+ * als das einmalige Lesen ihrer Bytes.
+ *
  * @author Georg Henkel <georg@develman.de>
  */
-public class AdjacentMatrixLoader extends AbstractLoader
+public class AdjacentMatrixLoader implements GraphLoader
 {
+    private static final Logger LOG = LoggerFactory.getLogger(AdjacentMatrixLoader.class);
+
+    private final File file;
+    private boolean weighted;
+
     public AdjacentMatrixLoader(File file)
     {
-        super(file);
+        this.file = file;
+    }
+
+    /**
+     * Legt fest, ob die Einträge der Matrix als Gewichte gelesen werden. Ohne Gewichte wird jeder positive Eintrag zu
+     * einer ungewichteten Kante, mit Gewichten jeder Eintrag ungleich Null zu einer Kante mit dem Eintrag als Kosten
+     * und Kapazität.
+     *
+     * @param weighted {@code true} für gewichtete Einträge
+     */
+    public void setWeighted(boolean weighted)
+    {
+        this.weighted = weighted;
     }
 
     @Override
-    protected void loadEdges(Graph graph, BufferedReader lineReader, boolean grouped) throws IOException
+    public Graph loadGraph(boolean directed, boolean balanced, boolean grouped)
     {
-        int cnt = 0;
-        String strLine;
-        while ((strLine = lineReader.readLine()) != null)
+        return parse(directed, balanced, grouped).buildGraph();
+    }
+
+    @Override
+    public CompactGraph loadCompactGraph(boolean directed, boolean balanced, boolean grouped)
+    {
+        return parse(directed, balanced, grouped).build();
+    }
+
+    private CompactGraphBuilder parse(boolean directed, boolean balanced, boolean grouped)
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
         {
-            Vertex source = graph.getVertex(cnt);
-            loadEdges(graph, source, strLine);
+            ByteTokenizer tokenizer = ByteTokenizer.map(channel);
+            CompactGraphBuilder builder = MappedEdgeListLoader.addVertices(tokenizer, directed, balanced, grouped, 0);
+            loadEdges(builder, tokenizer, weighted);
 
-            cnt++;
+            return builder;
+        }
+        catch (IOException ex)
+        {
+            LOG.error("Could not load file", ex);
+            throw new RuntimeException("Error loading file", ex);
         }
     }
 
-    private void loadEdges(Graph graph, Vertex source, String strLine)
+    /**
+     * Prüft anhand der ersten beiden Zeilen, ob eine Adjazenzmatrix vorliegt. Das ist der Fall, wenn die zweite Zeile
+     * so viele Einträge wie Knoten enthält.
+     *
+     * @param prefix Puffer mit den ersten beiden Zeilen
+     * @return {@code true}, wenn eine Adjazenzmatrix vorliegt
+     * @throws IOException
+     */
+    static boolean isAdjacent(ByteBuffer prefix) throws IOException
     {
-        String[] vEntries = strLine.split("\\s+");
-        for (int i = 0; i < vEntries.length; i++)
+        ByteTokenizer tokenizer = new ByteTokenizer(prefix);
+        int countVertices = tokenizer.nextInt();
+        tokenizer.nextLine();
+
+        int countTokens = 0;
+        while (tokenizer.hasToken())
         {
-            int value = Integer.parseInt(vEntries[i]);
-            if (value > 0)
+            tokenizer.skipToken();
+            countTokens++;
+        }
+
+        return countTokens == countVertices;
+    }
+
+    /**
+     * Liest die Zeilen der Matrix ab der aktuellen Position des Tokenizers
+     *
+     * @param builder Builder mit allen Knoten
+     * @param tokenizer Tokenizer, der am Anfang der ersten Zeile steht
+     * @param weighted Gibt an, ob die Einträge als Gewichte gelesen werden, siehe {@link #setWeighted(boolean)}
+     * @throws IOException
+     */
+    static void loadEdges(CompactGraphBuilder builder, ByteTokenizer tokenizer, boolean weighted) throws IOException
+    {
+        int cnt = 0;
+        while (!tokenizer.isAtEnd())
+        {
+            int source = builder.indexOf(cnt);
+            int i = tokenizer.skipZeros();
+            while (tokenizer.hasToken())
             {
-                Vertex sink = graph.getVertex(i);
+                double value = tokenizer.nextDouble();
+                if (weighted ? value != 0.0 : value > 0.0)
+                {
+                    int sink = builder.indexOf(i);
+                    double weight = weighted ? value : Double.NaN;
+                    builder.addEdge(source, sink, weight, weight);
+                }
 
-                Edge edge = new Edge(source, sink);
-                graph.addEdge(edge);
+                i += 1 + tokenizer.skipZeros();
             }
+
+            tokenizer.nextLine();
+            cnt++;
         }
     }
 }
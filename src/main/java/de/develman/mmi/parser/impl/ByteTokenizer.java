@@ -0,0 +1,565 @@
+package de.develman.mmi.parser.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Der ByteTokenizer zerlegt eine Graphdatei direkt auf Byte-Ebene in Zahlen, ohne Zeilen oder Tokens als Strings
+ * anzulegen. Tokens werden durch Leerzeichen und Tabulatoren getrennt, Zeilen enden mit '\n', ein vorangehendes '\r'
+ * wird überlesen. Die Zahlen liefern dieselben Werte wie {@link Integer#parseInt(String)} und
+ * {@link Double#parseDouble(String)}.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class ByteTokenizer
+{
+    private static final double[] POWERS_OF_TEN =
+    {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19,
+        1e20, 1e21, 1e22
+    };
+    // Bis zu dieser Anzahl signifikanter Stellen ist die Mantisse als double exakt darstellbar
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    private ByteBuffer buffer;
+    // Anzahl der Bytes aller bereits vollständig gelesenen Puffer
+    private long offset;
+    private byte[] token = new byte[32];
+    private int tokenLength;
+    // Bereits gelesener Anfang des nächsten Tokens, siehe skipZeros()
+    private int pendingLength;
+
+    /**
+     * Erstellt einen Tokenizer über den verbleibenden Bytes eines Puffers
+     *
+     * @param buffer Puffer, dessen Position beim Lesen fortgeschrieben wird
+     */
+    public ByteTokenizer(ByteBuffer buffer)
+    {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Erstellt einen Tokenizer, der eine Datei abschnittsweise in den Speicher abbildet
+     *
+     * @param channel Kanal der Datei
+     * @return Tokenizer über den gesamten Dateiinhalt
+     * @throws IOException
+     */
+    public static ByteTokenizer map(FileChannel channel) throws IOException
+    {
+        return new MappedTokenizer(channel, 0, channel.size());
+    }
+
+    /**
+     * Erstellt einen Tokenizer, der einen Kanal fortlaufend in einen Puffer liest, etwa einen entpackten Datenstrom
+     *
+     * @param channel Kanal, der nur vorwärts gelesen wird
+     * @return Tokenizer über alle Daten des Kanals
+     */
+    public static ByteTokenizer read(ReadableByteChannel channel)
+    {
+        return new ChannelTokenizer(channel);
+    }
+
+    /**
+     * Liefert den nächsten Puffer, wenn der aktuelle vollständig gelesen wurde
+     *
+     * @return Nächster Puffer oder {@code null}, wenn keine Daten mehr folgen
+     * @throws IOException
+     */
+    protected ByteBuffer nextBuffer() throws IOException
+    {
+        return null;
+    }
+
+    /**
+     * Liefert einen Puffer, der die ungelesenen Bytes des aktuellen Puffers und weitere Daten enthält
+     *
+     * @return Erweiterter Puffer oder {@code null}, wenn der Puffer nicht erweitert werden kann
+     * @throws IOException
+     */
+    protected ByteBuffer extendBuffer() throws IOException
+    {
+        return null;
+    }
+
+    /**
+     * Liefert die nächsten Zeilen aus dem bereits gepufferten Bereich, ohne sie zu lesen. Reicht der Puffer nicht aus,
+     * wird er soweit möglich erweitert. So kann das Format einer Datei erkannt und die Datei anschließend im selben
+     * Durchgang gelesen werden.
+     *
+     * @param lines Anzahl der Zeilen
+     * @return Puffer mit den nächsten Zeilen oder allen verbleibenden Daten, wenn es weniger Zeilen gibt
+     * @throws IOException
+     */
+    public ByteBuffer peekLines(int lines) throws IOException
+    {
+        if (!ensureAvailable())
+        {
+            return buffer.duplicate();
+        }
+
+        while (true)
+        {
+            int found = 0;
+            for (int i = buffer.position(); i < buffer.limit(); i++)
+            {
+                if (buffer.get(i) == '\n' && ++found == lines)
+                {
+                    ByteBuffer prefix = buffer.duplicate();
+                    prefix.limit(i + 1);
+                    return prefix;
+                }
+            }
+
+            ByteBuffer extended = extendBuffer();
+            if (extended == null)
+            {
+                return buffer.duplicate();
+            }
+
+            offset += buffer.position();
+            buffer = extended;
+        }
+    }
+
+    /**
+     * @return {@code true}, wenn die aktuelle Zeile ein weiteres Token enthält
+     * @throws IOException
+     */
+    public boolean hasToken() throws IOException
+    {
+        int b = skipBlanks();
+        return b != -1 && b != '\n';
+    }
+
+    /**
+     * Überliest den Rest der aktuellen Zeile einschließlich des Zeilenumbruchs
+     *
+     * @return {@code true}, wenn danach noch Daten folgen
+     * @throws IOException
+     */
+    public boolean nextLine() throws IOException
+    {
+        pendingLength = 0;
+        while (ensureAvailable())
+        {
+            if (buffer.get() == '\n')
+            {
+                return ensureAvailable();
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return Anzahl der bisher gelesenen Bytes, bei einer abgebildeten Datei also die Position in der Datei
+     */
+    public long position()
+    {
+        return offset + buffer.position();
+    }
+
+    /**
+     * @return {@code true}, wenn alle Daten gelesen wurden
+     * @throws IOException
+     */
+    public boolean isAtEnd() throws IOException
+    {
+        return !ensureAvailable();
+    }
+
+    /**
+     * Überliest das nächste Token der aktuellen Zeile
+     *
+     * @throws IOException
+     */
+    public void skipToken() throws IOException
+    {
+        pendingLength = 0;
+        int b = skipBlanks();
+        while (b != -1 && !isSeparator(b))
+        {
+            buffer.get();
+            b = peek();
+        }
+    }
+
+    /**
+     * Überliest alle aufeinanderfolgenden Tokens der aktuellen Zeile, die genau aus einer '0' bestehen. Die Bytes
+     * werden nur einmal betrachtet und nicht in den Tokenpuffer kopiert, das macht dünn besetzte Adjazenzmatrizen
+     * schnell lesbar. Beginnt ein folgendes Token mit '0', etwa "0.5", wird es normal weitergelesen.
+     *
+     * @return Anzahl der überlesenen Nullen
+     * @throws IOException
+     */
+    public int skipZeros() throws IOException
+    {
+        if (pendingLength > 0)
+        {
+            return 0;
+        }
+
+        int count = 0;
+        while (skipBlanks() == '0')
+        {
+            buffer.get();
+            int b = peek();
+            if (b != -1 && !isSeparator(b))
+            {
+                token[0] = '0';
+                pendingLength = 1;
+                break;
+            }
+
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Liest das nächste Token der aktuellen Zeile und liefert sein erstes Zeichen, etwa die Kennung einer Zeile
+     *
+     * @return Erstes Zeichen des Tokens
+     * @throws IOException
+     * @throws NumberFormatException Wenn die Zeile kein Token mehr enthält
+     */
+    public char nextChar() throws IOException
+    {
+        readToken();
+        return (char) (token[0] & 0xff);
+    }
+
+    /**
+     * Liest das nächste Token der aktuellen Zeile als Text
+     *
+     * @return Token
+     * @throws IOException
+     * @throws NumberFormatException Wenn die Zeile kein Token mehr enthält
+     */
+    public String nextWord() throws IOException
+    {
+        readToken();
+        return new String(token, 0, tokenLength, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Liest das nächste Token der aktuellen Zeile als Ganzzahl
+     *
+     * @return Wert des Tokens
+     * @throws IOException
+     * @throws NumberFormatException Wenn das Token keine Ganzzahl ist oder die Zeile kein Token mehr enthält
+     */
+    public int nextInt() throws IOException
+    {
+        readToken();
+
+        int i = 0;
+        boolean negative = token[0] == '-';
+        if (negative || token[0] == '+')
+        {
+            i++;
+        }
+        if (i == tokenLength)
+        {
+            throw invalidToken();
+        }
+
+        long value = 0;
+        for (; i < tokenLength; i++)
+        {
+            int digit = token[i] - '0';
+            if (digit < 0 || digit > 9)
+            {
+                throw invalidToken();
+            }
+
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1)
+            {
+                throw invalidToken();
+            }
+        }
+
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE)
+        {
+            throw invalidToken();
+        }
+
+        return (int) value;
+    }
+
+    /**
+     * Liest das nächste Token der aktuellen Zeile als Gleitkommazahl. Dezimalzahlen mit höchstens 15 signifikanten
+     * Stellen werden direkt aus den Bytes berechnet, alle anderen Schreibweisen über {@link Double#parseDouble}.
+     *
+     * @return Wert des Tokens
+     * @throws IOException
+     * @throws NumberFormatException Wenn das Token keine Zahl ist oder die Zeile kein Token mehr enthält
+     */
+    public double nextDouble() throws IOException
+    {
+        readToken();
+
+        int i = 0;
+        boolean negative = token[0] == '-';
+        if (negative || token[0] == '+')
+        {
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        for (; i < tokenLength && isDigit(token[i]); i++)
+        {
+            mantissa = mantissa * 10 + (token[i] - '0');
+            digits += mantissa != 0 ? 1 : 0;
+            anyDigit = true;
+        }
+        if (i < tokenLength && token[i] == '.')
+        {
+            for (i++; i < tokenLength && isDigit(token[i]); i++)
+            {
+                mantissa = mantissa * 10 + (token[i] - '0');
+                digits += mantissa != 0 ? 1 : 0;
+                exponent--;
+                anyDigit = true;
+            }
+        }
+        if (anyDigit && i < tokenLength && (token[i] == 'e' || token[i] == 'E'))
+        {
+            i++;
+            boolean negativeExponent = i < tokenLength && token[i] == '-';
+            if (i < tokenLength && (token[i] == '-' || token[i] == '+'))
+            {
+                i++;
+            }
+
+            int exponentValue = 0;
+            int start = i;
+            for (; i < tokenLength && isDigit(token[i]) && exponentValue < 1000; i++)
+            {
+                exponentValue = exponentValue * 10 + (token[i] - '0');
+            }
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+            anyDigit = i > start;
+        }
+
+        if (!anyDigit || i != tokenLength || digits > MAX_EXACT_DIGITS || exponent < -22 || exponent > 22)
+        {
+            return parseFallback();
+        }
+
+        double value = mantissa;
+        if (exponent < 0)
+        {
+            value /= POWERS_OF_TEN[-exponent];
+        }
+        else if (exponent > 0)
+        {
+            value *= POWERS_OF_TEN[exponent];
+        }
+
+        return negative ? -value : value;
+    }
+
+    private double parseFallback()
+    {
+        return Double.parseDouble(new String(token, 0, tokenLength, StandardCharsets.US_ASCII));
+    }
+
+    private void readToken() throws IOException
+    {
+        tokenLength = pendingLength;
+        pendingLength = 0;
+
+        int b = skipBlanks();
+        while (b != -1 && !isSeparator(b))
+        {
+            if (tokenLength == token.length)
+            {
+                token = Arrays.copyOf(token, tokenLength * 2);
+            }
+
+            token[tokenLength++] = (byte) b;
+            buffer.get();
+            b = peek();
+        }
+
+        if (tokenLength == 0)
+        {
+            throw new NumberFormatException("Missing value");
+        }
+    }
+
+    private NumberFormatException invalidToken()
+    {
+        return new NumberFormatException("For input string: \"" + new String(token, 0, tokenLength,
+                StandardCharsets.US_ASCII) + "\"");
+    }
+
+    private int skipBlanks() throws IOException
+    {
+        int b = peek();
+        while (b == ' ' || b == '\t' || b == '\r')
+        {
+            buffer.get();
+            b = peek();
+        }
+
+        return b;
+    }
+
+    private int peek() throws IOException
+    {
+        return ensureAvailable() ? buffer.get(buffer.position()) : -1;
+    }
+
+    private boolean ensureAvailable() throws IOException
+    {
+        while (!buffer.hasRemaining())
+        {
+            ByteBuffer next = nextBuffer();
+            if (next == null)
+            {
+                return false;
+            }
+
+            offset += buffer.limit();
+            buffer = next;
+        }
+
+        return true;
+    }
+
+    private static boolean isDigit(byte b)
+    {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isSeparator(int b)
+    {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    /**
+     * Bildet einen Dateibereich in Fenstern von höchstens 1 GiB ab, da ein einzelner MappedByteBuffer auf 2 GiB
+     * begrenzt ist. Da nie zurückgelesen wird, beginnt jedes Fenster genau hinter dem vorherigen.
+     */
+    private static final class MappedTokenizer extends ByteTokenizer
+    {
+        private static final long WINDOW_SIZE = 1L << 30;
+
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        MappedTokenizer(FileChannel channel, long position, long end) throws IOException
+        {
+            super(ByteBuffer.allocate(0));
+            this.channel = channel;
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        protected ByteBuffer nextBuffer() throws IOException
+        {
+            if (position >= end)
+            {
+                return null;
+            }
+
+            long size = Math.min(WINDOW_SIZE, end - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            position += size;
+
+            return window;
+        }
+    }
+
+    /**
+     * Liest einen Kanal abwechselnd in zwei Puffer, der gerade zerlegte Puffer bleibt dabei unverändert
+     */
+    private static final class ChannelTokenizer extends ByteTokenizer
+    {
+        private static final int BUFFER_SIZE = 1 << 16;
+
+        private final ReadableByteChannel channel;
+        private ByteBuffer current;
+        private ByteBuffer spare = ByteBuffer.allocate(BUFFER_SIZE);
+
+        ChannelTokenizer(ReadableByteChannel channel)
+        {
+            this(channel, ByteBuffer.allocate(BUFFER_SIZE));
+        }
+
+        private ChannelTokenizer(ReadableByteChannel channel, ByteBuffer current)
+        {
+            super((ByteBuffer) current.flip());
+            this.channel = channel;
+            this.current = current;
+        }
+
+        @Override
+        protected ByteBuffer nextBuffer() throws IOException
+        {
+            ByteBuffer next = spare;
+            next.clear();
+            if (!fill(next))
+            {
+                return null;
+            }
+
+            spare = current;
+            current = next;
+
+            return next;
+        }
+
+        @Override
+        protected ByteBuffer extendBuffer() throws IOException
+        {
+            ByteBuffer extended = ByteBuffer.allocate(Math.max(BUFFER_SIZE, current.capacity() * 2));
+            extended.put(current.duplicate());
+            if (!fill(extended))
+            {
+                return null;
+            }
+
+            current = extended;
+            return extended;
+        }
+
+        /**
+         * Liest, bis der Puffer voll ist oder der Kanal endet, und bereitet den Puffer zum Lesen vor
+         *
+         * @return {@code true}, wenn neue Daten gelesen wurden
+         */
+        private boolean fill(ByteBuffer target) throws IOException
+        {
+            int start = target.position();
+            while (target.hasRemaining())
+            {
+                if (channel.read(target) < 0)
+                {
+                    break;
+                }
+            }
+            target.flip();
+
+            return target.limit() > start;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package de.develman.mmi.parser.impl;
+
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.CompactGraphBuilder;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.parser.GraphLoader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Der DimacsLoader liest Graphen im DIMACS-Format für Flussprobleme ({@code p min}, {@code p max}) und kürzeste Wege
+ * ({@code p sp}), wie sie der {@link de.develman.mmi.export.DimacsExporter} schreibt. Die Knoten erhalten die
+ * Schlüssel 0 bis n-1. Bei {@code p min} werden die Knotenzeilen zu Balancen, untere Schranken der Kanten werden nicht
+ * unterstützt und überlesen. Bei {@code p max} und {@code p sp} trägt jede Kante ihren einzigen Wert als Kapazität und
+ * Kosten, Quelle und Senke eines Max-Flow-Problems sind nach dem Laden über {@link #getSource()} und
+ * {@link #getSink()} abrufbar.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class DimacsLoader implements GraphLoader
+{
+    private static final Logger LOG = LoggerFactory.getLogger(DimacsLoader.class);
+
+    private final File file;
+    private int source = -1;
+    private int sink = -1;
+
+    public DimacsLoader(File file)
+    {
+        this.file = file;
+    }
+
+    /**
+     * @return Schlüssel der Quelle des zuletzt geladenen Max-Flow-Problems oder -1
+     */
+    public int getSource()
+    {
+        return source;
+    }
+
+    /**
+     * @return Schlüssel der Senke des zuletzt geladenen Max-Flow-Problems oder -1
+     */
+    public int getSink()
+    {
+        return sink;
+    }
+
+    /**
+     * @param grouped Wird nicht unterstützt und ignoriert
+     */
+    @Override
+    public Graph loadGraph(boolean directed, boolean balanced, boolean grouped)
+    {
+        return parse(directed, balanced).buildGraph();
+    }
+
+    /**
+     * @param grouped Wird nicht unterstützt und ignoriert
+     */
+    @Override
+    public CompactGraph loadCompactGraph(boolean directed, boolean balanced, boolean grouped)
+    {
+        return parse(directed, balanced).build();
+    }
+
+    private CompactGraphBuilder parse(boolean directed, boolean balanced)
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            return parse(ByteTokenizer.map(channel), directed, balanced);
+        }
+        catch (IOException ex)
+        {
+            LOG.error("Could not load file", ex);
+            throw new RuntimeException("Error loading file", ex);
+        }
+    }
+
+    private CompactGraphBuilder parse(ByteTokenizer tokenizer, boolean directed, boolean balanced) throws
+            IOException
+    {
+        source = -1;
+        sink = -1;
+
+        CompactGraphBuilder builder = null;
+        String problem = null;
+        double[] balances = null;
+        while (!tokenizer.isAtEnd())
+        {
+            char kind = tokenizer.hasToken() ? tokenizer.nextChar() : 'c';
+            if (kind == 'p')
+            {
+                problem = tokenizer.nextWord();
+                int countVertices = tokenizer.nextInt();
+                builder = new CompactGraphBuilder(directed, countVertices, tokenizer.nextInt());
+                balances = new double[countVertices];
+            }
+            else if (kind == 'n')
+            {
+                int key = tokenizer.nextInt() - 1;
+                if ("max".equals(problem))
+                {
+                    char type = tokenizer.nextChar();
+                    source = type == 's' ? key : source;
+                    sink = type == 't' ? key : sink;
+                }
+                else
+                {
+                    balances[key] = tokenizer.nextDouble();
+                }
+            }
+            else if (kind == 'a')
+            {
+                if (builder.countVertices() == 0)
+                {
+                    addVertices(builder, balances, balanced);
+                }
+                loadEdge(builder, tokenizer, problem);
+            }
+            else if (kind != 'c')
+            {
+                throw new IllegalArgumentException("Unknown DIMACS line: " + kind);
+            }
+
+            tokenizer.nextLine();
+        }
+
+        if (builder == null)
+        {
+            throw new IllegalArgumentException("Missing DIMACS problem line");
+        }
+        if (builder.countVertices() == 0)
+        {
+            addVertices(builder, balances, balanced);
+        }
+
+        return builder;
+    }
+
+    private void addVertices(CompactGraphBuilder builder, double[] balances, boolean balanced)
+    {
+        for (int i = 0; i < balances.length; i++)
+        {
+            builder.addVertex(i, balanced ? balances[i] : Double.NaN);
+        }
+    }
+
+    private void loadEdge(CompactGraphBuilder builder, ByteTokenizer tokenizer, String problem) throws IOException
+    {
+        int edgeSource = builder.indexOf(tokenizer.nextInt() - 1);
+        int edgeSink = builder.indexOf(tokenizer.nextInt() - 1);
+
+        if ("min".equals(problem))
+        {
+            tokenizer.skipToken();
+            double capacity = tokenizer.nextDouble();
+            builder.addEdge(edgeSource, edgeSink, capacity, tokenizer.nextDouble());
+        }
+        else
+        {
+            double value = tokenizer.nextDouble();
+            builder.addEdge(edgeSource, edgeSink, value, value);
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package de.develman.mmi.parser.impl;
 
-import de.develman.mmi.model.Edge;
-import de.develman.mmi.model.Graph;
-import de.develman.mmi.model.Vertex;
+import de.develman.mmi.model.CompactGraphBuilder;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
@@ -18,32 +16,33 @@ public class EdgeListLoader extends AbstractLoader
     }
 
     @Override
-    protected void loadEdges(Graph graph, BufferedReader lineReader, boolean grouped) throws IOException
+    protected void loadEdges(CompactGraphBuilder builder, BufferedReader lineReader, boolean grouped) throws
+            IOException
     {
         String strLine;
         while ((strLine = lineReader.readLine()) != null)
         {
-            loadEdges(graph, strLine, grouped);
+            loadEdges(builder, strLine, grouped);
         }
     }
 
-    private void loadEdges(Graph graph, String strLine, boolean grouped)
+    private void loadEdges(CompactGraphBuilder builder, String strLine, boolean grouped)
     {
         String[] vEntries = strLine.split("\\s+");
 
         int keySource = Integer.parseInt(vEntries[0]);
-        Vertex source = graph.getVertex(keySource);
+        int source = builder.indexOf(keySource);
 
         int keySink = Integer.parseInt(vEntries[1]);
-        Vertex sink = graph.getVertex(keySink);
+        int sink = builder.indexOf(keySink);
 
-        Double cost = Double.NaN;
+        double cost = Double.NaN;
         if (vEntries.length > 2)
         {
             cost = Double.parseDouble(vEntries[2]);
         }
 
-        Double capacity;
+        double capacity;
         if (vEntries.length > 3)
         {
             capacity = Double.parseDouble(vEntries[3]);
@@ -58,7 +57,6 @@ public class EdgeListLoader extends AbstractLoader
             capacity = 1.0;
         }
 
-        Edge edge = new Edge(source, sink, capacity, cost);
-        graph.addEdge(edge);
+        builder.addEdge(source, sink, capacity, cost);
     }
 }
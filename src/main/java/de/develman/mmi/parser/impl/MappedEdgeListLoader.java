@@ -0,0 +1,344 @@
+package de.develman.mmi.parser.impl;
+
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.CompactGraphBuilder;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.parser.GraphLoader;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Der MappedEdgeListLoader liest Kantenlisten im Format des {@link EdgeListLoader}. Die Datei wird über
+ * {@link FileChannel#map} in den Speicher abgebildet und mit dem {@link ByteTokenizer} direkt in die primitiven Arrays
+ * des {@link CompactGraphBuilder} zerlegt, je Kante entstehen keine Objekte. Große Kantenlisten werden in an
+ * Zeilenumbrüchen ausgerichtete Abschnitte geteilt und in zwei Durchgängen im Fork-Join-Pool gelesen: Zuerst werden
+ * die Kanten je Abschnitt gezählt, dann werden die Arrays des Builders einmalig angelegt und jeder Abschnitt schreibt
+ * seine Kanten ohne Sperren in seinen eigenen Bereich. Es entstehen keine Zwischenpuffer und der Graph ist identisch
+ * zum sequentiellen Lesen.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class MappedEdgeListLoader implements GraphLoader
+{
+    private static final Logger LOG = LoggerFactory.getLogger(MappedEdgeListLoader.class);
+
+    // Geschätzte Anzahl Bytes je Zeile, um die Arrays für die Kanten vorab passend anzulegen
+    private static final int BYTES_PER_EDGE = 16;
+    private static final long DEFAULT_CHUNK_SIZE = 8L << 20;
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+    private final File file;
+    private boolean parallel = true;
+    // Zielgröße der Abschnitte beim parallelen Lesen
+    long chunkSize = DEFAULT_CHUNK_SIZE;
+
+    public MappedEdgeListLoader(File file)
+    {
+        this.file = file;
+    }
+
+    /**
+     * Legt fest, ob große Kantenlisten in Abschnitten parallel gelesen werden
+     *
+     * @param parallel {@code true} für paralleles Lesen
+     */
+    public void setParallel(boolean parallel)
+    {
+        this.parallel = parallel;
+    }
+
+    @Override
+    public Graph loadGraph(boolean directed, boolean balanced, boolean grouped)
+    {
+        return parse(directed, balanced, grouped).buildGraph();
+    }
+
+    @Override
+    public CompactGraph loadCompactGraph(boolean directed, boolean balanced, boolean grouped)
+    {
+        return parse(directed, balanced, grouped).build();
+    }
+
+    private CompactGraphBuilder parse(boolean directed, boolean balanced, boolean grouped)
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            ByteTokenizer tokenizer = ByteTokenizer.map(channel);
+            CompactGraphBuilder builder = addVertices(tokenizer, directed, balanced, grouped, 0);
+            loadEdges(builder, channel, tokenizer, grouped);
+
+            return builder;
+        }
+        catch (UncheckedIOException ex)
+        {
+            LOG.error("Could not load file", ex.getCause());
+            throw new RuntimeException("Error loading file", ex.getCause());
+        }
+        catch (IOException ex)
+        {
+            LOG.error("Could not load file", ex);
+            throw new RuntimeException("Error loading file", ex);
+        }
+    }
+
+    /**
+     * Liest die Kanten ab der aktuellen Position des Tokenizers, große Kantenlisten in parallelen Abschnitten. Die
+     * Arrays des Builders werden dabei passend vergrößert, er sollte daher ohne erwartete Kanten angelegt werden.
+     *
+     * @param builder Builder mit allen Knoten
+     * @param channel Kanal der Datei, über den der Tokenizer abgebildet wurde
+     * @param tokenizer Tokenizer, der am Anfang der ersten Kante steht
+     * @param grouped Gibt an, ob die Kanten eines bipartiten Graphen gelesen werden
+     * @throws IOException
+     */
+    void loadEdges(CompactGraphBuilder builder, FileChannel channel, ByteTokenizer tokenizer, boolean grouped) throws
+            IOException
+    {
+        long start = tokenizer.position();
+        long size = Math.min(Math.max(chunkSize, 1), MAX_CHUNK_SIZE);
+        if (parallel && channel.size() - start > 2 * size)
+        {
+            loadEdgesParallel(builder, channel, splitChunks(channel, start, size), grouped);
+        }
+        else
+        {
+            builder.ensureEdgeCapacity(builder.countEdges() + expectedEdges(channel.size() - start));
+            readEdges(builder, tokenizer, grouped);
+        }
+    }
+
+    /**
+     * @return Geschätzte Anzahl Kanten in einem Bereich der angegebenen Größe
+     */
+    static int expectedEdges(long bytes)
+    {
+        return (int) Math.min(Integer.MAX_VALUE - 8, bytes / BYTES_PER_EDGE);
+    }
+
+    /**
+     * Liest die Anzahl der Knoten, die Gruppengröße und die Balancen
+     *
+     * @return Builder mit allen Knoten, der Tokenizer steht am Anfang der ersten Kante
+     */
+    static CompactGraphBuilder addVertices(ByteTokenizer tokenizer, boolean directed, boolean balanced,
+            boolean grouped, int expectedEdges) throws IOException
+    {
+        int countVertices = tokenizer.nextInt();
+        tokenizer.nextLine();
+
+        CompactGraphBuilder builder = new CompactGraphBuilder(directed, countVertices, expectedEdges);
+        if (grouped)
+        {
+            builder.setGroupedVerticeCount(tokenizer.nextInt());
+            tokenizer.nextLine();
+        }
+
+        for (int i = 0; i < countVertices; i++)
+        {
+            double balance = Double.NaN;
+            if (balanced)
+            {
+                balance = tokenizer.nextDouble();
+                tokenizer.nextLine();
+            }
+
+            builder.addVertex(i, balance);
+        }
+
+        return builder;
+    }
+
+    /**
+     * Teilt den Bereich ab {@code start} in Abschnitte, die jeweils am Anfang einer Zeile beginnen
+     *
+     * @return Grenzen der Abschnitte, der letzte Eintrag ist das Dateiende
+     */
+    private long[] splitChunks(FileChannel channel, long start, long size) throws IOException
+    {
+        long end = channel.size();
+        long[] bounds = new long[(int) ((end - start + size - 1) / size) + 1];
+
+        int count = 0;
+        bounds[count++] = start;
+        for (long position = start + size; position < end; position = bounds[count - 1] + size)
+        {
+            long lineStart = findLineStart(channel, position);
+            if (lineStart >= end)
+            {
+                break;
+            }
+            bounds[count++] = lineStart;
+        }
+        bounds[count++] = end;
+
+        return Arrays.copyOf(bounds, count);
+    }
+
+    /**
+     * @return Position der ersten Zeile, die nicht vor {@code position} beginnt
+     */
+    private long findLineStart(FileChannel channel, long position) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        long current = position - 1;
+        while (true)
+        {
+            buffer.clear();
+            int read = channel.read(buffer, current);
+            if (read <= 0)
+            {
+                return channel.size();
+            }
+
+            for (int i = 0; i < read; i++)
+            {
+                if (buffer.get(i) == '\n')
+                {
+                    return current + i + 1;
+                }
+            }
+            current += read;
+        }
+    }
+
+    private void loadEdgesParallel(CompactGraphBuilder builder, FileChannel channel, long[] bounds, boolean grouped)
+    {
+        int chunkCount = bounds.length - 1;
+        LOG.debug("Loading edges in " + chunkCount + " chunks");
+
+        int[] counts = IntStream.range(0, chunkCount).parallel().map(i ->
+        {
+            try
+            {
+                return countEdges(mapChunk(channel, bounds, i));
+            }
+            catch (IOException ex)
+            {
+                throw new UncheckedIOException(ex);
+            }
+        }).toArray();
+
+        // Index der ersten Kante jedes Abschnitts
+        int[] firstEdges = new int[chunkCount];
+        long edgeCount = 0;
+        for (int i = 0; i < chunkCount; i++)
+        {
+            firstEdges[i] = (int) edgeCount;
+            edgeCount += counts[i];
+        }
+        if (builder.countEdges() + edgeCount > Integer.MAX_VALUE - 8)
+        {
+            throw new IllegalArgumentException("Zu viele Kanten: " + edgeCount);
+        }
+        int first = builder.reserveEdges((int) edgeCount);
+
+        IntStream.range(0, chunkCount).parallel().forEach(i ->
+        {
+            try
+            {
+                readEdges(builder, mapChunk(channel, bounds, i), first + firstEdges[i], grouped);
+            }
+            catch (IOException ex)
+            {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private static ByteTokenizer mapChunk(FileChannel channel, long[] bounds, int chunk) throws IOException
+    {
+        return new ByteTokenizer(channel.map(FileChannel.MapMode.READ_ONLY, bounds[chunk], bounds[chunk + 1]
+                - bounds[chunk]));
+    }
+
+    /**
+     * Zählt die Kanten bis zum Ende der Daten, also alle nicht leeren Zeilen
+     */
+    private static int countEdges(ByteTokenizer tokenizer) throws IOException
+    {
+        int count = 0;
+        while (!tokenizer.isAtEnd())
+        {
+            if (tokenizer.hasToken())
+            {
+                count++;
+            }
+
+            tokenizer.nextLine();
+        }
+
+        return count;
+    }
+
+    /**
+     * Liest alle Kanten bis zum Ende der Daten direkt in den Builder, leere Zeilen werden übersprungen
+     */
+    static void readEdges(CompactGraphBuilder builder, ByteTokenizer tokenizer, boolean grouped) throws IOException
+    {
+        readEdges(builder, tokenizer, -1, grouped);
+    }
+
+    /**
+     * Liest alle Kanten bis zum Ende der Daten, leere Zeilen werden übersprungen
+     *
+     * @param edge Index im Builder reservierter Kanten, ab dem die Kanten gesetzt werden, oder -1, um sie anzuhängen
+     */
+    private static void readEdges(CompactGraphBuilder builder, ByteTokenizer tokenizer, int edge, boolean grouped)
+            throws IOException
+    {
+        while (!tokenizer.isAtEnd())
+        {
+            if (tokenizer.hasToken())
+            {
+                loadEdge(builder, tokenizer, edge, grouped);
+                if (edge >= 0)
+                {
+                    edge++;
+                }
+            }
+
+            tokenizer.nextLine();
+        }
+    }
+
+    private static void loadEdge(CompactGraphBuilder builder, ByteTokenizer tokenizer, int edge, boolean grouped)
+            throws IOException
+    {
+        int source = builder.indexOf(tokenizer.nextInt());
+        int sink = builder.indexOf(tokenizer.nextInt());
+
+        double cost = Double.NaN;
+        if (tokenizer.hasToken())
+        {
+            cost = tokenizer.nextDouble();
+        }
+
+        double capacity = cost;
+        if (tokenizer.hasToken())
+        {
+            capacity = tokenizer.nextDouble();
+        }
+
+        if (grouped)
+        {
+            capacity = 1.0;
+        }
+
+        if (edge >= 0)
+        {
+            builder.setEdge(edge, source, sink, capacity, cost);
+        }
+        else
+        {
+            builder.addEdge(source, sink, capacity, cost);
+        }
+    }
+}
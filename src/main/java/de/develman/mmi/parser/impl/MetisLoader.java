@@ -0,0 +1,106 @@
+package de.develman.mmi.parser.impl;
+
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.CompactGraphBuilder;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.parser.GraphLoader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Der MetisLoader liest Graphen im Format von METIS, wie sie der {@link de.develman.mmi.export.MetisExporter}
+ * schreibt. Die Knoten erhalten die Schlüssel 0 bis n-1. Da METIS jede Kante bei beiden Endknoten aufführt, wird sie
+ * nur beim Knoten mit dem kleineren Index angelegt. Kantengewichte werden zu Kosten und Kapazität, Knotengrößen und
+ * Knotengewichte werden überlesen. Kommentarzeilen werden nicht unterstützt.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class MetisLoader implements GraphLoader
+{
+    private static final Logger LOG = LoggerFactory.getLogger(MetisLoader.class);
+
+    private final File file;
+
+    public MetisLoader(File file)
+    {
+        this.file = file;
+    }
+
+    /**
+     * @param balanced Wird nicht unterstützt und ignoriert
+     * @param grouped Wird nicht unterstützt und ignoriert
+     */
+    @Override
+    public Graph loadGraph(boolean directed, boolean balanced, boolean grouped)
+    {
+        return parse(directed).buildGraph();
+    }
+
+    /**
+     * @param balanced Wird nicht unterstützt und ignoriert
+     * @param grouped Wird nicht unterstützt und ignoriert
+     */
+    @Override
+    public CompactGraph loadCompactGraph(boolean directed, boolean balanced, boolean grouped)
+    {
+        return parse(directed).build();
+    }
+
+    private CompactGraphBuilder parse(boolean directed)
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            return parse(ByteTokenizer.map(channel), directed);
+        }
+        catch (IOException ex)
+        {
+            LOG.error("Could not load file", ex);
+            throw new RuntimeException("Error loading file", ex);
+        }
+    }
+
+    private CompactGraphBuilder parse(ByteTokenizer tokenizer, boolean directed) throws IOException
+    {
+        int countVertices = tokenizer.nextInt();
+        int countEdges = tokenizer.nextInt();
+        int format = tokenizer.hasToken() ? tokenizer.nextInt() : 0;
+        int constraints = tokenizer.hasToken() ? tokenizer.nextInt() : 1;
+        tokenizer.nextLine();
+
+        boolean edgeWeights = format % 10 == 1;
+        // Je Knoten vorangestellte Werte: Knotengröße und Knotengewichte
+        int skippedValues = (format / 100 % 10 == 1 ? 1 : 0) + (format / 10 % 10 == 1 ? constraints : 0);
+
+        CompactGraphBuilder builder = new CompactGraphBuilder(directed, countVertices, countEdges);
+        for (int i = 0; i < countVertices; i++)
+        {
+            builder.addVertex(i, Double.NaN);
+        }
+
+        for (int v = 0; v < countVertices && !tokenizer.isAtEnd(); v++)
+        {
+            for (int i = 0; i < skippedValues; i++)
+            {
+                tokenizer.skipToken();
+            }
+
+            while (tokenizer.hasToken())
+            {
+                int neighbor = tokenizer.nextInt() - 1;
+                double weight = edgeWeights ? tokenizer.nextDouble() : Double.NaN;
+                if (v < neighbor)
+                {
+                    builder.addEdge(builder.indexOf(v), builder.indexOf(neighbor), weight, weight);
+                }
+            }
+
+            tokenizer.nextLine();
+        }
+
+        return builder;
+    }
+}
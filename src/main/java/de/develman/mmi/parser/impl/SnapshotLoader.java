@@ -0,0 +1,169 @@
+package de.develman.mmi.parser.impl;
+
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.GraphSnapshot;
+import de.develman.mmi.parser.GraphLoader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Der SnapshotLoader verwendet {@link GraphSnapshot}s als Cache für Graphdateien. Der Snapshot wird über die
+ * CRC32-Prüfsumme der Quelldatei und die Lesemodi gefunden und nur verwendet, wenn die im Kopf abgelegte Prüfsumme
+ * übereinstimmt. Andernfalls wird die Quelldatei mit dem {@link StreamingLoader} gelesen und der Snapshot über eine
+ * temporäre Datei atomar ersetzt, so dass parallel lesende Prozesse nie einen halb geschriebenen Snapshot sehen.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class SnapshotLoader implements GraphLoader
+{
+    private static final Logger LOG = LoggerFactory.getLogger(SnapshotLoader.class);
+
+    private static final String SUFFIX = ".snapshot";
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private final File file;
+    private final File cacheDirectory;
+    private boolean weighted;
+
+    /**
+     * @param file Quelldatei als Kantenliste oder Adjazenzmatrix
+     * @param cacheDirectory Verzeichnis der Snapshots
+     */
+    public SnapshotLoader(File file, File cacheDirectory)
+    {
+        this.file = file;
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Legt fest, ob die Einträge einer Adjazenzmatrix als Gewichte gelesen werden, siehe
+     * {@link AdjacentMatrixLoader#setWeighted(boolean)}. Der Modus ist Teil des Schlüssels der Snapshots.
+     *
+     * @param weighted {@code true} für gewichtete Einträge
+     */
+    public void setWeighted(boolean weighted)
+    {
+        this.weighted = weighted;
+    }
+
+    @Override
+    public Graph loadGraph(boolean directed, boolean balanced, boolean grouped)
+    {
+        return loadCompactGraph(directed, balanced, grouped).toGraph();
+    }
+
+    @Override
+    public CompactGraph loadCompactGraph(boolean directed, boolean balanced, boolean grouped)
+    {
+        try
+        {
+            long checksum = checksum(file);
+            Path snapshot = getSnapshotPath(checksum, directed, balanced, grouped);
+
+            CompactGraph graph = readSnapshot(snapshot, checksum);
+            if (graph == null)
+            {
+                LOG.debug("Creating snapshot " + snapshot);
+                StreamingLoader loader = new StreamingLoader(file);
+                loader.setWeighted(weighted);
+                graph = loader.loadCompactGraph(directed, balanced, grouped);
+                writeSnapshot(snapshot, graph, checksum);
+            }
+
+            return graph;
+        }
+        catch (IOException ex)
+        {
+            LOG.error("Could not load file", ex);
+            throw new RuntimeException("Error loading file", ex);
+        }
+    }
+
+    /**
+     * @return Pfad des Snapshots zu Prüfsumme und Lesemodi der Quelldatei, einschließlich des gewichteten Lesens
+     */
+    Path getSnapshotPath(long checksum, boolean directed, boolean balanced, boolean grouped)
+    {
+        String modes = (directed ? "d" : "u") + (balanced ? "b" : "") + (grouped ? "g" : "") + (weighted ? "w" : "");
+        return cacheDirectory.toPath().resolve(file.getName() + "-" + Long.toHexString(checksum) + "-" + modes
+                + SUFFIX);
+    }
+
+    /**
+     * Berechnet die CRC32-Prüfsumme einer Datei über abgebildete Fenster
+     *
+     * @param file Datei
+     * @return Prüfsumme
+     * @throws IOException
+     */
+    static long checksum(File file) throws IOException
+    {
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            long size = channel.size();
+            for (long position = 0; position < size; position += WINDOW_SIZE)
+            {
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size
+                        - position)));
+            }
+        }
+
+        return crc.getValue();
+    }
+
+    /**
+     * @return Graph aus dem Snapshot oder {@code null}, wenn kein gültiger Snapshot vorliegt
+     */
+    private CompactGraph readSnapshot(Path snapshot, long checksum) throws IOException
+    {
+        if (!Files.isRegularFile(snapshot))
+        {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ))
+        {
+            if (GraphSnapshot.readChecksum(channel) != checksum)
+            {
+                return null;
+            }
+
+            return GraphSnapshot.read(channel);
+        }
+        catch (IllegalArgumentException ex)
+        {
+            LOG.warn("Ignoring invalid snapshot " + snapshot + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private void writeSnapshot(Path snapshot, CompactGraph graph, long checksum) throws IOException
+    {
+        Files.createDirectories(cacheDirectory.toPath());
+        Path temp = Files.createTempFile(cacheDirectory.toPath(), file.getName(), ".tmp");
+        try
+        {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING))
+            {
+                GraphSnapshot.write(graph, checksum, channel);
+            }
+
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
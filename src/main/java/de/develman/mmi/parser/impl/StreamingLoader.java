@@ -0,0 +1,144 @@
+package de.develman.mmi.parser.impl;
+
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.CompactGraphBuilder;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.parser.GraphLoader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Der StreamingLoader liest Kantenlisten und Adjazenzmatrizen in einem Durchgang. Das Format wird an den ersten beiden
+ * Zeilen im bereits gepufferten Anfang erkannt, danach wird mit demselben Tokenizer weitergelesen, ohne die Quelle
+ * erneut zu öffnen. Dateien werden in den Speicher abgebildet, mit gzip komprimierte Dateien und Kanäle fortlaufend
+ * gelesen. Ein Kanal kann nur einmal gelesen werden und wird nicht geschlossen.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class StreamingLoader implements GraphLoader
+{
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingLoader.class);
+
+    private static final int GZIP_BUFFER_SIZE = 1 << 16;
+
+    private final File file;
+    private final ReadableByteChannel channel;
+    private boolean weighted;
+
+    public StreamingLoader(File file)
+    {
+        this.file = file;
+        this.channel = null;
+    }
+
+    public StreamingLoader(ReadableByteChannel channel)
+    {
+        this.file = null;
+        this.channel = channel;
+    }
+
+    /**
+     * Legt fest, ob die Einträge einer Adjazenzmatrix als Gewichte gelesen werden, siehe
+     * {@link AdjacentMatrixLoader#setWeighted(boolean)}
+     *
+     * @param weighted {@code true} für gewichtete Einträge
+     */
+    public void setWeighted(boolean weighted)
+    {
+        this.weighted = weighted;
+    }
+
+    @Override
+    public Graph loadGraph(boolean directed, boolean balanced, boolean grouped)
+    {
+        return parse(directed, balanced, grouped).buildGraph();
+    }
+
+    @Override
+    public CompactGraph loadCompactGraph(boolean directed, boolean balanced, boolean grouped)
+    {
+        return parse(directed, balanced, grouped).build();
+    }
+
+    private CompactGraphBuilder parse(boolean directed, boolean balanced, boolean grouped)
+    {
+        try
+        {
+            if (file == null)
+            {
+                return parse(ByteTokenizer.read(channel), null, directed, balanced, grouped);
+            }
+
+            try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+            {
+                if (isCompressed(fileChannel))
+                {
+                    LOG.debug("File is gzip compressed");
+                    try (InputStream input = new GZIPInputStream(Channels.newInputStream(fileChannel),
+                            GZIP_BUFFER_SIZE))
+                    {
+                        return parse(ByteTokenizer.read(Channels.newChannel(input)), null, directed, balanced,
+                                grouped);
+                    }
+                }
+
+                return parse(ByteTokenizer.map(fileChannel), fileChannel, directed, balanced, grouped);
+            }
+        }
+        catch (UncheckedIOException ex)
+        {
+            LOG.error("Could not load file", ex.getCause());
+            throw new RuntimeException("Error loading file", ex.getCause());
+        }
+        catch (IOException ex)
+        {
+            LOG.error("Could not load file", ex);
+            throw new RuntimeException("Error loading file", ex);
+        }
+    }
+
+    /**
+     * @param fileChannel Kanal der abgebildeten Datei oder {@code null}, wenn fortlaufend gelesen wird
+     */
+    private CompactGraphBuilder parse(ByteTokenizer tokenizer, FileChannel fileChannel, boolean directed,
+            boolean balanced, boolean grouped) throws IOException
+    {
+        boolean adjacent = AdjacentMatrixLoader.isAdjacent(tokenizer.peekLines(2));
+
+        // Die Arrays für die Kanten werden erst beim Lesen der Kanten angelegt
+        CompactGraphBuilder builder = MappedEdgeListLoader.addVertices(tokenizer, directed, balanced, grouped, 0);
+        LOG.debug("Count of vertices is: " + builder.countVertices());
+
+        if (adjacent)
+        {
+            LOG.debug("File content is adjacent");
+            AdjacentMatrixLoader.loadEdges(builder, tokenizer, weighted);
+        }
+        else if (fileChannel != null)
+        {
+            new MappedEdgeListLoader(file).loadEdges(builder, fileChannel, tokenizer, grouped);
+        }
+        else
+        {
+            MappedEdgeListLoader.readEdges(builder, tokenizer, grouped);
+        }
+
+        return builder;
+    }
+
+    private boolean isCompressed(FileChannel fileChannel) throws IOException
+    {
+        ByteBuffer magic = ByteBuffer.allocate(2);
+        return fileChannel.read(magic, 0) == 2 && (magic.get(0) & 0xff) == 0x1f && (magic.get(1) & 0xff) == 0x8b;
+    }
+}
@@ -26,7 +26,7 @@ import de.develman.mmi.ui.practicum8.Practicum8View;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
-import java.nio.file.Files;
+import java.nio.channels.FileChannel;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
@@ -157,13 +157,12 @@ public class GraphingPresenter implements Initializable
     public void exportGraphAction(ActionEvent event)
     {
         GraphExporter exporter = new GraphExporter(graph);
-        String json = exporter.export();
 
-        try
+        File file = new File("data/graph.json");
+        try (FileChannel channel = FileChannel.open(Paths.get(file.toURI()), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
         {
-            File file = new File("data/graph.json");
-            Files.write(Paths.get(file.toURI()), json.getBytes("utf-8"), StandardOpenOption.CREATE,
-                    StandardOpenOption.TRUNCATE_EXISTING);
+            exporter.export(channel);
         }
         catch (IOException ex)
         {
@@ -1,6 +1,7 @@
 package de.develman.mmi.ui.practicum1;
 
 import de.develman.mmi.algorithm.BreadthFirstSearch;
+import de.develman.mmi.algorithm.ConnectedComponents;
 import de.develman.mmi.algorithm.DepthFirstSearch;
 import de.develman.mmi.model.Graph;
 import de.develman.mmi.model.Vertex;
@@ -34,6 +35,8 @@ public class Practicum1Presenter implements Initializable, GraphChangedListener
     BreadthFirstSearch breadthSearch;
     @Inject
     DepthFirstSearch depthSearch;
+    @Inject
+    ConnectedComponents connectedComponents;
 
     private Graph graph;
     private ObservableList<Integer> vertexList;
@@ -62,8 +65,6 @@ public class Practicum1Presenter implements Initializable, GraphChangedListener
     @FXML
     public void bfsTraverseAction(ActionEvent event)
     {
-        graph.unvisitAllVertices();
-
         Vertex defaultVertex = graph.getFirstVertex();
         Vertex startVertex = UIHelper.loadVertex(graph, startVertexCBX, defaultVertex);
         Vertex endVertex = UIHelper.loadVertex(graph, endVertexCBX, null);
@@ -71,7 +72,7 @@ public class Practicum1Presenter implements Initializable, GraphChangedListener
         loggingService.log("BFS mit Startknoten " + startVertex + " und Endknoten " + endVertex);
 
         long startTime = System.currentTimeMillis();
-        List<Vertex> foundVertices = breadthSearch.getVerticesOnPath(startVertex, endVertex);
+        List<Vertex> foundVertices = breadthSearch.getVerticesOnPath(graph, startVertex, endVertex);
         long endTime = System.currentTimeMillis();
 
         logFoundPath(foundVertices, startVertex, endVertex);
@@ -81,14 +82,12 @@ public class Practicum1Presenter implements Initializable, GraphChangedListener
     @FXML
     public void bfsFindComponents(ActionEvent event)
     {
-        graph.unvisitAllVertices();
-
         Vertex startVertex = graph.getFirstVertex();
 
         loggingService.log("BFS mit Startknoten " + startVertex);
 
         long startTime = System.currentTimeMillis();
-        int count = depthSearch.countComponents(graph, startVertex);
+        int count = connectedComponents.findComponents(graph).getCount();
         long endTime = System.currentTimeMillis();
 
         loggingService.log("Es wurden " + count + " Zusammenhangskomponenten gefunden.");
@@ -98,8 +97,6 @@ public class Practicum1Presenter implements Initializable, GraphChangedListener
     @FXML
     public void dfsTraverseAction(ActionEvent event)
     {
-        graph.unvisitAllVertices();
-
         Vertex defaultVertex = graph.getFirstVertex();
         Vertex startVertex = UIHelper.loadVertex(graph, startVertexCBX, defaultVertex);
         Vertex endVertex = UIHelper.loadVertex(graph, endVertexCBX, null);
@@ -107,7 +104,7 @@ public class Practicum1Presenter implements Initializable, GraphChangedListener
         loggingService.log("DFS mit Startknoten " + startVertex + " und Endknoten " + endVertex);
 
         long startTime = System.currentTimeMillis();
-        List<Vertex> foundVertices = depthSearch.getVerticesOnPath(startVertex, endVertex);
+        List<Vertex> foundVertices = depthSearch.getVerticesOnPath(graph, startVertex, endVertex);
         long endTime = System.currentTimeMillis();
 
         logFoundPath(foundVertices, startVertex, endVertex);
@@ -117,8 +114,6 @@ public class Practicum1Presenter implements Initializable, GraphChangedListener
     @FXML
     public void dfsFindComponents(ActionEvent event)
     {
-        graph.unvisitAllVertices();
-
         Vertex startVertex = graph.getFirstVertex();
 
         loggingService.log("DFS mit Startknoten " + startVertex);
@@ -58,7 +58,6 @@ public class Practicum2Presenter implements Initializable, GraphChangedListener
     @FXML
     public void kruskalAction(ActionEvent event)
     {
-        graph.unvisitAllVertices();
         loggingService.log("Kruskal");
 
         long startTime = System.currentTimeMillis();
@@ -74,8 +73,6 @@ public class Practicum2Presenter implements Initializable, GraphChangedListener
     @FXML
     public void primAction(ActionEvent event)
     {
-        graph.unvisitAllVertices();
-
         Vertex defaultVertex = graph.getFirstVertex();
         Vertex startVertex = UIHelper.loadVertex(graph, startVertexCBX, defaultVertex);
 
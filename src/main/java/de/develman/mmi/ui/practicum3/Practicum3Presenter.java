@@ -59,8 +59,6 @@ public class Practicum3Presenter implements Initializable, GraphChangedListener
     @FXML
     public void nearestNeighbourAction(ActionEvent event)
     {
-        graph.unvisitAllVertices();
-
         Vertex defaultVertex = graph.getFirstVertex();
         Vertex startVertex = UIHelper.loadVertex(graph, startVertexCBX, defaultVertex);
 
@@ -80,7 +78,6 @@ public class Practicum3Presenter implements Initializable, GraphChangedListener
     @FXML
     public void doubleTreeAction(ActionEvent event)
     {
-        graph.unvisitAllVertices();
         loggingService.log("Doppelter Baum");
 
         long startTime = System.currentTimeMillis();
@@ -62,8 +62,6 @@ public class Practicum4Presenter implements Initializable, GraphChangedListener
     @FXML
     public void tryAllToursAction(ActionEvent event)
     {
-        graph.unvisitAllVertices();
-
         Vertex defaultVertex = graph.getFirstVertex();
         Vertex startVertex = UIHelper.loadVertex(graph, startVertex1CBX, defaultVertex);
 
@@ -83,8 +81,6 @@ public class Practicum4Presenter implements Initializable, GraphChangedListener
     @FXML
     public void branchAndBoundAction(ActionEvent event)
     {
-        graph.unvisitAllVertices();
-
         Vertex defaultVertex = graph.getFirstVertex();
         Vertex startVertex = UIHelper.loadVertex(graph, startVertex2CBX, defaultVertex);
 
@@ -68,8 +68,6 @@ public class Practicum5Presenter implements Initializable, GraphChangedListener
     @FXML
     public void dijkstraAction(ActionEvent event)
     {
-        graph.unvisitAllVertices();
-
         Vertex defaultVertex = graph.getFirstVertex();
         Vertex startVertex = UIHelper.loadVertex(graph, startVertex1CBX, defaultVertex);
         Vertex endVertex = UIHelper.loadVertex(graph, endVertex1CBX, null);
@@ -88,8 +86,6 @@ public class Practicum5Presenter implements Initializable, GraphChangedListener
     public void mooreBellmanFordAction(ActionEvent event
     )
     {
-        graph.unvisitAllVertices();
-
         Vertex defaultVertex = graph.getFirstVertex();
         Vertex startVertex = UIHelper.loadVertex(graph, startVertex2CBX, defaultVertex);
         Vertex endVertex = UIHelper.loadVertex(graph, endVertex2CBX, null);
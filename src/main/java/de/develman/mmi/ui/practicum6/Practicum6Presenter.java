@@ -57,8 +57,6 @@ public class Practicum6Presenter implements Initializable, GraphChangedListener
     @FXML
     public void fordFulkersonAction(ActionEvent event)
     {
-        graph.unvisitAllVertices();
-
         Vertex defaultVertex = graph.getFirstVertex();
         Vertex startVertex = UIHelper.loadVertex(graph, startVertexCBX, defaultVertex);
         Vertex endVertex = UIHelper.loadVertex(graph, endVertexCBX, null);
@@ -42,8 +42,6 @@ public class Practicum7Presenter implements Initializable, GraphChangedListener
     @FXML
     public void cycleCancelingAction(ActionEvent event)
     {
-        graph.unvisitAllVertices();
-
         loggingService.log("Cycle-Canceling Algorithmus");
 
         long endTime;
@@ -68,8 +66,6 @@ public class Practicum7Presenter implements Initializable, GraphChangedListener
     @FXML
     public void successiveShortestPathAction(ActionEvent event)
     {
-        graph.unvisitAllVertices();
-
         loggingService.log("Successive-Shortes-Path Algorithmus");
 
         long endTime;
@@ -37,8 +37,6 @@ public class Practicum8Presenter implements Initializable, GraphChangedListener
     @FXML
     public void matchingAction(ActionEvent event)
     {
-        graph.unvisitAllVertices();
-
         loggingService.log("Matching Algorithmus");
 
         long startTime = System.currentTimeMillis();
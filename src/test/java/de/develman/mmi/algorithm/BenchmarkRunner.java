@@ -0,0 +1,44 @@
+package de.develman.mmi.algorithm;
+
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.parser.FileParser;
+import java.io.File;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Hilfsklasse für die Laufzeitmessungen der Benchmarks. Die Benchmarks werden über ihre main-Methode aus dem
+ * Projektverzeichnis gestartet und sind nicht Teil der Testausführung.
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+final class BenchmarkRunner
+{
+    private BenchmarkRunner()
+    {
+    }
+
+    static Graph loadGraph(String path, boolean directed, boolean balanced, boolean grouped)
+    {
+        return new FileParser(new File(path)).loadGraph(directed, balanced, grouped);
+    }
+
+    static double measure(String name, int warmups, int runs, Supplier<?> task)
+    {
+        Object result = null;
+        for (int i = 0; i < warmups; i++)
+        {
+            result = task.get();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++)
+        {
+            result = task.get();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / runs;
+
+        System.out.println(String.format(Locale.ROOT, "%-50s %10.2f ms   (Ergebnis: %s)", name, millis, result));
+        return millis;
+    }
+}
@@ -1,11 +1,15 @@
 package de.develman.mmi.algorithm;
 
+import de.develman.mmi.model.CompactGraph;
 import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.ResidualNetwork;
 import de.develman.mmi.model.Vertex;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -32,7 +36,7 @@ public class BreadthFirstSearchTest
         Graph graph = initGraph(false);
         Vertex v1 = graph.getVertex(1);
 
-        List<Vertex> accessibleVertices = breadthFirstSearch.getAccessibleVertices(v1);
+        List<Vertex> accessibleVertices = breadthFirstSearch.getAccessibleVertices(graph, v1);
         int[] keys = new int[accessibleVertices.size()];
         for (int i = 0; i < accessibleVertices.size(); i++)
         {
@@ -53,7 +57,7 @@ public class BreadthFirstSearchTest
         Graph graph = initGraph(true);
         Vertex v1 = graph.getVertex(1);
 
-        List<Vertex> accessibleVertices = breadthFirstSearch.getAccessibleVertices(v1);
+        List<Vertex> accessibleVertices = breadthFirstSearch.getAccessibleVertices(graph, v1);
         int[] keys = new int[accessibleVertices.size()];
         for (int i = 0; i < accessibleVertices.size(); i++)
         {
@@ -75,7 +79,7 @@ public class BreadthFirstSearchTest
         Vertex v1 = graph.getVertex(1);
         Vertex v5 = graph.getVertex(5);
 
-        List<Vertex> accessibleVertices = breadthFirstSearch.getVerticesOnPath(v1, v5);
+        List<Vertex> accessibleVertices = breadthFirstSearch.getVerticesOnPath(graph, v1, v5);
         int[] keys = new int[accessibleVertices.size()];
         for (int i = 0; i < accessibleVertices.size(); i++)
         {
@@ -97,7 +101,7 @@ public class BreadthFirstSearchTest
         Vertex v1 = graph.getVertex(1);
         Vertex v5 = graph.getVertex(5);
 
-        List<Vertex> accessibleVertices = breadthFirstSearch.getVerticesOnPath(v1, v5);
+        List<Vertex> accessibleVertices = breadthFirstSearch.getVerticesOnPath(graph, v1, v5);
         int[] keys = new int[accessibleVertices.size()];
         for (int i = 0; i < accessibleVertices.size(); i++)
         {
@@ -119,7 +123,7 @@ public class BreadthFirstSearchTest
         Vertex v2 = graph.getVertex(2);
         Vertex v7 = graph.getVertex(7);
 
-        List<Vertex> accessibleVertices = breadthFirstSearch.getVerticesOnPath(v2, v7);
+        List<Vertex> accessibleVertices = breadthFirstSearch.getVerticesOnPath(graph, v2, v7);
         int[] keys = new int[accessibleVertices.size()];
         for (int i = 0; i < accessibleVertices.size(); i++)
         {
@@ -141,7 +145,7 @@ public class BreadthFirstSearchTest
         Vertex v1 = graph.getVertex(1);
         Vertex v5 = graph.getVertex(5);
 
-        boolean hasPath = breadthFirstSearch.hasPath(v1, v5);
+        boolean hasPath = breadthFirstSearch.hasPath(graph, v1, v5);
         Assert.assertTrue(hasPath);
     }
 
@@ -152,10 +156,31 @@ public class BreadthFirstSearchTest
         Vertex v1 = graph.getVertex(1);
         Vertex v5 = graph.getVertex(5);
 
-        boolean hasPath = breadthFirstSearch.hasPath(v1, v5);
+        boolean hasPath = breadthFirstSearch.hasPath(graph, v1, v5);
         Assert.assertTrue(hasPath);
     }
 
+    @Test
+    public void testVertexInOtherGraph()
+    {
+        Graph graph = new Graph(true);
+        Vertex v1 = new Vertex(1);
+        Vertex v2 = new Vertex(2);
+        Vertex v3 = new Vertex(3);
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addEdge(new Edge(v1, v2));
+        graph.addEdge(new Edge(v2, v3));
+        // v3 erhält im zweiten Graphen den Index 0, den auch v1 trägt
+        new Graph(true).addVertex(v3);
+
+        List<Vertex> verticesOnPath = breadthFirstSearch.getVerticesOnPath(graph, v1, v3);
+
+        Assert.assertTrue(breadthFirstSearch.hasPath(graph, v1, v3));
+        Assert.assertEquals(Arrays.asList(v1, v2, v3), verticesOnPath);
+    }
+
     @Test
     public void testDirectedHasNoPath()
     {
@@ -163,10 +188,206 @@ public class BreadthFirstSearchTest
         Vertex v2 = graph.getVertex(2);
         Vertex v7 = graph.getVertex(7);
 
-        boolean hasPath = breadthFirstSearch.hasPath(v2, v7);
+        boolean hasPath = breadthFirstSearch.hasPath(graph, v2, v7);
         Assert.assertFalse(hasPath);
     }
 
+    @Test
+    public void testCompactAccessibleVertices()
+    {
+        CompactGraph graph = CompactGraph.of(initGraph(true));
+
+        int[] accessibleVertices = breadthFirstSearch.getAccessibleVertices(graph, graph.indexOf(1));
+        int[] keys = new int[accessibleVertices.length];
+        for (int i = 0; i < accessibleVertices.length; i++)
+        {
+            keys[i] = graph.getKey(accessibleVertices[i]);
+        }
+
+        int[] expected =
+        {
+            1, 2, 3, 4, 5, 6, 7
+        };
+
+        Assert.assertTrue(Arrays.equals(expected, keys));
+    }
+
+    @Test
+    public void testCompactDirectedHasNoPath()
+    {
+        CompactGraph graph = CompactGraph.of(initGraph(true));
+
+        Assert.assertTrue(breadthFirstSearch.hasPath(graph, graph.indexOf(1), graph.indexOf(5)));
+        Assert.assertFalse(breadthFirstSearch.hasPath(graph, graph.indexOf(2), graph.indexOf(7)));
+    }
+
+    @Test
+    public void testCompactParents()
+    {
+        CompactGraph graph = CompactGraph.of(initGraph(true));
+        int[] parents = breadthFirstSearch.getParents(graph, graph.indexOf(1));
+
+        Assert.assertEquals(graph.indexOf(1), parents[graph.indexOf(1)]);
+        Assert.assertEquals(graph.indexOf(3), parents[graph.indexOf(5)]);
+        Assert.assertEquals(graph.indexOf(4), parents[graph.indexOf(7)]);
+
+        parents = breadthFirstSearch.getParents(graph, graph.indexOf(2));
+        Assert.assertEquals(-1, parents[graph.indexOf(7)]);
+    }
+
+    @Test
+    public void testDirectionOptimizingLevels()
+    {
+        Random random = new Random(7);
+        for (boolean directed : new boolean[]
+        {
+            true, false
+        })
+        {
+            int count = 3000;
+            Graph graph = new Graph(directed);
+            for (int key = 0; key < count; key++)
+            {
+                graph.addVertex(new Vertex(key));
+            }
+            for (int i = 0; i < 6 * count; i++)
+            {
+                Vertex source = graph.getVertex(random.nextInt(count));
+                Vertex sink = graph.getVertex(random.nextInt(count));
+                if (source != sink && source.getEdgeTo(sink.getKey()) == null)
+                {
+                    graph.addEdge(new Edge(source, sink));
+                }
+            }
+
+            CompactGraph compactGraph = CompactGraph.of(graph);
+            int[] expected = levels(compactGraph);
+
+            Assert.assertArrayEquals(expected, levels(compactGraph, breadthFirstSearch.getParents(compactGraph, 0)));
+            breadthFirstSearch.setParallel(true);
+            Assert.assertArrayEquals(expected, levels(compactGraph, breadthFirstSearch.getParents(compactGraph, 0)));
+            breadthFirstSearch.setParallel(false);
+        }
+    }
+
+    @Test
+    public void testReusedPathSearch()
+    {
+        for (boolean parallel : new boolean[]
+        {
+            false, true
+        })
+        {
+            ResidualNetwork network = new ResidualNetwork(4, 3);
+            for (int v = 0; v < 4; v++)
+            {
+                network.addVertex(v, 0.0);
+            }
+            int first = network.addEdge(0, 1, 1.0, 0.0);
+            int second = network.addEdge(1, 2, 1.0, 0.0);
+            int side = network.addEdge(0, 3, 1.0, 0.0);
+
+            breadthFirstSearch.setParallel(parallel);
+            BreadthFirstSearch.ResidualPathSearch pathSearch = breadthFirstSearch.newPathSearch(network);
+            Assert.assertTrue(pathSearch.findPath(0, 2));
+            Assert.assertEquals(-2, pathSearch.getParentArc(0));
+            Assert.assertEquals(first, pathSearch.getParentArc(1));
+            Assert.assertEquals(second, pathSearch.getParentArc(2));
+
+            network.augment(first, 1.0);
+            network.augment(second, 1.0);
+
+            // Vorgänger der vorherigen Suche dürfen nicht mehr geliefert werden
+            Assert.assertFalse(pathSearch.findPath(0, 2));
+            Assert.assertEquals(-1, pathSearch.getParentArc(1));
+            Assert.assertEquals(-1, pathSearch.getParentArc(2));
+            Assert.assertEquals(side, pathSearch.getParentArc(3));
+        }
+        breadthFirstSearch.setParallel(false);
+    }
+
+    @Test
+    public void testConcurrentResidualSearches()
+    {
+        // Zwei Pfade unterschiedlicher Länge, deren Knoten in entgegengesetzter Reihenfolge erreicht werden
+        ResidualNetwork forward = new ResidualNetwork(500, 499);
+        ResidualNetwork backward = new ResidualNetwork(700, 699);
+        for (int v = 0; v < 700; v++)
+        {
+            if (v < 500)
+            {
+                forward.addVertex(v, 0.0);
+            }
+            backward.addVertex(v, 0.0);
+        }
+        for (int v = 1; v < 700; v++)
+        {
+            if (v < 500)
+            {
+                forward.addEdge(v - 1, v, 1.0, 0.0);
+            }
+            backward.addEdge(v, v - 1, 1.0, 0.0);
+        }
+        Assert.assertEquals(500, breadthFirstSearch.getAccessibleVertices(forward, 0).length);
+        Assert.assertEquals(700, breadthFirstSearch.getAccessibleVertices(backward, 699).length);
+
+        long wrong = IntStream.range(0, 2000).parallel().filter(i ->
+        {
+            boolean even = i % 2 == 0;
+            int[] vertices = even ? breadthFirstSearch.getAccessibleVertices(forward, 0) : breadthFirstSearch.
+                    getAccessibleVertices(backward, 699);
+            for (int v = 0; v < vertices.length; v++)
+            {
+                if (vertices[v] != (even ? v : 699 - v))
+                {
+                    return true;
+                }
+            }
+
+            return vertices.length != (even ? 500 : 700);
+        }).count();
+        Assert.assertEquals(0, wrong);
+    }
+
+    private int[] levels(CompactGraph graph)
+    {
+        int[] levels = new int[graph.countVertices()];
+        Arrays.fill(levels, -1);
+        levels[0] = 0;
+        for (int vertex : breadthFirstSearch.getAccessibleVertices(graph, 0))
+        {
+            for (int arc = graph.firstArc(vertex); arc < graph.endArc(vertex); arc++)
+            {
+                if (levels[graph.getTarget(arc)] == -1)
+                {
+                    levels[graph.getTarget(arc)] = levels[vertex] + 1;
+                }
+            }
+        }
+
+        return levels;
+    }
+
+    private int[] levels(CompactGraph graph, int[] parents)
+    {
+        int[] levels = new int[graph.countVertices()];
+        for (int vertex = 0; vertex < levels.length; vertex++)
+        {
+            int level = -1;
+            if (parents[vertex] != -1)
+            {
+                level = 0;
+                for (int v = vertex; parents[v] != v; v = parents[v])
+                {
+                    level++;
+                }
+            }
+            levels[vertex] = level;
+        }
+
+        return levels;
+    }
+
     private Graph initGraph(boolean directed)
     {
         Graph graph = new Graph(directed);
@@ -0,0 +1,105 @@
+package de.develman.mmi.algorithm;
+
+import de.develman.mmi.model.Edge;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.Vertex;
+import de.develman.mmi.model.algorithm.Components;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class ConnectedComponentsTest
+{
+    private ConnectedComponents connectedComponents;
+    private DepthFirstSearch depthFirstSearch;
+
+    @Before
+    public void setUp()
+    {
+        connectedComponents = new ConnectedComponents();
+        depthFirstSearch = new DepthFirstSearch();
+    }
+
+    @Test
+    public void testUndirectedComponents()
+    {
+        Graph graph = initGraph(false);
+
+        Components components = connectedComponents.findComponents(graph);
+        Assert.assertEquals(3, components.getCount());
+
+        int[] expectedSizes =
+        {
+            3, 2, 1
+        };
+        Assert.assertArrayEquals(expectedSizes, components.getSizes());
+        Assert.assertEquals(components.getComponentIds()[graph.indexOf(graph.getVertex(1))],
+                components.getComponentIds()[graph.indexOf(graph.getVertex(3))]);
+        Assert.assertEquals(3, depthFirstSearch.countComponents(graph, graph.getVertex(1)));
+    }
+
+    @Test
+    public void testDirectedWeakComponents()
+    {
+        Graph graph = initGraph(true);
+
+        Assert.assertEquals(3, connectedComponents.findComponents(graph).getCount());
+        Assert.assertEquals(3, connectedComponents.findComponentsByUnionFind(graph).getCount());
+        Assert.assertEquals(3, connectedComponents.findComponentsParallel(graph).getCount());
+    }
+
+    @Test
+    public void testVariantsAgree()
+    {
+        Random random = new Random(42);
+        for (int run = 0; run < 20; run++)
+        {
+            int count = 200;
+            Graph graph = new Graph(false);
+            for (int key = 0; key < count; key++)
+            {
+                graph.addVertex(new Vertex(key));
+            }
+            for (int i = 0; i < 150; i++)
+            {
+                Vertex source = graph.getVertex(random.nextInt(count));
+                Vertex sink = graph.getVertex(random.nextInt(count));
+                if (source != sink && source.getEdgeTo(sink.getKey()) == null)
+                {
+                    graph.addEdge(new Edge(source, sink));
+                }
+            }
+
+            Components expected = connectedComponents.findComponents(graph);
+            assertSameComponents(expected, connectedComponents.findComponentsByUnionFind(graph));
+            assertSameComponents(expected, connectedComponents.findComponentsParallel(graph));
+            Assert.assertEquals(expected.getCount(), depthFirstSearch.countComponents(graph, graph.getFirstVertex()));
+        }
+    }
+
+    private void assertSameComponents(Components expected, Components actual)
+    {
+        Assert.assertEquals(expected.getCount(), actual.getCount());
+        Assert.assertArrayEquals(expected.getComponentIds(), actual.getComponentIds());
+        Assert.assertArrayEquals(expected.getSizes(), actual.getSizes());
+    }
+
+    private Graph initGraph(boolean directed)
+    {
+        Graph graph = new Graph(directed);
+        for (int key = 1; key <= 6; key++)
+        {
+            graph.addVertex(new Vertex(key));
+        }
+
+        graph.addEdge(new Edge(graph.getVertex(1), graph.getVertex(2)));
+        graph.addEdge(new Edge(graph.getVertex(3), graph.getVertex(2)));
+        graph.addEdge(new Edge(graph.getVertex(4), graph.getVertex(5)));
+
+        return graph;
+    }
+}
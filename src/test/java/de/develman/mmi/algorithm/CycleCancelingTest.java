@@ -45,6 +45,21 @@ public class CycleCancelingTest
         }
     }
 
+    @Test
+    public void testFindMinimumCostFlowPushRelabel()
+    {
+        cycleCanceling.setMaxFlow(new PushRelabel());
+        try
+        {
+            double cost = cycleCanceling.findMinimumCostFlow(graph);
+            Assert.assertEquals(28.0, cost, 0.0);
+        }
+        catch (MinimalCostFlowException ex)
+        {
+            Assert.fail(ex.getMessage());
+        }
+    }
+
     private void initModel()
     {
         initData();
@@ -1,5 +1,6 @@
 package de.develman.mmi.algorithm;
 
+import de.develman.mmi.model.CompactGraph;
 import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
 import de.develman.mmi.model.Vertex;
@@ -32,7 +33,7 @@ public class DepthFirstSearchTest
         Graph graph = initGraph(false);
         Vertex v1 = graph.getVertex(1);
 
-        List<Vertex> accessibleVertices = depthFirstSearch.getAccessibleVertices(v1);
+        List<Vertex> accessibleVertices = depthFirstSearch.getAccessibleVertices(graph, v1);
         int[] keys = new int[accessibleVertices.size()];
         for (int i = 0; i < accessibleVertices.size(); i++)
         {
@@ -53,7 +54,7 @@ public class DepthFirstSearchTest
         Graph graph = initGraph(true);
         Vertex v1 = graph.getVertex(1);
 
-        List<Vertex> accessibleVertices = depthFirstSearch.getAccessibleVertices(v1);
+        List<Vertex> accessibleVertices = depthFirstSearch.getAccessibleVertices(graph, v1);
         int[] keys = new int[accessibleVertices.size()];
         for (int i = 0; i < accessibleVertices.size(); i++)
         {
@@ -75,7 +76,7 @@ public class DepthFirstSearchTest
         Vertex v1 = graph.getVertex(1);
         Vertex v5 = graph.getVertex(5);
 
-        List<Vertex> accessibleVertices = depthFirstSearch.getVerticesOnPath(v1, v5);
+        List<Vertex> accessibleVertices = depthFirstSearch.getVerticesOnPath(graph, v1, v5);
         int[] keys = new int[accessibleVertices.size()];
         for (int i = 0; i < accessibleVertices.size(); i++)
         {
@@ -97,7 +98,7 @@ public class DepthFirstSearchTest
         Vertex v1 = graph.getVertex(1);
         Vertex v5 = graph.getVertex(5);
 
-        List<Vertex> accessibleVertices = depthFirstSearch.getVerticesOnPath(v1, v5);
+        List<Vertex> accessibleVertices = depthFirstSearch.getVerticesOnPath(graph, v1, v5);
         int[] keys = new int[accessibleVertices.size()];
         for (int i = 0; i < accessibleVertices.size(); i++)
         {
@@ -119,7 +120,7 @@ public class DepthFirstSearchTest
         Vertex v2 = graph.getVertex(2);
         Vertex v7 = graph.getVertex(7);
 
-        List<Vertex> accessibleVertices = depthFirstSearch.getVerticesOnPath(v2, v7);
+        List<Vertex> accessibleVertices = depthFirstSearch.getVerticesOnPath(graph, v2, v7);
         int[] keys = new int[accessibleVertices.size()];
         for (int i = 0; i < accessibleVertices.size(); i++)
         {
@@ -141,7 +142,7 @@ public class DepthFirstSearchTest
         Vertex v1 = graph.getVertex(1);
         Vertex v5 = graph.getVertex(5);
 
-        boolean hasPath = depthFirstSearch.hasPath(v1, v5);
+        boolean hasPath = depthFirstSearch.hasPath(graph, v1, v5);
         Assert.assertTrue(hasPath);
     }
 
@@ -152,10 +153,31 @@ public class DepthFirstSearchTest
         Vertex v1 = graph.getVertex(1);
         Vertex v5 = graph.getVertex(5);
 
-        boolean hasPath = depthFirstSearch.hasPath(v1, v5);
+        boolean hasPath = depthFirstSearch.hasPath(graph, v1, v5);
         Assert.assertTrue(hasPath);
     }
 
+    @Test
+    public void testVertexInOtherGraph()
+    {
+        Graph graph = new Graph(true);
+        Vertex v1 = new Vertex(1);
+        Vertex v2 = new Vertex(2);
+        Vertex v3 = new Vertex(3);
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addEdge(new Edge(v1, v2));
+        graph.addEdge(new Edge(v2, v3));
+        // v3 erhält im zweiten Graphen den Index 0, den auch v1 trägt
+        new Graph(true).addVertex(v3);
+
+        List<Vertex> verticesOnPath = depthFirstSearch.getVerticesOnPath(graph, v1, v3);
+
+        Assert.assertTrue(depthFirstSearch.hasPath(graph, v1, v3));
+        Assert.assertEquals(Arrays.asList(v1, v2, v3), verticesOnPath);
+    }
+
     @Test
     public void testDirectedHasNoPath()
     {
@@ -163,10 +185,69 @@ public class DepthFirstSearchTest
         Vertex v2 = graph.getVertex(2);
         Vertex v7 = graph.getVertex(7);
 
-        boolean hasPath = depthFirstSearch.hasPath(v2, v7);
+        boolean hasPath = depthFirstSearch.hasPath(graph, v2, v7);
         Assert.assertFalse(hasPath);
     }
 
+    @Test
+    public void testCompactAccessibleVertices()
+    {
+        CompactGraph graph = CompactGraph.of(initGraph(false));
+
+        int[] accessibleVertices = depthFirstSearch.getAccessibleVertices(graph, graph.indexOf(1));
+        int[] keys = new int[accessibleVertices.length];
+        for (int i = 0; i < accessibleVertices.length; i++)
+        {
+            keys[i] = graph.getKey(accessibleVertices[i]);
+        }
+
+        int[] expected =
+        {
+            1, 2, 3, 5, 6, 4, 7
+        };
+
+        Assert.assertTrue(Arrays.equals(expected, keys));
+    }
+
+    @Test
+    public void testCompactDirectedHasNoPath()
+    {
+        CompactGraph graph = CompactGraph.of(initGraph(true));
+
+        Assert.assertTrue(depthFirstSearch.hasPath(graph, graph.indexOf(1), graph.indexOf(5)));
+        Assert.assertFalse(depthFirstSearch.hasPath(graph, graph.indexOf(2), graph.indexOf(7)));
+    }
+
+    @Test
+    public void testPostOrder()
+    {
+        Graph graph = initGraph(true);
+        List<Integer> postOrder = new ArrayList<>();
+        depthFirstSearch.traverse(graph, graph.getVertex(1), null, null, v -> postOrder.add(v.getKey()));
+
+        List<Vertex> accessibleVertices = depthFirstSearch.getAccessibleVertices(graph, graph.getVertex(1));
+        Assert.assertEquals(accessibleVertices.size(), postOrder.size());
+        Assert.assertEquals(Integer.valueOf(1), postOrder.get(postOrder.size() - 1));
+    }
+
+    @Test
+    public void testDeepPath()
+    {
+        int count = 200000;
+        Graph graph = new Graph(true);
+        for (int key = 0; key < count; key++)
+        {
+            graph.addVertex(new Vertex(key));
+            if (key > 0)
+            {
+                graph.addEdge(new Edge(graph.getVertex(key - 1), graph.getVertex(key)));
+            }
+        }
+
+        Assert.assertEquals(count, depthFirstSearch.getAccessibleVertices(graph, graph.getVertex(0)).size());
+        Assert.assertTrue(depthFirstSearch.hasPath(graph, graph.getVertex(0), graph.getVertex(count - 1)));
+    }
+
     private Graph initGraph(boolean directed)
     {
         Graph graph = new Graph(directed);
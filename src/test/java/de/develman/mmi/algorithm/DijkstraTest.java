@@ -1,8 +1,10 @@
 package de.develman.mmi.algorithm;
 
+import de.develman.mmi.model.CompactGraph;
 import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
 import de.develman.mmi.model.Vertex;
+import de.develman.mmi.model.algorithm.CompactShortestPath;
 import de.develman.mmi.model.algorithm.ShortestPath;
 import java.util.ArrayList;
 import java.util.List;
@@ -51,6 +53,44 @@ public class DijkstraTest
         Assert.assertEquals("Expected 5.0 but is: " + path.getLength(), 5.0, path.getLength(), 0.0);
     }
 
+    @Test
+    public void testDijkstraUnreachable()
+    {
+        graph = new Graph(true);
+        vertices.forEach(v -> graph.addVertex(v));
+        edges.forEach(e -> graph.addEdge(e));
+
+        ShortestPath path = dijkstra.findShortestPath(graph, graph.getVertex(3), graph.getVertex(0));
+        Assert.assertNull(path);
+    }
+
+    @Test
+    public void testCompactDijkstraDirected()
+    {
+        graph = new Graph(true);
+        vertices.forEach(v -> graph.addVertex(v));
+        edges.forEach(e -> graph.addEdge(e));
+
+        CompactGraph compactGraph = CompactGraph.of(graph);
+        CompactShortestPath path = dijkstra.findShortestPath(compactGraph, compactGraph.indexOf(0), compactGraph.
+                indexOf(5));
+        Assert.assertEquals("Expected 8.0 but is: " + path.getLength(), 8.0, path.getLength(), 0.0);
+        Assert.assertEquals(2, path.getArcs().length);
+    }
+
+    @Test
+    public void testCompactDijkstraUndirected()
+    {
+        graph = new Graph(false);
+        vertices.forEach(v -> graph.addVertex(v));
+        edges.forEach(e -> graph.addEdge(e));
+
+        CompactGraph compactGraph = CompactGraph.of(graph);
+        CompactShortestPath path = dijkstra.findShortestPath(compactGraph, compactGraph.indexOf(0), compactGraph.
+                indexOf(5));
+        Assert.assertEquals("Expected 5.0 but is: " + path.getLength(), 5.0, path.getLength(), 0.0);
+    }
+
     private void initModel()
     {
         vertices = new ArrayList<>();
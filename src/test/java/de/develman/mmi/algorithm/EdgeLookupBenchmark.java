@@ -0,0 +1,94 @@
+package de.develman.mmi.algorithm;
+
+import de.develman.mmi.exception.MinimalCostFlowException;
+import de.develman.mmi.exception.NegativeCycleException;
+import de.develman.mmi.model.Edge;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.Vertex;
+
+/**
+ * Vergleicht die Kantensuche über {@link Vertex#getEdgeTo(int)} mit dem Durchsuchen der abgehenden Kanten und misst
+ * Maximalfluss und kostenminimalen Fluss, die ihre Kanten über den Hash-Index suchen
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class EdgeLookupBenchmark
+{
+    public static void main(String[] args) throws Exception
+    {
+        Graph complete = BenchmarkRunner.loadGraph("data/K_100.txt", true, false, false);
+        BenchmarkRunner.measure("Kantensuche K_100 [linear]", 3, 10, () -> lookupAll(complete, true));
+        BenchmarkRunner.measure("Kantensuche K_100 [index]", 3, 10, () -> lookupAll(complete, false));
+
+        EdmondsKarp edmondsKarp = new EdmondsKarp();
+        edmondsKarp.breadthSearch = new BreadthFirstSearch();
+
+        CycleCanceling cycleCanceling = new CycleCanceling();
+        cycleCanceling.edmondsKarp = edmondsKarp;
+        cycleCanceling.mooreBellmanFord = new MooreBellmanFord();
+
+        SuccessiveShortestPath successiveShortestPath = new SuccessiveShortestPath();
+        successiveShortestPath.breadthFirstSearch = new BreadthFirstSearch();
+        successiveShortestPath.mooreBellmanFord = new MooreBellmanFord();
+
+        BenchmarkRunner.measure("EdmondsKarp K_100", 3, 10, () -> edmondsKarp.findMaxFlow(complete,
+                complete.getVertex(0), complete.getVertex(99)));
+
+        Graph costGraph = BenchmarkRunner.loadGraph("data/test/Kostenminimal100_1.txt", true, true, false);
+        BenchmarkRunner.measure("CycleCanceling Kostenminimal100_1", 1, 3, () ->
+        {
+            try
+            {
+                return cycleCanceling.findMinimumCostFlow(costGraph);
+            }
+            catch (MinimalCostFlowException ex)
+            {
+                throw new IllegalStateException(ex);
+            }
+        });
+        BenchmarkRunner.measure("SuccessiveShortestPath Kostenminimal100_1", 1, 3, () ->
+        {
+            try
+            {
+                return successiveShortestPath.findMinimumCostFlow(costGraph);
+            }
+            catch (MinimalCostFlowException | NegativeCycleException ex)
+            {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+
+    private static int lookupAll(Graph graph, boolean linear)
+    {
+        int found = 0;
+        for (int round = 0; round < 10; round++)
+        {
+            for (int v = 0; v < graph.countVertices(); v++)
+            {
+                Vertex source = graph.getVertexAt(v);
+                for (int w = 0; w < graph.countVertices(); w++)
+                {
+                    int sinkKey = graph.getVertexAt(w).getKey();
+                    found += (linear ? findEdgeTo(source, sinkKey) : source.getEdgeTo(sinkKey)) != null ? 1 : 0;
+                }
+            }
+        }
+
+        return found;
+    }
+
+    private static Edge findEdgeTo(Vertex source, int sinkKey)
+    {
+        for (int i = 0; i < source.countOutgoingEdges(); i++)
+        {
+            Edge edge = source.getOutgoingEdge(i);
+            if (edge.getSink().getKey() == sinkKey)
+            {
+                return edge;
+            }
+        }
+
+        return null;
+    }
+}
@@ -38,6 +38,18 @@ public class EdmondsKarpTest
         Assert.assertTrue(maxFlow == 23.0);
     }
 
+    @Test
+    public void testFindMaxFlowParallel()
+    {
+        edmondsKarp.breadthSearch.setParallel(true);
+
+        Vertex v1 = graph.getVertex(1);
+        Vertex v4 = graph.getVertex(6);
+        double maxFlow = edmondsKarp.findMaxFlow(graph, v1, v4);
+
+        Assert.assertTrue(maxFlow == 23.0);
+    }
+
     private void initModel()
     {
         initData();
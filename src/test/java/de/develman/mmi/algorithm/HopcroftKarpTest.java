@@ -0,0 +1,125 @@
+package de.develman.mmi.algorithm;
+
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.Edge;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.Vertex;
+import de.develman.mmi.model.algorithm.BipartiteMatching;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class HopcroftKarpTest
+{
+    private Graph graph;
+    private List<Vertex> vertices;
+    private List<Edge> edges;
+    private HopcroftKarp hopcroftKarp;
+
+    @Before
+    public void setUp()
+    {
+        initModel();
+        hopcroftKarp = new HopcroftKarp();
+    }
+
+    @Test
+    public void testFindMaximumMatching()
+    {
+        CompactGraph compactGraph = CompactGraph.of(graph);
+        BipartiteMatching matching = hopcroftKarp.findMaximumMatching(compactGraph);
+
+        Assert.assertEquals(4, matching.getSize());
+
+        int[] mates = matching.getMates();
+        int matched = 0;
+        for (int v = 0; v < mates.length; v++)
+        {
+            if (mates[v] != -1)
+            {
+                Assert.assertEquals(v, mates[mates[v]]);
+                matched++;
+            }
+        }
+        Assert.assertEquals(8, matched);
+    }
+
+    @Test
+    public void testFindMaximumMatchingUndirected()
+    {
+        Graph undirected = new Graph(false);
+        undirected.setGroupedVerticeCount(graph.getGroupedVerticeCount());
+        vertices.forEach(v -> undirected.addVertex(new Vertex(v.getKey())));
+        edges.forEach(e -> undirected.addEdge(new Edge(undirected.getVertex(e.getSink().getKey()), undirected.
+                getVertex(e.getSource().getKey()), 1.0)));
+
+        BipartiteMatching matching = hopcroftKarp.findMaximumMatching(CompactGraph.of(undirected));
+        Assert.assertEquals(4, matching.getSize());
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        Random random = new Random(11);
+        EdmondsKarp edmondsKarp = new EdmondsKarp();
+        edmondsKarp.breadthSearch = new BreadthFirstSearch();
+        Matching flowMatching = new Matching();
+        flowMatching.setMaxFlow(edmondsKarp);
+
+        for (int round = 0; round < 20; round++)
+        {
+            int leftCount = 5 + random.nextInt(40);
+            int rightCount = 5 + random.nextInt(40);
+            Graph randomGraph = new Graph(true);
+            randomGraph.setGroupedVerticeCount(leftCount);
+            for (int key = 0; key < leftCount + rightCount; key++)
+            {
+                randomGraph.addVertex(new Vertex(key));
+            }
+            for (int i = 0; i < 2 * (leftCount + rightCount); i++)
+            {
+                Vertex source = randomGraph.getVertex(random.nextInt(leftCount));
+                Vertex sink = randomGraph.getVertex(leftCount + random.nextInt(rightCount));
+                randomGraph.addEdge(new Edge(source, sink, 1.0));
+            }
+
+            BipartiteMatching matching = hopcroftKarp.findMaximumMatching(CompactGraph.of(randomGraph));
+            Assert.assertEquals(flowMatching.countMatching(randomGraph), matching.getSize());
+        }
+    }
+
+    private void initModel()
+    {
+        initData();
+
+        graph = new Graph(true);
+        graph.setGroupedVerticeCount(4);
+        vertices.forEach(v -> graph.addVertex(v));
+        edges.forEach(e -> graph.addEdge(e));
+    }
+
+    private void initData()
+    {
+        vertices = new ArrayList<>();
+        for (int key = 0; key < 8; key++)
+        {
+            vertices.add(new Vertex(key));
+        }
+
+        // Die gierige Zuordnung 0-4, 1-5, 2-6 lässt 3 frei, erst der Weg 3-4-0-5-1-6-2-7 vergrößert das Matching
+        edges = new ArrayList<>();
+        edges.add(new Edge(vertices.get(0), vertices.get(4), 1.0));
+        edges.add(new Edge(vertices.get(0), vertices.get(5), 1.0));
+        edges.add(new Edge(vertices.get(1), vertices.get(5), 1.0));
+        edges.add(new Edge(vertices.get(1), vertices.get(6), 1.0));
+        edges.add(new Edge(vertices.get(2), vertices.get(6), 1.0));
+        edges.add(new Edge(vertices.get(2), vertices.get(7), 1.0));
+        edges.add(new Edge(vertices.get(3), vertices.get(4), 1.0));
+    }
+}
@@ -1,10 +1,12 @@
 package de.develman.mmi.algorithm;
 
+import de.develman.mmi.model.CompactGraph;
 import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
 import de.develman.mmi.model.Vertex;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -35,6 +37,85 @@ public class KruskalTest
         Assert.assertEquals(9.0, cost, 0.0);
     }
 
+    @Test
+    public void testCompactKruskal()
+    {
+        CompactGraph minSpanTree = kruskal.getMinimalSpanningTree(CompactGraph.of(graph));
+
+        double cost = 0.0;
+        for (int arc = 0; arc < minSpanTree.countArcs(); arc++)
+        {
+            cost += minSpanTree.isReverseArc(arc) ? 0.0 : minSpanTree.getCapacity(arc);
+        }
+
+        Assert.assertEquals(6, minSpanTree.countEdges());
+        Assert.assertEquals(9.0, cost, 0.0);
+    }
+
+    @Test
+    public void testDisconnectedGraph()
+    {
+        Vertex v8 = new Vertex(8);
+        Vertex v9 = new Vertex(9);
+        graph.addVertex(v8);
+        graph.addVertex(v9);
+        graph.addEdge(new Edge(v8, v9, 5.0));
+
+        Graph minSpanTree = kruskal.getMinimalSpanningTree(graph);
+
+        double cost = minSpanTree.getEdges().stream().mapToDouble(Edge::getCapacity).sum();
+        Assert.assertEquals(7, minSpanTree.countEdges());
+        Assert.assertEquals(14.0, cost, 0.0);
+    }
+
+    @Test
+    public void testSortModes()
+    {
+        Random random = new Random(7);
+        Graph randomGraph = new Graph(false);
+        for (int key = 0; key < 500; key++)
+        {
+            randomGraph.addVertex(new Vertex(key));
+        }
+        for (int i = 0; i < 20000; i++)
+        {
+            Vertex source = randomGraph.getVertex(random.nextInt(500));
+            Vertex sink = randomGraph.getVertex(random.nextInt(500));
+            randomGraph.addEdge(new Edge(source, sink, (double) random.nextInt(50)));
+        }
+        CompactGraph compactGraph = CompactGraph.of(randomGraph);
+
+        kruskal.setFilter(false);
+        Graph expected = kruskal.getMinimalSpanningTree(randomGraph);
+        CompactGraph expectedCompact = kruskal.getMinimalSpanningTree(compactGraph);
+        Assert.assertEquals(499, expected.countEdges());
+
+        for (boolean parallel : new boolean[]
+        {
+            false, true
+        })
+        {
+            kruskal.setFilter(true);
+            kruskal.setParallel(parallel);
+            Graph minSpanTree = kruskal.getMinimalSpanningTree(randomGraph);
+            CompactGraph compactTree = kruskal.getMinimalSpanningTree(compactGraph);
+
+            Assert.assertEquals(expected.countEdges(), minSpanTree.countEdges());
+            for (int i = 0; i < expected.countEdges(); i++)
+            {
+                Assert.assertEquals(expected.getEdges().get(i).toString(), minSpanTree.getEdges().get(i).toString());
+            }
+            for (int v = 0; v < compactGraph.countVertices(); v++)
+            {
+                Assert.assertEquals(expectedCompact.getOutDegree(v), compactTree.getOutDegree(v));
+                for (int arc = expectedCompact.firstArc(v); arc < expectedCompact.endArc(v); arc++)
+                {
+                    Assert.assertEquals(expectedCompact.getTarget(arc), compactTree.getTarget(arc));
+                }
+            }
+        }
+    }
+
     private void initModel()
     {
         initData();
@@ -25,8 +25,7 @@ public class MatchingTest
         initModel();
 
         matching = new Matching();
-        matching.edmondsKarp = new EdmondsKarp();
-        matching.edmondsKarp.breadthSearch = new BreadthFirstSearch();
+        matching.hopcroftKarp = new HopcroftKarp();
     }
 
     @Test
@@ -36,6 +35,37 @@ public class MatchingTest
         Assert.assertTrue(matchings == 3.0);
     }
 
+    @Test
+    public void testFindMaxFlowEdmondsKarp()
+    {
+        EdmondsKarp edmondsKarp = new EdmondsKarp();
+        edmondsKarp.breadthSearch = new BreadthFirstSearch();
+        matching.setMaxFlow(edmondsKarp);
+        Assert.assertEquals(3, matching.countMatching(graph));
+    }
+
+    @Test
+    public void testFindMaxFlowDinic()
+    {
+        matching.setMaxFlow(new Dinic());
+        Assert.assertEquals(3, matching.countMatching(graph));
+    }
+
+    @Test
+    public void testFindMaxFlowPushRelabel()
+    {
+        matching.setMaxFlow(new PushRelabel());
+        Assert.assertEquals(3, matching.countMatching(graph));
+    }
+
+    @Test
+    public void testFindMatching()
+    {
+        List<Edge> matchedEdges = matching.findMatching(graph);
+        Assert.assertEquals(3, matchedEdges.size());
+        Assert.assertTrue(matchedEdges.containsAll(edges));
+    }
+
     private void initModel()
     {
         initData();
@@ -0,0 +1,85 @@
+package de.develman.mmi.algorithm;
+
+import de.develman.mmi.model.Edge;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.Vertex;
+import java.util.Random;
+
+/**
+ * Vergleicht Edmonds-Karp, Dinic und Push-Relabel auf Fluss.txt, Matching_100_100.txt und zufälligen bipartiten
+ * Graphen, bei den Matchings zusätzlich Hopcroft-Karp
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class MaxFlowBenchmark
+{
+    public static void main(String[] args)
+    {
+        EdmondsKarp edmondsKarp = new EdmondsKarp();
+        edmondsKarp.breadthSearch = new BreadthFirstSearch();
+        MaxFlow[] algorithms =
+        {
+            edmondsKarp, new Dinic(), new PushRelabel()
+        };
+
+        Graph flow = BenchmarkRunner.loadGraph("data/Fluss.txt", true, false, false);
+        for (MaxFlow maxFlow : algorithms)
+        {
+            BenchmarkRunner.measure("Fluss [" + name(maxFlow) + "]", 100, 1000, () -> maxFlow.findMaxFlow(flow, flow.
+                    getVertex(0), flow.getVertex(7)));
+        }
+
+        Graph matchingGraph = BenchmarkRunner.loadGraph("data/Matching_100_100.txt", true, false, true);
+        runMatching("Matching_100_100", matchingGraph, algorithms, 20, 100);
+
+        Graph small = createBipartiteGraph(2000, 8, 1);
+        runMatching("Bipartit 2000x2000, 16000 Kanten", small, algorithms, 2, 5);
+
+        Graph large = createBipartiteGraph(20000, 5, 2);
+        runMatching("Bipartit 20000x20000, 100000 Kanten", large, algorithms, 1, 3);
+    }
+
+    private static void runMatching(String name, Graph graph, MaxFlow[] algorithms, int warmups, int runs)
+    {
+        for (MaxFlow maxFlow : algorithms)
+        {
+            Matching matching = new Matching();
+            matching.setMaxFlow(maxFlow);
+            BenchmarkRunner.measure(name + " [" + name(maxFlow) + "]", warmups, runs, () -> matching.countMatching(
+                    graph));
+        }
+
+        Matching matching = new Matching();
+        matching.hopcroftKarp = new HopcroftKarp();
+        BenchmarkRunner.measure(name + " [HopcroftKarp]", warmups, runs, () -> matching.countMatching(graph));
+    }
+
+    private static Graph createBipartiteGraph(int groupSize, int degree, long seed)
+    {
+        Graph graph = new Graph(true);
+        graph.setGroupedVerticeCount(groupSize);
+
+        for (int key = 0; key < 2 * groupSize; key++)
+        {
+            graph.addVertex(new Vertex(key));
+        }
+
+        Random random = new Random(seed);
+        for (int key = 0; key < groupSize; key++)
+        {
+            Vertex source = graph.getVertex(key);
+            for (int i = 0; i < degree; i++)
+            {
+                Vertex sink = graph.getVertex(groupSize + random.nextInt(groupSize));
+                graph.addEdge(new Edge(source, sink, 1.0));
+            }
+        }
+
+        return graph;
+    }
+
+    private static String name(MaxFlow maxFlow)
+    {
+        return maxFlow.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,203 @@
+package de.develman.mmi.algorithm;
+
+import de.develman.mmi.model.Edge;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.ResidualNetwork;
+import de.develman.mmi.model.Vertex;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Prüft alle Implementierungen von {@link MaxFlow} auf denselben Graphen
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class MaxFlowTest
+{
+    @Test
+    public void testFindMaxFlow()
+    {
+        for (MaxFlow maxFlow : maxFlows())
+        {
+            Graph graph = initGraph();
+            double flow = maxFlow.findMaxFlow(graph, graph.getVertex(1), graph.getVertex(6));
+
+            Assert.assertEquals(name(maxFlow), 23.0, flow, 0.0);
+        }
+    }
+
+    @Test
+    public void testValidFlow()
+    {
+        for (MaxFlow maxFlow : maxFlows())
+        {
+            ResidualNetwork network = ResidualNetwork.of(initGraph());
+            int start = network.indexOf(1);
+            int end = network.indexOf(6);
+            double flow = maxFlow.calculateMaxFlow(network, start, end);
+
+            Assert.assertEquals(name(maxFlow), 23.0, flow, 0.0);
+            assertValidFlow(name(maxFlow), network, start, end, flow);
+        }
+    }
+
+    @Test
+    public void testExcessReturnsToSource()
+    {
+        // Der Startknoten kann 10 abgeben, nur 1 erreicht den Endknoten, der Rest muss zurückfließen
+        for (MaxFlow maxFlow : maxFlows())
+        {
+            ResidualNetwork network = new ResidualNetwork(3, 2);
+            int start = network.addVertex(0, 0.0);
+            int middle = network.addVertex(1, 0.0);
+            int end = network.addVertex(2, 0.0);
+            network.addEdge(start, middle, 10.0, 0.0);
+            network.addEdge(middle, end, 1.0, 0.0);
+
+            double flow = maxFlow.calculateMaxFlow(network, start, end);
+
+            Assert.assertEquals(name(maxFlow), 1.0, flow, 0.0);
+            assertValidFlow(name(maxFlow), network, start, end, flow);
+        }
+    }
+
+    @Test
+    public void testGap()
+    {
+        // Nach dem Sättigen von b->t ist b der einzige Knoten seiner Höhe, sein Anheben lässt eine Lücke, über der
+        // a und c liegen. Deren Überschuss kann nur noch zum Startknoten zurückfließen.
+        for (MaxFlow maxFlow : maxFlows())
+        {
+            ResidualNetwork network = new ResidualNetwork(5, 4);
+            int start = network.addVertex(0, 0.0);
+            int a = network.addVertex(1, 0.0);
+            int b = network.addVertex(2, 0.0);
+            int c = network.addVertex(3, 0.0);
+            int end = network.addVertex(4, 0.0);
+            network.addEdge(start, a, 10.0, 0.0);
+            network.addEdge(start, c, 10.0, 0.0);
+            network.addEdge(a, b, 10.0, 0.0);
+            network.addEdge(c, b, 10.0, 0.0);
+            network.addEdge(b, end, 1.0, 0.0);
+
+            double flow = maxFlow.calculateMaxFlow(network, start, end);
+
+            Assert.assertEquals(name(maxFlow), 1.0, flow, 0.0);
+            assertValidFlow(name(maxFlow), network, start, end, flow);
+        }
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        Random random = new Random(5);
+        for (int round = 0; round < 30; round++)
+        {
+            int vertexCount = 2 + random.nextInt(40);
+            int edgeCount = random.nextInt(6 * vertexCount);
+            int[] sources = new int[edgeCount];
+            int[] sinks = new int[edgeCount];
+            double[] capacities = new double[edgeCount];
+            for (int e = 0; e < edgeCount; e++)
+            {
+                sources[e] = random.nextInt(vertexCount);
+                sinks[e] = random.nextInt(vertexCount);
+                capacities[e] = random.nextInt(20);
+            }
+
+            int start = random.nextInt(vertexCount);
+            int end = (start + 1 + random.nextInt(vertexCount - 1)) % vertexCount;
+
+            EdmondsKarp edmondsKarp = new EdmondsKarp();
+            edmondsKarp.breadthSearch = new BreadthFirstSearch();
+            double expected = edmondsKarp.calculateMaxFlow(initNetwork(vertexCount, sources, sinks, capacities), start,
+                    end);
+
+            for (MaxFlow maxFlow : maxFlows())
+            {
+                ResidualNetwork network = initNetwork(vertexCount, sources, sinks, capacities);
+                double flow = maxFlow.calculateMaxFlow(network, start, end);
+
+                Assert.assertEquals(name(maxFlow) + " in Runde " + round, expected, flow, 1e-9);
+                assertValidFlow(name(maxFlow) + " in Runde " + round, network, start, end, flow);
+            }
+        }
+    }
+
+    private List<MaxFlow> maxFlows()
+    {
+        EdmondsKarp edmondsKarp = new EdmondsKarp();
+        edmondsKarp.breadthSearch = new BreadthFirstSearch();
+
+        return Arrays.asList(edmondsKarp, new Dinic(), new PushRelabel());
+    }
+
+    private String name(MaxFlow maxFlow)
+    {
+        return maxFlow.getClass().getSimpleName();
+    }
+
+    private void assertValidFlow(String name, ResidualNetwork network, int start, int end, double maxFlow)
+    {
+        double[] balance = new double[network.countVertices()];
+        for (int arc = 0; arc < network.countArcs(); arc += 2)
+        {
+            double flow = network.getFlow(arc);
+            Assert.assertTrue(name, flow >= 0.0 && flow <= network.getCapacity(arc));
+
+            balance[network.getSource(arc)] -= flow;
+            balance[network.getTarget(arc)] += flow;
+        }
+
+        for (int v = 0; v < network.countVertices(); v++)
+        {
+            double expected = v == start ? -maxFlow : v == end ? maxFlow : 0.0;
+            Assert.assertEquals(name, expected, balance[v], 1e-9);
+        }
+    }
+
+    private ResidualNetwork initNetwork(int vertexCount, int[] sources, int[] sinks, double[] capacities)
+    {
+        ResidualNetwork network = new ResidualNetwork(vertexCount, sources.length);
+        for (int v = 0; v < vertexCount; v++)
+        {
+            network.addVertex(v, 0.0);
+        }
+        for (int e = 0; e < sources.length; e++)
+        {
+            network.addEdge(sources[e], sinks[e], capacities[e], 0.0);
+        }
+
+        return network;
+    }
+
+    private Graph initGraph()
+    {
+        Graph graph = new Graph(true);
+        for (int key = 1; key <= 6; key++)
+        {
+            graph.addVertex(new Vertex(key));
+        }
+
+        addEdge(graph, 1, 2, 16.0);
+        addEdge(graph, 1, 3, 13.0);
+        addEdge(graph, 2, 3, 10.0);
+        addEdge(graph, 2, 4, 12.0);
+        addEdge(graph, 3, 2, 4.0);
+        addEdge(graph, 3, 5, 14.0);
+        addEdge(graph, 4, 3, 9.0);
+        addEdge(graph, 4, 6, 20.0);
+        addEdge(graph, 5, 4, 7.0);
+        addEdge(graph, 5, 6, 4.0);
+
+        return graph;
+    }
+
+    private void addEdge(Graph graph, int source, int sink, double capacity)
+    {
+        graph.addEdge(new Edge(graph.getVertex(source), graph.getVertex(sink), capacity));
+    }
+}
@@ -3,7 +3,9 @@ package de.develman.mmi.algorithm;
 import de.develman.mmi.exception.NegativeCycleException;
 import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.ResidualNetwork;
 import de.develman.mmi.model.Vertex;
+import de.develman.mmi.model.algorithm.CompactShortestPath;
 import de.develman.mmi.model.algorithm.ShortestPath;
 import java.util.ArrayList;
 import java.util.List;
@@ -68,6 +70,53 @@ public class MooreBellmanFordTest
         }
     }
 
+    @Test
+    public void testShortestPathResidualNetwork()
+    {
+        ResidualNetwork network = createNetwork();
+
+        try
+        {
+            CompactShortestPath path = mooreBellmanFord.findShortestPath(network, 0, 2);
+            Assert.assertEquals(-98.0, path.getLength(), 0.0);
+            Assert.assertEquals(3, path.getArcs().length);
+        }
+        catch (NegativeCycleException ex)
+        {
+            Assert.fail("Negative cycle detected.");
+        }
+    }
+
+    @Test
+    public void testNegativeCycleResidualNetwork()
+    {
+        ResidualNetwork network = createNetwork();
+        network.addEdge(1, 4, 1.0, 1.0);
+
+        boolean[] visited = new boolean[network.countVertices()];
+        int[] cycle = mooreBellmanFord.findNegativeCycle(network, 0, visited);
+        Assert.assertNotNull(cycle);
+
+        double cost = 0.0;
+        for (int i = 0; i < cycle.length; i++)
+        {
+            int next = cycle[(i + 1) % cycle.length];
+            Assert.assertEquals(network.getTarget(cycle[i]), network.getSource(next));
+            cost += network.getCost(cycle[i]);
+        }
+        Assert.assertEquals(-97.0, cost, 0.0);
+    }
+
+    private ResidualNetwork createNetwork()
+    {
+        ResidualNetwork network = new ResidualNetwork(vertices.size(), edges.size() + 1);
+        vertices.forEach(v -> network.addVertex(v.getKey(), 0.0));
+        edges.forEach(e -> network.addEdge(network.indexOf(e.getSource().getKey()), network.indexOf(e.getSink().
+                getKey()), 1.0, e.getCost()));
+
+        return network;
+    }
+
     private void initModel()
     {
         vertices = new ArrayList<>();
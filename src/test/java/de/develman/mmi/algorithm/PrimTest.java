@@ -1,10 +1,12 @@
 package de.develman.mmi.algorithm;
 
+import de.develman.mmi.model.CompactGraph;
 import de.develman.mmi.model.Edge;
 import de.develman.mmi.model.Graph;
 import de.develman.mmi.model.Vertex;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -35,6 +37,80 @@ public class PrimTest
         Assert.assertEquals(15.0, cost, 0.0);
     }
 
+    @Test
+    public void testCompactPrim()
+    {
+        CompactGraph compactGraph = CompactGraph.of(graph);
+        CompactGraph minSpanTree = prim.getMinimalSpanningTree(compactGraph, compactGraph.indexOf(1));
+
+        double cost = 0.0;
+        for (int arc = 0; arc < minSpanTree.countArcs(); arc++)
+        {
+            cost += minSpanTree.isReverseArc(arc) ? 0.0 : minSpanTree.getCapacity(arc);
+        }
+
+        Assert.assertEquals(graph.countVertices() - 1, minSpanTree.countEdges());
+        Assert.assertEquals(15.0, cost, 0.0);
+    }
+
+    @Test
+    public void testDisconnectedGraph()
+    {
+        Vertex v12 = new Vertex(12);
+        Vertex v13 = new Vertex(13);
+        graph.addVertex(v12);
+        graph.addVertex(v13);
+        graph.addEdge(new Edge(v12, v13, 5.0));
+
+        Graph minSpanTree = prim.getMinimalSpanningTree(graph, graph.getVertex(1));
+
+        double cost = minSpanTree.getEdges().stream().mapToDouble(Edge::getCapacity).sum();
+        Assert.assertEquals(10, minSpanTree.countEdges());
+        Assert.assertEquals(15.0, cost, 0.0);
+        Assert.assertNull(minSpanTree.getVertex(12));
+    }
+
+    @Test
+    public void testDenseModes()
+    {
+        Random random = new Random(7);
+        Graph randomGraph = new Graph(false);
+        for (int key = 0; key < 300; key++)
+        {
+            randomGraph.addVertex(new Vertex(key));
+        }
+        for (int i = 0; i < 5000; i++)
+        {
+            Vertex source = randomGraph.getVertex(random.nextInt(300));
+            Vertex sink = randomGraph.getVertex(random.nextInt(300));
+            randomGraph.addEdge(new Edge(source, sink, (double) random.nextInt(50)));
+        }
+        CompactGraph compactGraph = CompactGraph.of(randomGraph);
+        double expected = new Kruskal().getMinimalSpanningTree(randomGraph).getEdges().stream().mapToDouble(
+                Edge::getCapacity).sum();
+
+        for (boolean dense : new boolean[]
+        {
+            false, true
+        })
+        {
+            prim.setDense(dense);
+            Graph minSpanTree = prim.getMinimalSpanningTree(randomGraph, randomGraph.getVertex(0));
+            CompactGraph compactTree = prim.getMinimalSpanningTree(compactGraph, 0);
+
+            double compactCost = 0.0;
+            for (int arc = 0; arc < compactTree.countArcs(); arc++)
+            {
+                compactCost += compactTree.isReverseArc(arc) ? 0.0 : compactTree.getCapacity(arc);
+            }
+
+            Assert.assertEquals(299, minSpanTree.countEdges());
+            Assert.assertEquals(expected, minSpanTree.getEdges().stream().mapToDouble(Edge::getCapacity).sum(), 0.0);
+            Assert.assertEquals(299, compactTree.countEdges());
+            Assert.assertEquals(expected, compactCost, 0.0);
+        }
+    }
+
     private void initModel()
     {
         initData();
@@ -0,0 +1,60 @@
+package de.develman.mmi.algorithm;
+
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.Graph;
+
+/**
+ * Misst die Berechnung minimal spannender Bäume nach Kruskal mit und ohne Filter sowie nach Prim mit Heap und Array
+ * auf K_100.txt und G_100_200.txt
+ *
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class SpanningTreeBenchmark
+{
+    public static void main(String[] args)
+    {
+        Kruskal kruskal = new Kruskal();
+        kruskal.setFilter(false);
+        Kruskal filterKruskal = new Kruskal();
+        Kruskal parallelKruskal = new Kruskal();
+        parallelKruskal.setParallel(true);
+        Prim prim = new Prim();
+        Prim heapPrim = new Prim();
+        heapPrim.setDense(false);
+        Prim densePrim = new Prim();
+        densePrim.setDense(true);
+
+        String[] files =
+        {
+            "K_100", "G_100_200"
+        };
+        for (String file : files)
+        {
+            Graph graph = BenchmarkRunner.loadGraph("data/" + file + ".txt", false, false, false);
+            CompactGraph compactGraph = CompactGraph.of(graph);
+
+            BenchmarkRunner.measure(file + " [Kruskal]", 5, 20, () -> kruskal.getMinimalSpanningTree(graph).
+                    countEdges());
+            BenchmarkRunner.measure(file + " [Kruskal, kompakt]", 5, 20, () -> kruskal.getMinimalSpanningTree(
+                    compactGraph).countEdges());
+            BenchmarkRunner.measure(file + " [Filter-Kruskal]", 5, 20, () -> filterKruskal.getMinimalSpanningTree(
+                    graph).countEdges());
+            BenchmarkRunner.measure(file + " [Filter-Kruskal, kompakt]", 5, 20, () -> filterKruskal.
+                    getMinimalSpanningTree(compactGraph).countEdges());
+            BenchmarkRunner.measure(file + " [Filter-Kruskal, parallel, kompakt]", 5, 20, () -> parallelKruskal.
+                    getMinimalSpanningTree(compactGraph).countEdges());
+            BenchmarkRunner.measure(file + " [Prim]", 5, 20, () -> prim.getMinimalSpanningTree(graph, graph.
+                    getVertexAt(0)).countEdges());
+            BenchmarkRunner.measure(file + " [Prim, kompakt]", 5, 20, () -> prim.getMinimalSpanningTree(compactGraph,
+                    0).countEdges());
+            BenchmarkRunner.measure(file + " [Prim, Heap, kompakt]", 5, 20, () -> heapPrim.getMinimalSpanningTree(
+                    compactGraph, 0).countEdges());
+            // Die Suche im Array ist quadratisch in der Knotenanzahl und nur für den vollständigen Graphen sinnvoll
+            if (compactGraph.countVertices() <= 1000)
+            {
+                BenchmarkRunner.measure(file + " [Prim, Array, kompakt]", 5, 20, () -> densePrim.
+                        getMinimalSpanningTree(compactGraph, 0).countEdges());
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package de.develman.mmi.algorithm.util;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class IndexedMinHeapTest
+{
+    private IndexedMinHeap heap;
+
+    @Before
+    public void setUp()
+    {
+        heap = new IndexedMinHeap(6);
+    }
+
+    @Test
+    public void testPollOrder()
+    {
+        heap.insertOrDecrease(0, 5.0);
+        heap.insertOrDecrease(1, 3.0);
+        heap.insertOrDecrease(2, 8.0);
+        heap.insertOrDecrease(3, 1.0);
+        heap.insertOrDecrease(4, 4.0);
+
+        int[] expected =
+        {
+            3, 1, 4, 0, 2
+        };
+
+        for (int index : expected)
+        {
+            Assert.assertEquals(index, heap.poll());
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKey()
+    {
+        heap.insertOrDecrease(0, 5.0);
+        heap.insertOrDecrease(1, 3.0);
+        heap.insertOrDecrease(2, 8.0);
+
+        heap.insertOrDecrease(2, 2.0);
+        heap.insertOrDecrease(1, 7.0);
+
+        Assert.assertEquals(3, heap.size());
+        Assert.assertEquals(2.0, heap.getKey(2), 0.0);
+        Assert.assertEquals(3.0, heap.getKey(1), 0.0);
+        Assert.assertEquals(2, heap.poll());
+        Assert.assertEquals(1, heap.poll());
+        Assert.assertEquals(0, heap.poll());
+    }
+
+    @Test
+    public void testClear()
+    {
+        heap.insertOrDecrease(4, 1.0);
+        heap.insertOrDecrease(5, 2.0);
+        heap.clear();
+
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertFalse(heap.contains(4));
+
+        heap.insertOrDecrease(5, 0.5);
+        Assert.assertEquals(5, heap.poll());
+    }
+}
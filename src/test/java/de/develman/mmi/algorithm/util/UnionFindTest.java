@@ -0,0 +1,43 @@
+package de.develman.mmi.algorithm.util;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class UnionFindTest
+{
+    private UnionFind unionFind;
+
+    @Before
+    public void setUp()
+    {
+        unionFind = new UnionFind(6);
+    }
+
+    @Test
+    public void testSingletons()
+    {
+        Assert.assertEquals(6, unionFind.count());
+        for (int i = 0; i < 6; i++)
+        {
+            Assert.assertEquals(i, unionFind.find(i));
+        }
+    }
+
+    @Test
+    public void testUnion()
+    {
+        Assert.assertTrue(unionFind.union(0, 1));
+        Assert.assertTrue(unionFind.union(2, 3));
+        Assert.assertTrue(unionFind.union(1, 3));
+        Assert.assertFalse(unionFind.union(0, 2));
+
+        Assert.assertEquals(3, unionFind.count());
+        Assert.assertEquals(unionFind.find(0), unionFind.find(3));
+        Assert.assertNotEquals(unionFind.find(0), unionFind.find(4));
+        Assert.assertNotEquals(unionFind.find(4), unionFind.find(5));
+    }
+}
@@ -0,0 +1,120 @@
+package de.develman.mmi.export;
+
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.Edge;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.Vertex;
+import de.develman.mmi.parser.impl.DimacsLoader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class DimacsExporterTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testExportMinCostFlow() throws IOException
+    {
+        StringWriter writer = new StringWriter();
+        new DimacsExporter(initGraph()).export(writer);
+
+        Assert.assertEquals("p min 3 3\nn 1 4\nn 3 -4\na 1 2 0 5 1.5\na 2 3 0 4 2\na 1 3 0 2 7\n", writer.toString());
+    }
+
+    @Test
+    public void testMissingValues() throws IOException
+    {
+        Graph graph = new Graph(true);
+        graph.addVertex(new Vertex(1));
+        graph.addVertex(new Vertex(2));
+        graph.addEdge(new Edge(graph.getVertex(1), graph.getVertex(2), 3.0, Double.NaN));
+
+        StringWriter writer = new StringWriter();
+        new DimacsExporter(graph).export(writer);
+        Assert.assertEquals("p min 2 1\na 1 2 0 3 0\n", writer.toString());
+
+        graph.addEdge(new Edge(graph.getVertex(2), graph.getVertex(1)));
+        try
+        {
+            new DimacsExporter(graph).export(new StringWriter());
+            Assert.fail("Kante ohne Kapazität");
+        }
+        catch (IllegalArgumentException ex)
+        {
+            Assert.assertTrue(ex.getMessage().contains("2->1"));
+        }
+    }
+
+    @Test
+    public void testRoundTripMinCostFlow() throws IOException
+    {
+        Graph expected = initGraph();
+        CompactGraph graph = new DimacsLoader(write(new DimacsExporter(expected))).loadCompactGraph(true, true,
+                false);
+
+        Assert.assertEquals(3, graph.countVertices());
+        Assert.assertEquals(4.0, graph.getBalance(0), 0.0);
+        Assert.assertEquals(0.0, graph.getBalance(1), 0.0);
+        Assert.assertEquals(-4.0, graph.getBalance(2), 0.0);
+        Assert.assertEquals(3, graph.countEdges());
+        Assert.assertEquals(1, graph.getTarget(graph.firstArc(0)));
+        Assert.assertEquals(5.0, graph.getCapacity(graph.firstArc(0)), 0.0);
+        Assert.assertEquals(1.5, graph.getCost(graph.firstArc(0)), 0.0);
+        Assert.assertEquals(2, graph.getTarget(graph.firstArc(0) + 1));
+        Assert.assertEquals(7.0, graph.getCost(graph.firstArc(0) + 1), 0.0);
+    }
+
+    @Test
+    public void testRoundTripMaxFlow() throws IOException
+    {
+        Graph expected = initGraph();
+        DimacsLoader loader = new DimacsLoader(write(new DimacsExporter(expected, expected.getVertex(1), expected.
+                getVertex(3))));
+        Graph graph = loader.loadGraph(true, false, false);
+
+        Assert.assertEquals(0, loader.getSource());
+        Assert.assertEquals(2, loader.getSink());
+        Assert.assertEquals(3, graph.countEdges());
+        Assert.assertEquals(4.0, graph.getEdge(graph.getVertex(1), graph.getVertex(2)).getCapacity(), 0.0);
+        Assert.assertTrue(graph.getVertex(0).getBalance().isNaN());
+    }
+
+    private File write(Exporter exporter) throws IOException
+    {
+        File file = folder.newFile();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE))
+        {
+            exporter.export(channel);
+        }
+
+        return file;
+    }
+
+    private Graph initGraph()
+    {
+        Graph graph = new Graph(true);
+        Vertex v1 = new Vertex(1, 4.0);
+        Vertex v2 = new Vertex(2, 0.0);
+        Vertex v3 = new Vertex(3, -4.0);
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+
+        graph.addEdge(new Edge(v1, v2, 5.0, 1.5));
+        graph.addEdge(new Edge(v2, v3, 4.0, 2.0));
+        graph.addEdge(new Edge(v1, v3, 2.0, 7.0));
+
+        return graph;
+    }
+}
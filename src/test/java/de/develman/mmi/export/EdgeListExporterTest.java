@@ -0,0 +1,81 @@
+package de.develman.mmi.export;
+
+import de.develman.mmi.model.Edge;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.Vertex;
+import de.develman.mmi.parser.FileParser;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class EdgeListExporterTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testExport() throws IOException
+    {
+        StringWriter writer = new StringWriter();
+        new EdgeListExporter(initGraph()).export(writer);
+
+        Assert.assertEquals("4\n2.5\n0.0\nNaN\n-2.5\n0\t1\t1.0\t4.0\n0\t2\t0.125\n2\t3\n3\t1\tNaN\t3.0\n", writer.
+                toString());
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException
+    {
+        Graph expected = initGraph();
+        File file = folder.newFile();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE))
+        {
+            new EdgeListExporter(expected).export(channel);
+        }
+
+        Graph graph = new FileParser(file).loadGraph(true, true, false);
+        Assert.assertEquals(expected.countVertices(), graph.countVertices());
+        Assert.assertEquals(-2.5, graph.getVertex(3).getBalance(), 0.0);
+        Assert.assertTrue(graph.getVertex(2).getBalance().isNaN());
+        Assert.assertEquals(expected.countEdges(), graph.countEdges());
+        for (int i = 0; i < expected.countEdges(); i++)
+        {
+            Edge expectedEdge = expected.getEdges().get(i);
+            Edge edge = graph.getEdges().get(i);
+
+            Assert.assertEquals(expected.indexOf(expectedEdge.getSource()), edge.getSource().getKey().intValue());
+            Assert.assertEquals(expected.indexOf(expectedEdge.getSink()), edge.getSink().getKey().intValue());
+            Assert.assertEquals(expectedEdge.getCapacity(), edge.getCapacity(), 0.0);
+            Assert.assertEquals(expectedEdge.getCost(), edge.getCost(), 0.0);
+        }
+    }
+
+    private Graph initGraph()
+    {
+        Graph graph = new Graph(true);
+        Vertex v1 = new Vertex(10, 2.5);
+        Vertex v2 = new Vertex(20, 0.0);
+        Vertex v3 = new Vertex(30);
+        Vertex v4 = new Vertex(40, -2.5);
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addVertex(v4);
+
+        graph.addEdge(new Edge(v1, v2, 4.0, 1.0));
+        graph.addEdge(new Edge(v1, v3, 0.125, 0.125));
+        graph.addEdge(new Edge(v3, v4));
+        graph.addEdge(new Edge(v4, v2, 3.0, Double.NaN));
+
+        return graph;
+    }
+}
@@ -0,0 +1,85 @@
+package de.develman.mmi.export;
+
+import de.develman.mmi.model.Edge;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.Vertex;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class GraphExporterTest
+{
+    @Test
+    public void testExport()
+    {
+        Graph graph = new Graph(true);
+        Vertex v1 = new Vertex(1, 3.5);
+        Vertex v2 = new Vertex(2, -0.0);
+        Vertex v3 = new Vertex(30);
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addEdge(new Edge(v1, v2, 4.0, 0.001));
+        graph.addEdge(new Edge(v2, v3, 1e-4, Double.NaN));
+        graph.addEdge(new Edge(v3, v1));
+
+        Assert.assertEquals("{\"vertices\":[{\"id\":\"1\",\"label\":\"1,(3.5)\"},{\"id\":\"2\",\"label\":\"2,(-0.0)\"},"
+                + "{\"id\":\"30\",\"label\":\"30\"}],\"edges\":[{\"from\":\"1\",\"to\":\"2\",\"label\":\"(4.0),0.001\","
+                + "\"style\":\"arrow\"},{\"from\":\"2\",\"to\":\"30\",\"label\":\"1.0E-4\",\"style\":\"arrow\"},"
+                + "{\"from\":\"30\",\"to\":\"1\",\"style\":\"arrow\"}]}", new GraphExporter(graph).export());
+    }
+
+    @Test
+    public void testExportLargeGraph() throws IOException
+    {
+        Graph graph = new Graph(false);
+        for (int i = 0; i < 20000; i++)
+        {
+            graph.addVertex(new Vertex(i));
+        }
+        for (int i = 1; i < 20000; i++)
+        {
+            graph.addEdge(new Edge(graph.getVertex(i - 1), graph.getVertex(i), i * 0.37, i / 7.0));
+        }
+
+        StringBuilder expected = new StringBuilder("{\"vertices\":[");
+        for (int i = 0; i < 20000; i++)
+        {
+            expected.append(i > 0 ? "," : "").append("{\"id\":\"").append(i).append("\",\"label\":\"").append(i).
+                    append("\"}");
+        }
+        expected.append("],\"edges\":[");
+        for (int i = 1; i < 20000; i++)
+        {
+            expected.append(i > 1 ? "," : "").append("{\"from\":\"").append(i - 1).append("\",\"to\":\"").append(i).
+                    append("\",\"label\":\"(").append(i * 0.37).append("),").append(i / 7.0).append("\"}");
+        }
+        expected.append("]}");
+
+        GraphExporter exporter = new GraphExporter(graph);
+        StringWriter writer = new StringWriter();
+        exporter.export(writer);
+        Assert.assertEquals(expected.toString(), writer.toString());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = Channels.newChannel(output))
+        {
+            exporter.export(channel);
+        }
+        Assert.assertEquals(expected.toString(), new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testExportEmptyGraph()
+    {
+        Assert.assertEquals("{\"vertices\":[],\"edges\":[]}", new GraphExporter(new Graph(true)).export());
+    }
+}
@@ -0,0 +1,94 @@
+package de.develman.mmi.export;
+
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.Edge;
+import de.develman.mmi.model.Graph;
+import de.develman.mmi.model.Vertex;
+import de.develman.mmi.parser.impl.MetisLoader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class MetisExporterTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testExport() throws IOException
+    {
+        StringWriter writer = new StringWriter();
+        new MetisExporter(initGraph(false, 3.0)).export(writer);
+        Assert.assertEquals("4 3 001\n2 1 3 2\n1 1\n1 2 4 3\n3 3\n", writer.toString());
+
+        writer = new StringWriter();
+        new MetisExporter(initGraph(true, Double.NaN)).export(writer);
+        Assert.assertEquals("4 3\n2 3\n1\n4 1\n3\n", writer.toString());
+    }
+
+    @Test
+    public void testMergedNeighbors() throws IOException
+    {
+        Graph graph = new Graph(true);
+        graph.addVertex(new Vertex(0));
+        graph.addVertex(new Vertex(1));
+        graph.addEdge(new Edge(graph.getVertex(0), graph.getVertex(1), 2.0, 2.0));
+        graph.addEdge(new Edge(graph.getVertex(1), graph.getVertex(0), 1.0, 1.0));
+        graph.addEdge(new Edge(graph.getVertex(1), graph.getVertex(1), 4.0, 4.0));
+
+        StringWriter writer = new StringWriter();
+        new MetisExporter(graph).export(writer);
+        Assert.assertEquals("2 1 001\n2 3\n1 3\n", writer.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFractionalWeight() throws IOException
+    {
+        new MetisExporter(initGraph(false, 2.5)).export(new StringWriter());
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException
+    {
+        Graph expected = initGraph(false, 3.0);
+        File file = folder.newFile();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE))
+        {
+            new MetisExporter(expected).export(channel);
+        }
+
+        CompactGraph graph = new MetisLoader(file).loadCompactGraph(false, false, false);
+        Assert.assertEquals(4, graph.countVertices());
+        Assert.assertEquals(3, graph.countEdges());
+        Assert.assertEquals(2, graph.getOutDegree(0));
+        Assert.assertEquals(1, graph.getTarget(graph.firstArc(0)));
+        Assert.assertEquals(1.0, graph.getCost(graph.firstArc(0)), 0.0);
+        Assert.assertEquals(2.0, graph.getCapacity(graph.firstArc(0) + 1), 0.0);
+        Assert.assertEquals(2, graph.getTarget(graph.firstArc(3)));
+        Assert.assertEquals(3.0, graph.getCost(graph.firstArc(3)), 0.0);
+    }
+
+    private Graph initGraph(boolean directed, double lastCost)
+    {
+        Graph graph = new Graph(directed);
+        for (int i = 0; i < 4; i++)
+        {
+            graph.addVertex(new Vertex(i));
+        }
+
+        graph.addEdge(new Edge(graph.getVertex(0), graph.getVertex(1), 1.0, 1.0));
+        graph.addEdge(new Edge(graph.getVertex(0), graph.getVertex(2), 2.0, 2.0));
+        graph.addEdge(new Edge(graph.getVertex(2), graph.getVertex(3), lastCost, lastCost));
+
+        return graph;
+    }
+}
@@ -0,0 +1,142 @@
+package de.develman.mmi.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class CompactGraphTest
+{
+    private List<Vertex> vertices;
+    private List<Edge> edges;
+
+    @Before
+    public void init()
+    {
+        initModel();
+    }
+
+    @Test
+    public void testDirectedAdjacency()
+    {
+        CompactGraph graph = CompactGraph.of(initGraph(true));
+
+        Assert.assertEquals(4, graph.countVertices());
+        Assert.assertEquals(4, graph.countEdges());
+        Assert.assertEquals(4, graph.countArcs());
+
+        int v1 = graph.indexOf(1);
+        Assert.assertEquals(2, graph.getOutDegree(v1));
+        Assert.assertEquals(2, graph.getKey(graph.getTarget(graph.firstArc(v1))));
+        Assert.assertEquals(3, graph.getKey(graph.getTarget(graph.firstArc(v1) + 1)));
+        Assert.assertEquals(0, graph.getOutDegree(graph.indexOf(4)));
+        Assert.assertEquals(-1, graph.indexOf(5));
+    }
+
+    @Test
+    public void testUndirectedAdjacency()
+    {
+        CompactGraph graph = CompactGraph.of(initGraph(false));
+
+        Assert.assertEquals(4, graph.countEdges());
+        Assert.assertEquals(8, graph.countArcs());
+
+        int v4 = graph.indexOf(4);
+        Assert.assertEquals(1, graph.getOutDegree(v4));
+        Assert.assertTrue(graph.isReverseArc(graph.firstArc(v4)));
+        Assert.assertEquals(3, graph.getEdgeId(graph.firstArc(v4)));
+        Assert.assertEquals(7.0, graph.getCapacity(graph.firstArc(v4)), 0.0);
+        Assert.assertEquals(2.0, graph.getCost(graph.firstArc(v4)), 0.0);
+    }
+
+    @Test
+    public void testConvertToGraph()
+    {
+        Graph graph = CompactGraph.of(initGraph(false)).toGraph();
+
+        Assert.assertEquals(4, graph.countVertices());
+        Assert.assertEquals(4, graph.countEdges());
+        for (int i = 0; i < edges.size(); i++)
+        {
+            Edge expected = edges.get(i);
+            Edge edge = graph.getEdges().get(i);
+
+            Assert.assertEquals(expected.getSource().getKey(), edge.getSource().getKey());
+            Assert.assertEquals(expected.getSink().getKey(), edge.getSink().getKey());
+            Assert.assertEquals(expected.getCapacity(), edge.getCapacity(), 0.0);
+            Assert.assertEquals(expected.getCost(), edge.getCost(), 0.0);
+        }
+        Assert.assertEquals(-3.0, graph.getVertex(4).getBalance(), 0.0);
+    }
+
+    @Test
+    public void testReservedEdges()
+    {
+        CompactGraphBuilder builder = new CompactGraphBuilder(true, 3, 0);
+        for (int key = 0; key < 3; key++)
+        {
+            builder.addVertex(key, 0.0);
+        }
+        builder.addEdge(0, 1, 1.0, 1.0);
+
+        // Reservierte Kanten dürfen in beliebiger Reihenfolge gesetzt werden und behalten ihre Position
+        Assert.assertEquals(1, builder.reserveEdges(2));
+        builder.setEdge(2, 2, 0, 3.0, 3.0);
+        builder.setEdge(1, 1, 2, 2.0, 2.0);
+        Assert.assertEquals(3, builder.countEdges());
+
+        Graph graph = builder.buildGraph();
+        for (int i = 0; i < 3; i++)
+        {
+            Edge edge = graph.getEdges().get(i);
+            Assert.assertEquals(i, (int) edge.getSource().getKey());
+            Assert.assertEquals((i + 1) % 3, (int) edge.getSink().getKey());
+            Assert.assertEquals(i + 1.0, edge.getCapacity(), 0.0);
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetUnreservedEdge()
+    {
+        CompactGraphBuilder builder = new CompactGraphBuilder(true);
+        builder.addVertex(0, 0.0);
+        builder.setEdge(0, 0, 0, 1.0, 1.0);
+    }
+
+    private Graph initGraph(boolean directed)
+    {
+        Graph graph = new Graph(directed);
+
+        vertices.forEach(v -> graph.addVertex(v));
+        edges.forEach(e -> graph.addEdge(e));
+
+        return graph;
+    }
+
+    private void initModel()
+    {
+        vertices = new ArrayList<>();
+        Vertex v1 = new Vertex(1, 3.0);
+        vertices.add(v1);
+        Vertex v2 = new Vertex(2, 0.0);
+        vertices.add(v2);
+        Vertex v3 = new Vertex(3, 0.0);
+        vertices.add(v3);
+        Vertex v4 = new Vertex(4, -3.0);
+        vertices.add(v4);
+
+        edges = new ArrayList<>();
+        Edge edge1 = new Edge(v1, v2, 4.0, 1.0);
+        edges.add(edge1);
+        Edge edge2 = new Edge(v1, v3, 2.0, 5.0);
+        edges.add(edge2);
+        Edge edge3 = new Edge(v2, v3, 1.0, 1.0);
+        edges.add(edge3);
+        Edge edge4 = new Edge(v3, v4, 7.0, 2.0);
+        edges.add(edge4);
+    }
+}
@@ -0,0 +1,135 @@
+package de.develman.mmi.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class GraphSnapshotTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws IOException
+    {
+        for (boolean directed : new boolean[]
+        {
+            true, false
+        })
+        {
+            CompactGraph expected = CompactGraph.of(initGraph(directed));
+            File file = write(expected, 42L);
+
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+            {
+                Assert.assertEquals(42L, GraphSnapshot.readChecksum(channel));
+                assertEquals(expected, GraphSnapshot.read(channel));
+            }
+        }
+    }
+
+    @Test
+    public void testIdentityKeys() throws IOException
+    {
+        CompactGraphBuilder builder = new CompactGraphBuilder(true, 3, 2);
+        builder.setGroupedVerticeCount(2);
+        for (int i = 0; i < 3; i++)
+        {
+            builder.addVertex(i, Double.NaN);
+        }
+        builder.addEdge(0, 2, 1.0, Double.NaN);
+        builder.addEdge(2, 1, 1.0, -0.0);
+        CompactGraph expected = builder.build();
+
+        try (FileChannel channel = FileChannel.open(write(expected, -1L).toPath(), StandardOpenOption.READ))
+        {
+            CompactGraph graph = GraphSnapshot.read(channel);
+            assertEquals(expected, graph);
+            Assert.assertEquals(2, graph.getGroupedVerticeCount());
+            Assert.assertEquals(1, graph.indexOf(1));
+            Assert.assertEquals(-1, graph.indexOf(3));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSnapshot() throws IOException
+    {
+        File file = folder.newFile();
+        Files.write(file.toPath(), "3\n0 1 1\n0 0 1\n1 0 0\n0 0 0\n0 0 0\n".getBytes());
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            GraphSnapshot.read(channel);
+        }
+    }
+
+    private File write(CompactGraph graph, long checksum) throws IOException
+    {
+        File file = folder.newFile();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE))
+        {
+            GraphSnapshot.write(graph, checksum, channel);
+        }
+
+        return file;
+    }
+
+    private void assertEquals(CompactGraph expected, CompactGraph graph)
+    {
+        Assert.assertEquals(expected.isDirected(), graph.isDirected());
+        Assert.assertEquals(expected.getGroupedVerticeCount(), graph.getGroupedVerticeCount());
+        Assert.assertEquals(expected.countVertices(), graph.countVertices());
+        Assert.assertEquals(expected.countEdges(), graph.countEdges());
+        Assert.assertEquals(expected.countArcs(), graph.countArcs());
+
+        for (int v = 0; v < expected.countVertices(); v++)
+        {
+            Assert.assertEquals(expected.getKey(v), graph.getKey(v));
+            Assert.assertEquals(v, graph.indexOf(expected.getKey(v)));
+            Assert.assertEquals(Double.doubleToLongBits(expected.getBalance(v)), Double.doubleToLongBits(graph.
+                    getBalance(v)));
+            Assert.assertEquals(expected.firstArc(v), graph.firstArc(v));
+            Assert.assertEquals(expected.endArc(v), graph.endArc(v));
+        }
+
+        for (int arc = 0; arc < expected.countArcs(); arc++)
+        {
+            Assert.assertEquals(expected.getTarget(arc), graph.getTarget(arc));
+            Assert.assertEquals(expected.getEdgeId(arc), graph.getEdgeId(arc));
+            Assert.assertEquals(expected.isReverseArc(arc), graph.isReverseArc(arc));
+            Assert.assertEquals(Double.doubleToLongBits(expected.getCost(arc)), Double.doubleToLongBits(graph.
+                    getCost(arc)));
+            Assert.assertEquals(Double.doubleToLongBits(expected.getCapacity(arc)), Double.doubleToLongBits(graph.
+                    getCapacity(arc)));
+        }
+    }
+
+    private Graph initGraph(boolean directed)
+    {
+        Graph graph = new Graph(directed);
+        Vertex v1 = new Vertex(7, 3.0);
+        Vertex v2 = new Vertex(3, 0.0);
+        Vertex v3 = new Vertex(11, 0.0);
+        Vertex v4 = new Vertex(5, -3.0);
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addVertex(v4);
+
+        graph.addEdge(new Edge(v1, v2, 4.0, 1.0));
+        graph.addEdge(new Edge(v1, v3, 2.0, 5.5));
+        graph.addEdge(new Edge(v2, v3, 1.0, 0.1));
+        graph.addEdge(new Edge(v3, v4, 7.0, 2.0));
+
+        return graph;
+    }
+}
@@ -0,0 +1,196 @@
+package de.develman.mmi.model;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class GraphTest
+{
+    private Graph graph;
+    private Vertex v1;
+    private Vertex v2;
+    private Vertex v3;
+    private Edge e12;
+    private Edge e13;
+    private Edge e23;
+    private Edge e31;
+
+    @Before
+    public void init()
+    {
+        initModel();
+    }
+
+    @Test
+    public void testRemoveEdgeKeepsOrder()
+    {
+        graph.removeEdge(e13);
+
+        Assert.assertEquals(3, graph.countEdges());
+        Assert.assertEquals(e12, graph.getEdges().get(0));
+        Assert.assertEquals(e23, graph.getEdges().get(1));
+        Assert.assertEquals(e31, graph.getEdges().get(2));
+        Assert.assertFalse(v1.getOutgoingEdges().contains(e13));
+        Assert.assertFalse(v3.getIncomingEdges().contains(e13));
+    }
+
+    @Test
+    public void testRemoveAndAddEdges()
+    {
+        graph.removeEdge(e12);
+        graph.removeEdge(e31);
+        graph.removeEdge(e31);
+
+        Edge e21 = new Edge(v2, v1);
+        graph.addEdge(e21);
+        graph.addEdge(e31, 0);
+
+        Assert.assertEquals(4, graph.countEdges());
+        Assert.assertEquals(e31, graph.getEdges().get(0));
+        Assert.assertEquals(e13, graph.getEdges().get(1));
+        Assert.assertEquals(e23, graph.getEdges().get(2));
+        Assert.assertEquals(e21, graph.getEdges().get(3));
+
+        graph.removeEdge(e31);
+        Assert.assertEquals(e13, graph.getEdges().get(0));
+    }
+
+    @Test
+    public void testRemoveVertex()
+    {
+        graph.removeVertex(3);
+
+        Assert.assertEquals(2, graph.countVertices());
+        Assert.assertEquals(1, graph.countEdges());
+        Assert.assertEquals(e12, graph.getEdges().get(0));
+    }
+
+    @Test
+    public void testVertexIndex()
+    {
+        Vertex superSource = new Vertex(-1);
+        graph.addVertex(superSource);
+
+        Assert.assertEquals(0, graph.indexOf(v1));
+        Assert.assertEquals(3, graph.indexOf(superSource));
+        Assert.assertEquals(superSource, graph.getVertexAt(3));
+        Assert.assertEquals(-1, graph.indexOf(new Vertex(5)));
+        Assert.assertEquals(1, graph.indexOf(new Vertex(2)));
+
+        graph.removeVertex(1);
+        Assert.assertEquals(3, graph.countVertices());
+        Assert.assertEquals(0, graph.indexOf(superSource));
+        Assert.assertEquals(superSource, graph.getVertexAt(0));
+        Assert.assertEquals(-1, graph.indexOf(v1));
+        Assert.assertEquals(-1, v1.index);
+    }
+
+    @Test
+    public void testRandomRemovalsKeepOrder()
+    {
+        Random random = new Random(3);
+        Graph randomGraph = new Graph(true);
+        for (int key = 0; key < 20; key++)
+        {
+            randomGraph.addVertex(new Vertex(key));
+        }
+
+        List<Edge> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++)
+        {
+            if (expected.isEmpty() || random.nextInt(3) > 0)
+            {
+                Edge edge = new Edge(randomGraph.getVertex(random.nextInt(20)), randomGraph.getVertex(random.
+                        nextInt(20)));
+                int index = random.nextInt(10) == 0 ? random.nextInt(expected.size() + 1) : expected.size();
+                randomGraph.addEdge(edge, index);
+                expected.add(index, edge);
+            }
+            else
+            {
+                randomGraph.removeEdge(expected.remove(random.nextInt(expected.size())));
+            }
+
+            if (!expected.isEmpty())
+            {
+                int index = random.nextInt(expected.size());
+                Assert.assertSame(expected.get(index), randomGraph.getEdges().get(index));
+            }
+        }
+
+        Assert.assertEquals(expected, new ArrayList<>(randomGraph.getEdges()));
+        for (int i = 0; i < expected.size(); i++)
+        {
+            Assert.assertSame(expected.get(i), randomGraph.getEdges().get(i));
+        }
+    }
+
+    @Test
+    public void testRemoveVertexFromUndirectedGraph()
+    {
+        Graph undirected = new Graph(false);
+        Vertex u1 = new Vertex(1);
+        Vertex u2 = new Vertex(2);
+        Vertex u3 = new Vertex(3);
+        undirected.addVertex(u1);
+        undirected.addVertex(u2);
+        undirected.addVertex(u3);
+        Edge u12 = new Edge(u1, u2);
+        Edge u23 = new Edge(u2, u3);
+        Edge u31 = new Edge(u3, u1);
+        undirected.addEdge(u12);
+        undirected.addEdge(u23);
+        undirected.addEdge(u31);
+
+        undirected.removeVertex(1);
+
+        Assert.assertEquals(1, undirected.countEdges());
+        Assert.assertSame(u23, undirected.getEdges().get(0));
+        Assert.assertEquals(1, u2.countOutgoingEdges());
+        Assert.assertEquals(1, u3.countOutgoingEdges());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testModificationDuringIteration()
+    {
+        Iterator<Edge> iterator = graph.getEdges().iterator();
+        iterator.next();
+        graph.removeEdge(e23);
+        iterator.next();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testEdgesUnmodifiable()
+    {
+        graph.getEdges().remove(e12);
+    }
+
+    private void initModel()
+    {
+        graph = new Graph(true);
+
+        v1 = new Vertex(1);
+        v2 = new Vertex(2);
+        v3 = new Vertex(3);
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+
+        e12 = new Edge(v1, v2);
+        e13 = new Edge(v1, v3);
+        e23 = new Edge(v2, v3);
+        e31 = new Edge(v3, v1);
+        graph.addEdge(e12);
+        graph.addEdge(e13);
+        graph.addEdge(e23);
+        graph.addEdge(e31);
+    }
+}
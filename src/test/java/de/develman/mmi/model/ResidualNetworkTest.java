@@ -0,0 +1,125 @@
+package de.develman.mmi.model;
+
+import de.develman.mmi.exception.DuplicateVertexException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class ResidualNetworkTest
+{
+    private Graph graph;
+
+    @Before
+    public void init()
+    {
+        initModel();
+    }
+
+    @Test
+    public void testPairedArcs()
+    {
+        ResidualNetwork network = ResidualNetwork.of(graph);
+
+        Assert.assertEquals(3, network.countVertices());
+        Assert.assertEquals(3, network.countEdges());
+        Assert.assertEquals(6, network.countArcs());
+
+        int arc = 2;
+        Assert.assertTrue(network.isForwardArc(arc));
+        Assert.assertEquals(3, network.getReverseArc(arc));
+        Assert.assertEquals(2, network.getKey(network.getSource(arc)));
+        Assert.assertEquals(3, network.getKey(network.getTarget(arc)));
+        Assert.assertEquals(3, network.getKey(network.getSource(3)));
+        Assert.assertEquals(4.0, network.getResidualCapacity(arc), 0.0);
+        Assert.assertEquals(0.0, network.getResidualCapacity(3), 0.0);
+        Assert.assertEquals(-2.0, network.getCost(3), 0.0);
+    }
+
+    @Test
+    public void testUndirectedArcs()
+    {
+        Graph undirected = new Graph(false);
+        graph.getVertices().forEach(v -> undirected.addVertex(new Vertex(v.getKey())));
+        graph.getEdges().forEach(e -> undirected.addEdge(new Edge(undirected.getVertex(e.getSource().getKey()),
+                undirected.getVertex(e.getSink().getKey()), e.getCapacity(), e.getCost())));
+        ResidualNetwork network = ResidualNetwork.of(undirected);
+
+        Assert.assertEquals(12, network.countArcs());
+        for (int i = 0; i < undirected.countEdges(); i++)
+        {
+            Edge edge = undirected.getEdges().get(i);
+            int source = network.indexOf(edge.getSource().getKey());
+            int sink = network.indexOf(edge.getSink().getKey());
+
+            Assert.assertTrue(network.isForwardArc(4 * i));
+            Assert.assertEquals(source, network.getSource(4 * i));
+            Assert.assertEquals(sink, network.getTarget(4 * i));
+            Assert.assertTrue(network.isForwardArc(4 * i + 2));
+            Assert.assertEquals(sink, network.getSource(4 * i + 2));
+            Assert.assertEquals(source, network.getTarget(4 * i + 2));
+        }
+    }
+
+    @Test
+    public void testAugment()
+    {
+        ResidualNetwork network = ResidualNetwork.of(graph);
+
+        network.augment(0, 3.0);
+        network.augment(2, 3.0);
+
+        Assert.assertEquals(2.0, network.getResidualCapacity(0), 0.0);
+        Assert.assertEquals(3.0, network.getResidualCapacity(1), 0.0);
+        Assert.assertEquals(3.0, network.getFlow(2), 0.0);
+        Assert.assertEquals(-3.0, network.getFlow(3), 0.0);
+        Assert.assertEquals(9.0, network.calculateCost(), 0.0);
+
+        network.augment(3, 1.0);
+        Assert.assertEquals(2.0, network.getFlow(2), 0.0);
+
+        network.resetFlow();
+        Assert.assertEquals(0.0, network.calculateCost(), 0.0);
+    }
+
+    @Test
+    public void testOutgoingArcs()
+    {
+        ResidualNetwork network = ResidualNetwork.of(graph);
+        int v2 = network.indexOf(2);
+
+        Assert.assertEquals(2, network.endOutgoing(v2) - network.firstOutgoing(v2));
+        Assert.assertEquals(1, network.getOutgoingArc(network.firstOutgoing(v2)));
+        Assert.assertEquals(2, network.getOutgoingArc(network.firstOutgoing(v2) + 1));
+
+        int v4 = network.addVertex(4, 0.0);
+        int arc = network.addEdge(v2, v4, 1.0, 0.0);
+        Assert.assertEquals(3, network.endOutgoing(v2) - network.firstOutgoing(v2));
+        Assert.assertEquals(arc + 1, network.getOutgoingArc(network.firstOutgoing(v4)));
+    }
+
+    @Test(expected = DuplicateVertexException.class)
+    public void testDuplicateVertex()
+    {
+        ResidualNetwork network = ResidualNetwork.of(graph);
+        network.addVertex(1, 0.0);
+    }
+
+    private void initModel()
+    {
+        graph = new Graph(true);
+
+        Vertex v1 = new Vertex(1);
+        Vertex v2 = new Vertex(2);
+        Vertex v3 = new Vertex(3);
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+
+        graph.addEdge(new Edge(v1, v2, 5.0, 1.0));
+        graph.addEdge(new Edge(v2, v3, 4.0, 2.0));
+        graph.addEdge(new Edge(v1, v3, 2.0, 7.0));
+    }
+}
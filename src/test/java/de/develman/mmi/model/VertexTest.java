@@ -2,6 +2,7 @@ package de.develman.mmi.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -45,6 +46,132 @@ public class VertexTest
         Assert.assertEquals(1, size);
     }
 
+    @Test
+    public void testIndexedEdgeAccess()
+    {
+        Assert.assertEquals(2, vertex1.countOutgoingEdges());
+        Assert.assertEquals(outEdge1, vertex1.getOutgoingEdge(0));
+        Assert.assertEquals(vertexList.get(2), vertex1.getOutgoingEdge(1).getSink());
+
+        Assert.assertEquals(2, vertex1.countIncomingEdges());
+        Assert.assertEquals(inEdge1, vertex1.getIncomingEdge(0));
+        Assert.assertEquals(vertexList.get(1), vertex1.getIncomingEdge(1).getSource());
+    }
+
+    @Test
+    public void testIndexedEdgeLookup()
+    {
+        Vertex source = new Vertex(0);
+        List<Edge> outEdges = new ArrayList<>();
+        for (int i = 1; i <= 3 * Vertex.EDGE_INDEX_THRESHOLD; i++)
+        {
+            Edge edge = new Edge(source, new Vertex(i));
+            source.addOutgoingEdge(edge);
+            outEdges.add(edge);
+        }
+
+        Edge parallelEdge = new Edge(source, outEdges.get(4).getSink());
+        source.addOutgoingEdge(parallelEdge);
+
+        outEdges.forEach(edge -> Assert.assertSame(edge, source.getEdgeTo(edge.getSink().getKey())));
+        Assert.assertNull(source.getEdgeTo(-1));
+
+        source.removeOutgoingEdge(outEdges.get(4));
+        Assert.assertSame(parallelEdge, source.getEdgeTo(5));
+
+        source.removeOutgoingEdge(parallelEdge);
+        source.removeOutgoingEdge(outEdges.get(6));
+        Assert.assertNull(source.getEdgeTo(5));
+        Assert.assertNull(source.getEdgeTo(7));
+        Assert.assertSame(outEdges.get(7), source.getEdgeTo(8));
+
+        Edge newEdge = new Edge(source, new Vertex(100));
+        source.addOutgoingEdge(newEdge);
+        Assert.assertSame(newEdge, source.getEdgeTo(100));
+    }
+
+    @Test
+    public void testConcurrentEdgeLookup()
+    {
+        Vertex source = new Vertex(0);
+        for (int i = 1; i <= 1000; i++)
+        {
+            source.addOutgoingEdge(new Edge(source, new Vertex(i)));
+        }
+
+        long found = IntStream.rangeClosed(1, 1000).parallel().filter(key -> source.getEdgeTo(key) != null).count();
+        Assert.assertEquals(1000, found);
+    }
+
+    @Test
+    public void testRemovalKeepsEdgeOrder()
+    {
+        Vertex vertex = new Vertex(0);
+        List<Edge> outEdges = new ArrayList<>();
+        List<Edge> inEdges = new ArrayList<>();
+        for (int i = 1; i <= 20; i++)
+        {
+            Vertex other = new Vertex(i);
+            Edge outEdge = new Edge(vertex, other);
+            Edge inEdge = new Edge(other, vertex);
+            vertex.addOutgoingEdge(outEdge);
+            vertex.addIncomingEdge(inEdge);
+            outEdges.add(outEdge);
+            inEdges.add(inEdge);
+        }
+
+        for (int i = 18; i >= 0; i -= 3)
+        {
+            vertex.removeOutgoingEdge(outEdges.remove(i));
+            vertex.removeIncomingEdge(inEdges.remove(i));
+        }
+        vertex.removeOutgoingEdge(outEdges.remove(0));
+        Edge lastEdge = new Edge(vertex, new Vertex(21));
+        vertex.addOutgoingEdge(lastEdge);
+        outEdges.add(lastEdge);
+
+        Assert.assertEquals(outEdges, vertex.getOutgoingEdges());
+        Assert.assertEquals(inEdges, vertex.getIncomingEdges());
+        for (int i = 0; i < outEdges.size(); i++)
+        {
+            Assert.assertSame(outEdges.get(i), vertex.getOutgoingEdge(i));
+            Assert.assertSame(outEdges.get(i).getSink(), vertex.getSuccessors().get(i));
+        }
+        for (int i = 0; i < inEdges.size(); i++)
+        {
+            Assert.assertSame(inEdges.get(i), vertex.getIncomingEdge(i));
+            Assert.assertSame(inEdges.get(i).getSource(), vertex.getPredecessors().get(i));
+        }
+    }
+
+    @Test
+    public void testIndexedParallelEdges()
+    {
+        Vertex source = new Vertex(0);
+        Vertex sink = new Vertex(1);
+        List<Edge> parallelEdges = new ArrayList<>();
+        for (int i = 0; i <= Vertex.EDGE_INDEX_THRESHOLD; i++)
+        {
+            Edge edge = new Edge(source, sink);
+            source.addOutgoingEdge(edge);
+            parallelEdges.add(edge);
+        }
+        Edge otherEdge = new Edge(source, new Vertex(2));
+        source.addOutgoingEdge(otherEdge);
+
+        source.removeOutgoingEdge(parallelEdges.remove(3));
+        Assert.assertSame(parallelEdges.get(0), source.getEdgeTo(1));
+        while (!parallelEdges.isEmpty())
+        {
+            Assert.assertSame(parallelEdges.get(0), source.getEdgeTo(1));
+            source.removeOutgoingEdge(parallelEdges.remove(0));
+        }
+
+        Assert.assertNull(source.getEdgeTo(1));
+        Assert.assertSame(otherEdge, source.getEdgeTo(2));
+        Assert.assertEquals(1, source.countOutgoingEdges());
+    }
+
     @Test
     public void testCorrectSuccessors()
     {
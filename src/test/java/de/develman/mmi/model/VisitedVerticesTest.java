@@ -0,0 +1,91 @@
+package de.develman.mmi.model;
+
+import de.develman.mmi.exception.MissingVertexException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class VisitedVerticesTest
+{
+    private Graph graph;
+
+    @Before
+    public void init()
+    {
+        graph = new Graph(true);
+        for (int key = 0; key < 40; key++)
+        {
+            graph.addVertex(new Vertex(key));
+        }
+    }
+
+    @Test
+    public void testVisitAndUnvisit()
+    {
+        VisitedVertices visited = new VisitedVertices(graph);
+        Vertex v1 = graph.getVertex(1);
+        Vertex v39 = graph.getVertex(39);
+
+        visited.visit(v1);
+        visited.visit(v39);
+        Assert.assertTrue(visited.isVisited(v1));
+        Assert.assertTrue(visited.isVisited(v39));
+        Assert.assertFalse(visited.isVisited(graph.getVertex(2)));
+
+        visited.unvisit(v1);
+        Assert.assertFalse(visited.isVisited(v1));
+        Assert.assertTrue(visited.isVisited(v39));
+    }
+
+    @Test
+    public void testIndependentRuns()
+    {
+        VisitedVertices first = new VisitedVertices(graph);
+        VisitedVertices second = new VisitedVertices(graph);
+        Vertex v0 = graph.getVertex(0);
+
+        first.visit(v0);
+        Assert.assertTrue(first.isVisited(v0));
+        Assert.assertFalse(second.isVisited(v0));
+    }
+
+    @Test(expected = MissingVertexException.class)
+    public void testVertexWithoutGraph()
+    {
+        VisitedVertices visited = new VisitedVertices(graph);
+        Vertex vertex = new Vertex(100);
+
+        Assert.assertFalse(visited.isVisited(vertex));
+        visited.visit(vertex);
+    }
+
+    @Test
+    public void testVerticesOfDifferentGraphs()
+    {
+        Vertex v0 = graph.getVertex(0);
+        Vertex v39 = graph.getVertex(39);
+        // v39 erhält im zweiten Graphen den Index 0, den v0 im ersten Graphen trägt
+        Graph other = new Graph(true);
+        other.addVertex(v39);
+
+        VisitedVertices visited = new VisitedVertices(graph);
+        visited.visit(v0);
+        Assert.assertFalse(visited.isVisited(v39));
+
+        visited.visit(v39);
+        Assert.assertTrue(visited.isVisited(v0));
+        Assert.assertTrue(visited.isVisited(v39));
+
+        visited.unvisit(v39);
+        Assert.assertTrue(visited.isVisited(v0));
+        Assert.assertFalse(visited.isVisited(v39));
+
+        VisitedVertices otherVisited = new VisitedVertices(other);
+        otherVisited.visit(v39);
+        Assert.assertTrue(otherVisited.isVisited(v39));
+        Assert.assertFalse(otherVisited.isVisited(v0));
+    }
+}
@@ -0,0 +1,88 @@
+package de.develman.mmi.parser;
+
+import de.develman.mmi.model.CompactGraph;
+import de.develman.mmi.model.Graph;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPOutputStream;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class FileParserTest
+{
+    private static final String EDGE_LIST = "4\r\n0\t1\t2.5\r\n1\t2\t1.0\r\n2\t3\t0.5\r\n3\t0\t4.0\r\n";
+    private static final String MATRIX = "3\n0 1 1\n0 0 1\n1 0 0\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDetectEdgeList() throws IOException
+    {
+        Graph graph = new FileParser(write(EDGE_LIST)).loadGraph(true, false, false);
+
+        Assert.assertEquals(4, graph.countVertices());
+        Assert.assertEquals(4, graph.countEdges());
+        Assert.assertEquals(2.5, graph.getEdge(graph.getVertex(0), graph.getVertex(1)).getCost(), 0.0);
+    }
+
+    @Test
+    public void testDetectMatrix() throws IOException
+    {
+        CompactGraph graph = new FileParser(write(MATRIX)).loadCompactGraph(true, false, false);
+
+        Assert.assertEquals(3, graph.countVertices());
+        Assert.assertEquals(4, graph.countEdges());
+        Assert.assertEquals(2, graph.getOutDegree(0));
+        Assert.assertEquals(0, graph.getTarget(graph.firstArc(2)));
+    }
+
+    @Test
+    public void testInputStream()
+    {
+        Graph graph = new FileParser(new ByteArrayInputStream(MATRIX.getBytes(StandardCharsets.US_ASCII))).
+                loadGraph(false, false, false);
+        Assert.assertEquals(3, graph.countVertices());
+
+        graph = new FileParser(new ByteArrayInputStream(EDGE_LIST.getBytes(StandardCharsets.US_ASCII))).
+                loadGraph(true, false, false);
+        Assert.assertEquals(4, graph.countEdges());
+    }
+
+    @Test
+    public void testCompressedFile() throws IOException
+    {
+        StringBuilder content = new StringBuilder("20000\n");
+        for (int i = 0; i < 20000; i++)
+        {
+            content.append(i).append('\t').append((i + 1) % 20000).append('\t').append(i * 0.25).append('\n');
+        }
+
+        File file = folder.newFile();
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(file.toPath())))
+        {
+            output.write(content.toString().getBytes(StandardCharsets.US_ASCII));
+        }
+
+        CompactGraph graph = new FileParser(file).loadCompactGraph(true, false, false);
+        Assert.assertEquals(20000, graph.countEdges());
+        Assert.assertEquals(19999 * 0.25, graph.getCost(graph.firstArc(19999)), 0.0);
+    }
+
+    private File write(String content) throws IOException
+    {
+        File file = folder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+
+        return file;
+    }
+}
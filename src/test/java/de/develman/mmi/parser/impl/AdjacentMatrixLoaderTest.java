@@ -0,0 +1,79 @@
+package de.develman.mmi.parser.impl;
+
+import de.develman.mmi.model.CompactGraph;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class AdjacentMatrixLoaderTest
+{
+    private static final String MATRIX = "4\n0 0 0 1\n0\t0 05 0\n0 0.5 0 -2\r\n0 0 0 0\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSkipZeros() throws IOException
+    {
+        ByteTokenizer tokenizer = new ByteTokenizer(ByteBuffer.wrap("0 0\t0.25 0 00 0\n0".getBytes(
+                StandardCharsets.US_ASCII)));
+
+        Assert.assertEquals(2, tokenizer.skipZeros());
+        Assert.assertTrue(tokenizer.hasToken());
+        Assert.assertEquals(0.25, tokenizer.nextDouble(), 0.0);
+        Assert.assertEquals(1, tokenizer.skipZeros());
+        Assert.assertEquals(0, tokenizer.nextInt());
+        Assert.assertEquals(1, tokenizer.skipZeros());
+        Assert.assertFalse(tokenizer.hasToken());
+        Assert.assertTrue(tokenizer.nextLine());
+        Assert.assertEquals(1, tokenizer.skipZeros());
+        Assert.assertTrue(tokenizer.isAtEnd());
+    }
+
+    @Test
+    public void testUnweighted() throws IOException
+    {
+        CompactGraph graph = new AdjacentMatrixLoader(write(MATRIX)).loadCompactGraph(true, false, false);
+
+        Assert.assertEquals(4, graph.countVertices());
+        Assert.assertEquals(3, graph.countEdges());
+        Assert.assertEquals(3, graph.getTarget(graph.firstArc(0)));
+        Assert.assertEquals(2, graph.getTarget(graph.firstArc(1)));
+        Assert.assertEquals(1, graph.getTarget(graph.firstArc(2)));
+        Assert.assertTrue(Double.isNaN(graph.getCost(graph.firstArc(2))));
+        Assert.assertEquals(0, graph.getOutDegree(3));
+    }
+
+    @Test
+    public void testWeighted() throws IOException
+    {
+        AdjacentMatrixLoader loader = new AdjacentMatrixLoader(write(MATRIX));
+        loader.setWeighted(true);
+        CompactGraph graph = loader.loadCompactGraph(true, false, false);
+
+        Assert.assertEquals(4, graph.countEdges());
+        Assert.assertEquals(1.0, graph.getCost(graph.firstArc(0)), 0.0);
+        Assert.assertEquals(5.0, graph.getCapacity(graph.firstArc(1)), 0.0);
+        Assert.assertEquals(2, graph.getOutDegree(2));
+        Assert.assertEquals(0.5, graph.getCost(graph.firstArc(2)), 0.0);
+        Assert.assertEquals(3, graph.getTarget(graph.firstArc(2) + 1));
+        Assert.assertEquals(-2.0, graph.getCost(graph.firstArc(2) + 1), 0.0);
+    }
+
+    private File write(String content) throws IOException
+    {
+        File file = folder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+
+        return file;
+    }
+}
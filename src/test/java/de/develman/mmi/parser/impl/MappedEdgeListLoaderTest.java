@@ -0,0 +1,151 @@
+package de.develman.mmi.parser.impl;
+
+import de.develman.mmi.model.CompactGraph;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class MappedEdgeListLoaderTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testTokenizer() throws IOException
+    {
+        String[] values =
+        {
+            "0.00207526", "-1.0", "4", "1e-3", "+2.5E2", "0.1234567890123456789", "NaN", "-0.0", "1.5e300"
+        };
+
+        ByteTokenizer tokenizer = new ByteTokenizer(ByteBuffer.wrap(String.join("\t", values).getBytes(
+                StandardCharsets.US_ASCII)));
+        for (String value : values)
+        {
+            Assert.assertTrue(tokenizer.hasToken());
+            Assert.assertEquals(Double.doubleToLongBits(Double.parseDouble(value)), Double.doubleToLongBits(
+                    tokenizer.nextDouble()));
+        }
+        Assert.assertFalse(tokenizer.hasToken());
+        Assert.assertTrue(tokenizer.isAtEnd());
+    }
+
+    @Test
+    public void testPeekLongLinesFromChannel() throws IOException
+    {
+        StringBuilder content = new StringBuilder("7\n");
+        for (int i = 0; i < 50000; i++)
+        {
+            content.append("0 ");
+        }
+        content.append("\n42\n");
+
+        ByteTokenizer tokenizer = ByteTokenizer.read(Channels.newChannel(new ByteArrayInputStream(content.toString().
+                getBytes(StandardCharsets.US_ASCII))));
+        ByteBuffer prefix = tokenizer.peekLines(2);
+        Assert.assertEquals(content.length() - 3, prefix.remaining());
+
+        Assert.assertEquals(7, tokenizer.nextInt());
+        tokenizer.nextLine();
+        tokenizer.nextLine();
+        Assert.assertEquals(42, tokenizer.nextInt());
+        Assert.assertEquals(content.length() - 1, tokenizer.position());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testInvalidInt() throws IOException
+    {
+        new ByteTokenizer(ByteBuffer.wrap("12a".getBytes(StandardCharsets.US_ASCII))).nextInt();
+    }
+
+    @Test
+    public void testBalancedEdgeList() throws IOException
+    {
+        File file = write("3\t\r\n1.5\r\n-1.5\r\n0\r\n0\t1\t2.5\t4\r\n1 2 0.5\r\n\r\n2\t0\r\n");
+
+        CompactGraph graph = new MappedEdgeListLoader(file).loadCompactGraph(true, true, false);
+        assertSameGraph(new EdgeListLoader(write("3\n1.5\n-1.5\n0\n0\t1\t2.5\t4\n1 2 0.5\n2\t0\n")).
+                loadCompactGraph(true, true, false), graph);
+
+        Assert.assertEquals(3, graph.countEdges());
+        Assert.assertEquals(-1.5, graph.getBalance(1), 0.0);
+        Assert.assertEquals(4.0, graph.getCapacity(graph.firstArc(0)), 0.0);
+        Assert.assertEquals(0.5, graph.getCapacity(graph.firstArc(1)), 0.0);
+        Assert.assertTrue(Double.isNaN(graph.getCost(graph.firstArc(2))));
+    }
+
+    @Test
+    public void testGroupedEdgeList() throws IOException
+    {
+        File file = write("4\n2\n0\t2\n0\t3\n1\t3\n");
+
+        CompactGraph graph = new MappedEdgeListLoader(file).loadCompactGraph(true, false, true);
+        assertSameGraph(new EdgeListLoader(file).loadCompactGraph(true, false, true), graph);
+        Assert.assertEquals(2, graph.getGroupedVerticeCount());
+    }
+
+    @Test
+    public void testParallelChunks() throws IOException
+    {
+        StringBuilder content = new StringBuilder("500\r\n");
+        Random random = new Random(3);
+        for (int i = 0; i < 5000; i++)
+        {
+            content.append(random.nextInt(500)).append('\t').append(random.nextInt(500)).append('\t').append(random.
+                    nextDouble()).append("\r\n");
+            if (i % 97 == 0)
+            {
+                // Leere Zeilen zählen nicht als Kante, sonst verschieben sich die Bereiche der Abschnitte
+                content.append(" \t\r\n");
+            }
+        }
+        File file = write(content.toString());
+
+        MappedEdgeListLoader sequentialLoader = new MappedEdgeListLoader(file);
+        sequentialLoader.setParallel(false);
+        MappedEdgeListLoader parallelLoader = new MappedEdgeListLoader(file);
+        parallelLoader.chunkSize = 100;
+
+        CompactGraph graph = parallelLoader.loadCompactGraph(true, false, false);
+        Assert.assertEquals(5000, graph.countEdges());
+        assertSameGraph(sequentialLoader.loadCompactGraph(true, false, false), graph);
+    }
+
+    private void assertSameGraph(CompactGraph expected, CompactGraph actual)
+    {
+        Assert.assertEquals(expected.countVertices(), actual.countVertices());
+        Assert.assertEquals(expected.countArcs(), actual.countArcs());
+        Assert.assertEquals(expected.getGroupedVerticeCount(), actual.getGroupedVerticeCount());
+        for (int v = 0; v < expected.countVertices(); v++)
+        {
+            Assert.assertEquals(expected.getBalance(v), actual.getBalance(v), 0.0);
+            Assert.assertEquals(expected.firstArc(v), actual.firstArc(v));
+        }
+        for (int arc = 0; arc < expected.countArcs(); arc++)
+        {
+            Assert.assertEquals(expected.getTarget(arc), actual.getTarget(arc));
+            Assert.assertEquals(expected.getCost(arc), actual.getCost(arc), 0.0);
+            Assert.assertEquals(expected.getCapacity(arc), actual.getCapacity(arc), 0.0);
+        }
+    }
+
+    private File write(String content) throws IOException
+    {
+        File file = folder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+
+        return file;
+    }
+}
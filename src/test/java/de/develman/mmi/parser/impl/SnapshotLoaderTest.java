@@ -0,0 +1,99 @@
+package de.develman.mmi.parser.impl;
+
+import de.develman.mmi.model.CompactGraph;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Georg Henkel <georg@develman.de>
+ */
+public class SnapshotLoaderTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCreateAndReuseSnapshot() throws IOException
+    {
+        File file = folder.newFile("graph.txt");
+        write(file, "4\n0\t1\t2.5\n1\t2\t1.0\n2\t3\t0.5\n3\t0\t4.0\n");
+        File cacheDirectory = new File(folder.getRoot(), "cache");
+
+        SnapshotLoader loader = new SnapshotLoader(file, cacheDirectory);
+        CompactGraph graph = loader.loadCompactGraph(true, false, false);
+        Path snapshot = loader.getSnapshotPath(SnapshotLoader.checksum(file), true, false, false);
+        Assert.assertTrue(Files.isRegularFile(snapshot));
+        Assert.assertEquals(1, cacheDirectory.list().length);
+
+        CompactGraph cached = loader.loadCompactGraph(true, false, false);
+        Assert.assertEquals(graph.countEdges(), cached.countEdges());
+        Assert.assertEquals(2.5, cached.getCost(cached.firstArc(0)), 0.0);
+
+        loader.loadCompactGraph(false, false, false);
+        Assert.assertEquals(2, cacheDirectory.list().length);
+    }
+
+    @Test
+    public void testChangedSource() throws IOException
+    {
+        File file = folder.newFile("graph.txt");
+        File cacheDirectory = folder.newFolder("cache");
+        SnapshotLoader loader = new SnapshotLoader(file, cacheDirectory);
+
+        write(file, "3\n0 1 1\n0 0 1\n1 0 0\n");
+        Assert.assertEquals(4, loader.loadGraph(true, false, false).countEdges());
+
+        write(file, "3\n0 1 0\n0 0 1\n1 0 0\n");
+        Assert.assertEquals(3, loader.loadGraph(true, false, false).countEdges());
+    }
+
+    @Test
+    public void testWeightedMatrix() throws IOException
+    {
+        File file = folder.newFile("matrix.txt");
+        write(file, "2\n0 2.5\n1.5 0\n");
+        File cacheDirectory = folder.newFolder("cache");
+        SnapshotLoader loader = new SnapshotLoader(file, cacheDirectory);
+
+        CompactGraph unweighted = loader.loadCompactGraph(true, false, false);
+        Assert.assertTrue(Double.isNaN(unweighted.getCost(unweighted.firstArc(0))));
+
+        loader.setWeighted(true);
+        CompactGraph weighted = loader.loadCompactGraph(true, false, false);
+        Assert.assertEquals(2.5, weighted.getCost(weighted.firstArc(0)), 0.0);
+        Assert.assertEquals(2, cacheDirectory.list().length);
+
+        CompactGraph cached = loader.loadCompactGraph(true, false, false);
+        Assert.assertEquals(1.5, cached.getCost(cached.firstArc(1)), 0.0);
+    }
+
+    @Test
+    public void testInvalidSnapshot() throws IOException
+    {
+        File file = folder.newFile("graph.txt");
+        write(file, "3\n0 1\n1 2\n");
+        File cacheDirectory = folder.newFolder("cache");
+
+        SnapshotLoader loader = new SnapshotLoader(file, cacheDirectory);
+        Path snapshot = loader.getSnapshotPath(SnapshotLoader.checksum(file), false, false, false);
+        Files.write(snapshot, new byte[]
+        {
+            1, 2, 3
+        });
+
+        Assert.assertEquals(2, loader.loadCompactGraph(false, false, false).countEdges());
+        Assert.assertTrue(Files.size(snapshot) > 3);
+    }
+
+    private void write(File file, String content) throws IOException
+    {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+    }
+}